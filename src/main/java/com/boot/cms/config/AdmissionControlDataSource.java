@@ -0,0 +1,123 @@
+package com.boot.cms.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 커넥션 풀 크기만큼의 허가(Semaphore)를 얻은 요청만 getConnection() 으로 진입시키는 DataSource
+ * 가상 스레드로 요청 수가 제한 없이 늘어나도 풀 대기열 대신 공정(FIFO) 세마포어에서 대기하며,
+ * 대기 시간 초과 시 SQLTransientConnectionException 으로 빠르게 실패한다.
+ * 허가는 Connection.close() 시 한 번만 반납된다.
+ */
+public class AdmissionControlDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final int maxPermits;
+    private final long acquireTimeoutMillis;
+
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final AtomicLong admittedCount = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
+    private final AtomicLong maxWaitMillis = new AtomicLong();
+
+    public AdmissionControlDataSource(DataSource targetDataSource, int maxPermits, long acquireTimeoutMillis) {
+        super(targetDataSource);
+        this.permits = new Semaphore(maxPermits, true);
+        this.maxPermits = maxPermits;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return admitted(obtainTargetDataSource().getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return admitted(obtainTargetDataSource().getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("maxPermits", maxPermits);
+        stats.put("availablePermits", permits.availablePermits());
+        stats.put("waiting", waiting.get());
+        stats.put("admittedCount", admittedCount.get());
+        stats.put("timeoutCount", timeoutCount.get());
+        stats.put("maxWaitMillis", maxWaitMillis.get());
+        return stats;
+    }
+
+    private void acquire() throws SQLException {
+        if (permits.tryAcquire()) {
+            admittedCount.incrementAndGet();
+            return;
+        }
+
+        waiting.incrementAndGet();
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                timeoutCount.incrementAndGet();
+                throw new SQLTransientConnectionException("DB connection admission timed out after "
+                        + acquireTimeoutMillis + "ms (permits=" + maxPermits + ", waiting=" + waiting.get() + ")");
+            }
+            admittedCount.incrementAndGet();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for DB connection admission", e);
+        } finally {
+            waiting.decrementAndGet();
+            maxWaitMillis.accumulateAndGet(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), Math::max);
+        }
+    }
+
+    private Connection admitted(Connection target) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(
+                AdmissionControlDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if ("close".equals(method.getName()) && method.getParameterCount() == 0) {
+                        try {
+                            target.close();
+                        } finally {
+                            if (released.compareAndSet(false, true)) {
+                                permits.release();
+                            }
+                        }
+                        return null;
+                    }
+                    try {
+                        return method.invoke(target, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+}
@@ -2,6 +2,12 @@ package com.boot.cms.config;
 
 import io.github.cdimascio.dotenv.Dotenv;
 import lombok.Getter;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -15,11 +21,18 @@ public class AppConfig {
         private final long maxFileSize;
         private final int maxResultSize;
         private final int maxFilesPerUpload;
+        private final int chunkSize;
+        private final long maxChunkedUploadSize;
+        private final long chunkedUploadTtlMillis;
 
-        public FileConfig(long maxFileSize, int maxResultSize, int maxFilesPerUpload) {
+        public FileConfig(long maxFileSize, int maxResultSize, int maxFilesPerUpload,
+                          int chunkSize, long maxChunkedUploadSize, long chunkedUploadTtlMillis) {
             this.maxFileSize = maxFileSize;
             this.maxResultSize = maxResultSize;
             this.maxFilesPerUpload = maxFilesPerUpload;
+            this.chunkSize = chunkSize;
+            this.maxChunkedUploadSize = maxChunkedUploadSize;
+            this.chunkedUploadTtlMillis = chunkedUploadTtlMillis;
         }
     }
 
@@ -28,6 +41,300 @@ public class AppConfig {
         long maxFileSize = Long.parseLong(dotenv.get("MAX_FILE_SIZE", "52428800")); // Default to 50MB
         int maxResultSize = Integer.parseInt(dotenv.get("MAX_RESULT_SIZE", "50")); // Default to 50 records
         int maxFilesPerUpload = Integer.parseInt(dotenv.get("MAX_FILES_PER_UPLOAD", "5")); // Default to 5 files
-        return new FileConfig(maxFileSize, maxResultSize, maxFilesPerUpload);
+        int chunkSize = Integer.parseInt(dotenv.get("CHUNKED_UPLOAD_CHUNK_SIZE", "5242880")); // Default to 5MB per chunk
+        long maxChunkedUploadSize = Long.parseLong(dotenv.get("CHUNKED_UPLOAD_MAX_SIZE", "524288000")); // Default to 500MB per file
+        long chunkedUploadTtlMillis = Long.parseLong(dotenv.get("CHUNKED_UPLOAD_TTL_SECONDS", "3600")) * 1000L; // Default to 1 hour idle
+        return new FileConfig(maxFileSize, maxResultSize, maxFilesPerUpload, chunkSize, maxChunkedUploadSize, chunkedUploadTtlMillis);
+    }
+
+    @Getter
+    public static class MapViewCacheConfig {
+        private final boolean metaCacheEnabled;
+        private final long metaCacheTtlMillis;
+        private final int metaCacheMaxEntries;
+
+        public MapViewCacheConfig(boolean metaCacheEnabled, long metaCacheTtlMillis, int metaCacheMaxEntries) {
+            this.metaCacheEnabled = metaCacheEnabled;
+            this.metaCacheTtlMillis = metaCacheTtlMillis;
+            this.metaCacheMaxEntries = metaCacheMaxEntries;
+        }
+    }
+
+    @Bean
+    public MapViewCacheConfig mapViewCacheConfig() {
+        boolean metaCacheEnabled = Boolean.parseBoolean(dotenv.get("MAPVIEW_META_CACHE_ENABLED", "true")); // Default to enabled
+        long metaCacheTtlMillis = Long.parseLong(dotenv.get("MAPVIEW_META_CACHE_TTL_SECONDS", "300")) * 1000L; // Default to 5 minutes
+        int metaCacheMaxEntries = Integer.parseInt(dotenv.get("MAPVIEW_META_CACHE_MAX_ENTRIES", "5000")); // Default to 5,000 procedure/user entries
+        return new MapViewCacheConfig(metaCacheEnabled, metaCacheTtlMillis, metaCacheMaxEntries);
+    }
+
+    @Getter
+    public static class AuditConfig {
+        private final String auditTable;
+        private final int queueCapacity;
+        private final int batchSize;
+        private final long flushIntervalMillis;
+
+        public AuditConfig(String auditTable, int queueCapacity, int batchSize, long flushIntervalMillis) {
+            this.auditTable = auditTable;
+            this.queueCapacity = queueCapacity;
+            this.batchSize = batchSize;
+            this.flushIntervalMillis = flushIntervalMillis;
+        }
+    }
+
+    @Bean
+    public AuditConfig auditConfig() {
+        String auditTable = dotenv.get("MAPVIEW_AUDIT_TABLE", "tb_mapviewhist"); // Audit table used on cache hits
+        int queueCapacity = Integer.parseInt(dotenv.get("MAPVIEW_AUDIT_QUEUE_CAPACITY", "10000")); // Default to 10,000 pending records
+        int batchSize = Integer.parseInt(dotenv.get("MAPVIEW_AUDIT_BATCH_SIZE", "200")); // Default to 200 rows per batch
+        long flushIntervalMillis = Long.parseLong(dotenv.get("MAPVIEW_AUDIT_FLUSH_INTERVAL_MS", "1000")); // Default to 1 second
+        return new AuditConfig(auditTable, queueCapacity, batchSize, flushIntervalMillis);
+    }
+
+    @Getter
+    public static class MapViewStreamConfig {
+        private final int fetchSize;
+
+        public MapViewStreamConfig(int fetchSize) {
+            this.fetchSize = fetchSize;
+        }
+    }
+
+    @Bean
+    public MapViewStreamConfig mapViewStreamConfig() {
+        int fetchSize = Integer.parseInt(dotenv.get("MAPVIEW_STREAM_FETCH_SIZE", "500")); // Default to 500 rows per fetch
+        return new MapViewStreamConfig(fetchSize);
+    }
+
+    @Getter
+    public static class MapViewResultCacheConfig {
+        private final boolean enabled;
+        private final Map<String, Long> ttlMillisByRptCd;
+        private final int maxEntries;
+        private final long maxBytes;
+
+        public MapViewResultCacheConfig(boolean enabled, Map<String, Long> ttlMillisByRptCd, int maxEntries, long maxBytes) {
+            this.enabled = enabled;
+            this.ttlMillisByRptCd = Collections.unmodifiableMap(ttlMillisByRptCd);
+            this.maxEntries = maxEntries;
+            this.maxBytes = maxBytes;
+        }
+    }
+
+    @Bean
+    public MapViewResultCacheConfig mapViewResultCacheConfig() {
+        boolean enabled = Boolean.parseBoolean(dotenv.get("MAPVIEW_RESULT_CACHE_ENABLED", "false")); // Default to disabled
+        long defaultTtlSeconds = Long.parseLong(dotenv.get("MAPVIEW_RESULT_CACHE_TTL_SECONDS", "60")); // Default to 1 minute
+        int maxEntries = Integer.parseInt(dotenv.get("MAPVIEW_RESULT_CACHE_MAX_ENTRIES", "1000")); // Default to 1,000 results
+        long maxBytes = Long.parseLong(dotenv.get("MAPVIEW_RESULT_CACHE_MAX_BYTES", "67108864")); // Default to 64MB
+
+        // RPTCD[:TTL초] 콤마 구분, 예) ORGINFO:300,USERINFO:300,OPERMENUMNG
+        Map<String, Long> ttlMillisByRptCd = new LinkedHashMap<>();
+        for (String item : dotenv.get("MAPVIEW_RESULT_CACHE_RPTCDS", "").split(",")) {
+            String entry = item.trim();
+            if (entry.isEmpty()) {
+                continue;
+            }
+            int sep = entry.indexOf(':');
+            String rptCd = (sep < 0 ? entry : entry.substring(0, sep)).trim().toUpperCase();
+            long ttlSeconds = sep < 0 ? defaultTtlSeconds : Long.parseLong(entry.substring(sep + 1).trim());
+            ttlMillisByRptCd.put(rptCd, ttlSeconds * 1000L);
+        }
+        return new MapViewResultCacheConfig(enabled, ttlMillisByRptCd, maxEntries, maxBytes);
+    }
+
+    @Getter
+    public static class MapViewBatchConfig {
+        private final int threads;
+        private final int queueCapacity;
+        private final int maxCalls;
+        private final long timeoutMillis;
+
+        public MapViewBatchConfig(int threads, int queueCapacity, int maxCalls, long timeoutMillis) {
+            this.threads = threads;
+            this.queueCapacity = queueCapacity;
+            this.maxCalls = maxCalls;
+            this.timeoutMillis = timeoutMillis;
+        }
+    }
+
+    @Bean
+    public MapViewBatchConfig mapViewBatchConfig() {
+        int threads = Integer.parseInt(dotenv.get("MAPVIEW_BATCH_THREADS", "8")); // Default to 8 worker threads
+        int queueCapacity = Integer.parseInt(dotenv.get("MAPVIEW_BATCH_QUEUE_CAPACITY", "100")); // Default to 100 pending calls
+        int maxCalls = Integer.parseInt(dotenv.get("MAPVIEW_BATCH_MAX_CALLS", "10")); // Default to 10 calls per request
+        long timeoutMillis = Long.parseLong(dotenv.get("MAPVIEW_BATCH_TIMEOUT_MS", "30000")); // Default to 30 seconds
+        return new MapViewBatchConfig(threads, queueCapacity, maxCalls, timeoutMillis);
+    }
+
+    @Getter
+    public static class MapViewPageConfig {
+        private final String jobType;
+        private final String cursorColumn;
+        private final int defaultPageSize;
+        private final int maxPageSize;
+
+        public MapViewPageConfig(String jobType, String cursorColumn, int defaultPageSize, int maxPageSize) {
+            this.jobType = jobType;
+            this.cursorColumn = cursorColumn;
+            this.defaultPageSize = defaultPageSize;
+            this.maxPageSize = maxPageSize;
+        }
+    }
+
+    @Bean
+    public MapViewPageConfig mapViewPageConfig() {
+        String jobType = dotenv.get("MAPVIEW_PAGE_JOBTYPE", "PAGE"); // JOBTYPE of procedures that accept keyset paging arguments
+        String cursorColumn = dotenv.get("MAPVIEW_PAGE_CURSOR_COLUMN", "CURSORKEY"); // Result column holding each row's keyset value
+        int defaultPageSize = Integer.parseInt(dotenv.get("MAPVIEW_PAGE_DEFAULT_SIZE", "100")); // Default to 100 rows per page
+        int maxPageSize = Integer.parseInt(dotenv.get("MAPVIEW_PAGE_MAX_SIZE", "1000")); // Default to 1,000 rows per page
+        return new MapViewPageConfig(jobType, cursorColumn, defaultPageSize, maxPageSize);
+    }
+
+    @Getter
+    public static class AttachmentStoreConfig {
+        private final boolean enabled;
+        private final String rootDir;
+        private final boolean migrationEnabled;
+        private final Map<String, String> migrationTables;
+        private final int migrationBatchSize;
+
+        public AttachmentStoreConfig(boolean enabled, String rootDir, boolean migrationEnabled, Map<String, String> migrationTables, int migrationBatchSize) {
+            this.enabled = enabled;
+            this.rootDir = rootDir;
+            this.migrationEnabled = migrationEnabled;
+            this.migrationTables = Collections.unmodifiableMap(migrationTables);
+            this.migrationBatchSize = migrationBatchSize;
+        }
+    }
+
+    @Bean
+    public AttachmentStoreConfig attachmentStoreConfig() {
+        boolean enabled = Boolean.parseBoolean(dotenv.get("ATTACHMENT_STORE_ENABLED", "false")); // Default to LONGBLOB storage
+        String rootDir = dotenv.get("ATTACHMENT_STORE_DIR", "./attachments"); // Root directory of SHA-256 addressed files
+        boolean migrationEnabled = Boolean.parseBoolean(dotenv.get("ATTACHMENT_MIGRATION_ENABLED", "false")); // Default to no migration
+        int migrationBatchSize = Integer.parseInt(dotenv.get("ATTACHMENT_MIGRATION_BATCH_SIZE", "100")); // Default to 100 rows per key scan
+
+        // 테이블:키컬럼 콤마 구분, 예) TB_NOTICEFILE:FILEID,TB_EXCELUPLOADTEMPFILE:FILEID
+        Map<String, String> migrationTables = new LinkedHashMap<>();
+        for (String item : dotenv.get("ATTACHMENT_MIGRATION_TABLES", "").split(",")) {
+            String entry = item.trim();
+            if (entry.isEmpty()) {
+                continue;
+            }
+            int sep = entry.indexOf(':');
+            String table = (sep < 0 ? entry : entry.substring(0, sep)).trim();
+            String keyColumn = sep < 0 ? "FILEID" : entry.substring(sep + 1).trim();
+            migrationTables.put(table, keyColumn);
+        }
+        return new AttachmentStoreConfig(enabled, rootDir, migrationEnabled, migrationTables, migrationBatchSize);
+    }
+
+    @Getter
+    public static class AttachmentCompressionConfig {
+        private final boolean enabled;
+        private final int level;
+        private final long minSize;
+        private final Set<String> skipTypes;
+
+        public AttachmentCompressionConfig(boolean enabled, int level, long minSize, Set<String> skipTypes) {
+            this.enabled = enabled;
+            this.level = level;
+            this.minSize = minSize;
+            this.skipTypes = Collections.unmodifiableSet(skipTypes);
+        }
+    }
+
+    @Bean
+    public AttachmentCompressionConfig attachmentCompressionConfig() {
+        boolean enabled = Boolean.parseBoolean(dotenv.get("ATTACHMENT_COMPRESSION_ENABLED", "false")); // Default to raw storage (applies to the attachment store only)
+        int level = Integer.parseInt(dotenv.get("ATTACHMENT_COMPRESSION_LEVEL", "6")); // Deflater level 1(fast) ~ 9(small)
+        long minSize = Long.parseLong(dotenv.get("ATTACHMENT_COMPRESSION_MIN_SIZE", "1024")); // Default to skip files under 1KB
+
+        // 이미 압축된 형식(확장자)은 압축하지 않는다
+        Set<String> skipTypes = new HashSet<>();
+        for (String item : dotenv.get("ATTACHMENT_COMPRESSION_SKIP_TYPES",
+                "zip,gz,7z,rar,xlsx,xlsm,docx,pptx,hwpx,png,jpg,jpeg,gif,webp,mp3,mp4,avi,mov,pdf").split(",")) {
+            String type = item.trim().toLowerCase();
+            if (!type.isEmpty()) {
+                skipTypes.add(type);
+            }
+        }
+        return new AttachmentCompressionConfig(enabled, level, minSize, skipTypes);
+    }
+
+    @Getter
+    public static class FileListConfig {
+        private final Map<String, String> metadataRptCds;
+
+        public FileListConfig(Map<String, String> metadataRptCds) {
+            this.metadataRptCds = Collections.unmodifiableMap(metadataRptCds);
+        }
+    }
+
+    @Bean
+    public FileListConfig fileListConfig() {
+        // 목록 rptCd:메타정보 전용 rptCd 콤마 구분, 예) NOTICEFILE:NOTICEFILEMETA (FILEDATA 를 조회하지 않는 프로시저)
+        Map<String, String> metadataRptCds = new LinkedHashMap<>();
+        for (String item : dotenv.get("FILE_LIST_METADATA_RPTCD", "").split(",")) {
+            String entry = item.trim();
+            int sep = entry.indexOf(':');
+            if (sep <= 0 || sep == entry.length() - 1) {
+                continue;
+            }
+            metadataRptCds.put(entry.substring(0, sep).trim(), entry.substring(sep + 1).trim());
+        }
+        return new FileListConfig(metadataRptCds);
+    }
+
+    @Getter
+    public static class ExcelUploadConfig {
+        private final int batchSize;
+        private final int commitSize;
+        private final int writerThreads;
+        private final int queueCapacity;
+        private final int maxConcurrentJobs;
+        private final int maxQueuedJobs;
+        private final boolean emptyAsNull;
+        private final int maxPriority;
+        private final Set<String> priorityAuths;
+
+        public ExcelUploadConfig(int batchSize, int commitSize, int writerThreads, int queueCapacity,
+                                 int maxConcurrentJobs, int maxQueuedJobs, boolean emptyAsNull,
+                                 int maxPriority, Set<String> priorityAuths) {
+            this.batchSize = batchSize;
+            this.commitSize = commitSize;
+            this.writerThreads = writerThreads;
+            this.queueCapacity = queueCapacity;
+            this.maxConcurrentJobs = maxConcurrentJobs;
+            this.maxQueuedJobs = maxQueuedJobs;
+            this.emptyAsNull = emptyAsNull;
+            this.maxPriority = maxPriority;
+            this.priorityAuths = Collections.unmodifiableSet(priorityAuths);
+        }
+    }
+
+    @Bean
+    public ExcelUploadConfig excelUploadConfig() {
+        int batchSize = Integer.parseInt(dotenv.get("EXCEL_UPLOAD_BATCH_SIZE", "1000")); // Default to 1,000 rows per executeBatch
+        int commitSize = Integer.parseInt(dotenv.get("EXCEL_UPLOAD_COMMIT_SIZE", "10000")); // Default to commit every 10,000 rows
+        int writerThreads = Integer.parseInt(dotenv.get("EXCEL_UPLOAD_WRITER_THREADS", "1")); // Default to 1 writer thread (rows keep Excel order)
+        int queueCapacity = Integer.parseInt(dotenv.get("EXCEL_UPLOAD_QUEUE_CAPACITY", "4")); // Default to 4 chunks between pipeline stages
+        int maxConcurrentJobs = Integer.parseInt(dotenv.get("EXCEL_UPLOAD_MAX_CONCURRENT_JOBS", "2")); // Default to 2 uploads running at once
+        int maxQueuedJobs = Integer.parseInt(dotenv.get("EXCEL_UPLOAD_MAX_QUEUED_JOBS", "100")); // Default to 100 waiting uploads
+        boolean emptyAsNull = Boolean.parseBoolean(dotenv.get("EXCEL_UPLOAD_EMPTY_AS_NULL", "false")); // Default to '' for empty cells (batch loader only)
+        int maxPriority = Integer.parseInt(dotenv.get("EXCEL_UPLOAD_MAX_PRIORITY", "10")); // Default to priorities -10 ~ 10
+
+        // 대기열 우선순위를 지정할 수 있는 권한(JWT auth) 콤마 구분, 없으면 모든 요청이 기본 우선순위(0)
+        Set<String> priorityAuths = new HashSet<>();
+        for (String item : dotenv.get("EXCEL_UPLOAD_PRIORITY_AUTHS", "").split(",")) {
+            String auth = item.trim();
+            if (!auth.isEmpty()) {
+                priorityAuths.add(auth);
+            }
+        }
+        return new ExcelUploadConfig(batchSize, Math.max(commitSize, batchSize), Math.max(writerThreads, 1), Math.max(queueCapacity, 1),
+                Math.max(maxConcurrentJobs, 1), Math.max(maxQueuedJobs, 0), emptyAsNull, Math.max(maxPriority, 0), priorityAuths);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,14 @@
+package com.boot.cms.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+/**
+ * @Async 활성화
+ * spring.threads.virtual.enabled=true 이면 Spring Boot 기본 applicationTaskExecutor 가 가상 스레드로 실행되고,
+ * 아니면 기본 ThreadPoolTaskExecutor (spring.task.execution.*) 를 사용한다.
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+}
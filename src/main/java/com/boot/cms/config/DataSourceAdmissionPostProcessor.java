@@ -0,0 +1,40 @@
+package com.boot.cms.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * cms.jdbc.admission.enabled 인 경우 HikariDataSource 를 풀 크기만큼의 허가를 갖는 AdmissionControlDataSource 로 감싼다.
+ * (기본값은 가상 스레드 사용 여부를 따른다)
+ */
+@Component
+public class DataSourceAdmissionPostProcessor implements BeanPostProcessor, EnvironmentAware {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataSourceAdmissionPostProcessor.class);
+
+    private Environment environment;
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof HikariDataSource hikariDataSource)
+                || !environment.getProperty("cms.jdbc.admission.enabled", Boolean.class, false)) {
+            return bean;
+        }
+
+        int maxPermits = hikariDataSource.getMaximumPoolSize();
+        long timeoutMillis = environment.getProperty("cms.jdbc.admission.timeout-ms", Long.class,
+                hikariDataSource.getConnectionTimeout());
+        logger.info("JDBC admission control enabled: dataSource={}, permits={}, timeoutMs={}", beanName, maxPermits, timeoutMillis);
+        return new AdmissionControlDataSource(hikariDataSource, maxPermits, timeoutMillis);
+    }
+}
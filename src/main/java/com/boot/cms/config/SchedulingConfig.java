@@ -0,0 +1,13 @@
+package com.boot.cms.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * @Scheduled 활성화 (분할 업로드 만료 세션 정리 등)
+ * Spring Boot 기본 taskScheduler (spring.task.scheduling.*) 에서 실행한다.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -105,8 +105,8 @@ public class SecurityConfig {
         }
 
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE"));
-        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type"));
-        configuration.setExposedHeaders(Arrays.asList("Authorization")); // Swagger에서 authorization 읽기 가능하도록
+        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "Range", "If-None-Match", "If-Range")); // Range/If-*: 첨부파일 다운로드
+        configuration.setExposedHeaders(Arrays.asList("Authorization", "ETag", "Content-Range", "Content-Disposition", "Accept-Ranges")); // Swagger에서 authorization 읽기 가능하도록, 다운로드 헤더
         configuration.setAllowCredentials(true); // JWT 같은 인증 데이터를 허용
 
         return configuration;
@@ -0,0 +1,117 @@
+package com.boot.cms.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 가상 스레드가 캐리어 스레드에 고정(pinning)된 구간을 JFR jdk.VirtualThreadPinned 이벤트로 감시
+ * (synchronized 블록 안의 블로킹 I/O 등) 같은 호출 위치는 처음 한 번만 스택과 함께 WARN 으로 남기고 이후는 건수만 집계한다.
+ */
+@Component
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int MAX_FRAMES = 12;
+    private static final int MAX_TRACKED_SITES = 200;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsEnabled;
+
+    @Value("${cms.virtual-threads.pinned-threshold-ms:20}")
+    private long pinnedThresholdMillis;
+
+    private RecordingStream recordingStream;
+
+    private final AtomicLong pinnedCount = new AtomicLong();
+    private final AtomicLong maxPinnedMillis = new AtomicLong();
+    private final Set<String> reportedSites = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    public void start() {
+        if (!virtualThreadsEnabled) {
+            return;
+        }
+
+        try {
+            recordingStream = new RecordingStream();
+            recordingStream.enable(PINNED_EVENT).withThreshold(Duration.ofMillis(pinnedThresholdMillis)).withStackTrace();
+            recordingStream.onEvent(PINNED_EVENT, this::onPinned);
+            recordingStream.startAsync();
+            logger.info("Virtual thread pinning monitor started: thresholdMs={}", pinnedThresholdMillis);
+        } catch (Exception e) {
+            // JFR 을 사용할 수 없는 런타임에서도 애플리케이션은 기동되어야 한다
+            logger.warn("Virtual thread pinning monitor not available: {}", e.getMessage());
+            recordingStream = null;
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", recordingStream != null);
+        stats.put("thresholdMillis", pinnedThresholdMillis);
+        stats.put("pinnedCount", pinnedCount.get());
+        stats.put("maxPinnedMillis", maxPinnedMillis.get());
+        stats.put("sites", reportedSites.size());
+        return stats;
+    }
+
+    private void onPinned(RecordedEvent event) {
+        long count = pinnedCount.incrementAndGet();
+        long durationMillis = event.getDuration().toMillis();
+        maxPinnedMillis.accumulateAndGet(durationMillis, Math::max);
+
+        String frames = describe(event.getStackTrace());
+        String site = frames.isEmpty() ? "unknown" : frames.substring(0, frames.indexOf('\n') < 0 ? frames.length() : frames.indexOf('\n'));
+        if (reportedSites.size() < MAX_TRACKED_SITES && reportedSites.add(site)) {
+            logger.warn("Virtual thread pinned for {}ms (total={}):\n{}", durationMillis, count, frames);
+        } else {
+            logger.debug("Virtual thread pinned for {}ms at {} (total={})", durationMillis, site, count);
+        }
+    }
+
+    private String describe(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "";
+        }
+        StringBuilder builder = new StringBuilder();
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        for (int i = 0; i < Math.min(MAX_FRAMES, frames.size()); i++) {
+            RecordedFrame frame = frames.get(i);
+            if (i > 0) {
+                builder.append('\n');
+            }
+            builder.append("    at ")
+                    .append(frame.getMethod().getType().getName())
+                    .append('.')
+                    .append(frame.getMethod().getName())
+                    .append(':')
+                    .append(frame.getLineNumber());
+        }
+        return builder.toString();
+    }
+}
@@ -1,13 +1,17 @@
 package com.boot.cms.controller.common;
 
 import com.boot.cms.dto.common.ApiResponseDto;
+import com.boot.cms.service.mapview.MapViewPage;
+import com.boot.cms.service.mapview.MapViewPageRequest;
 import com.boot.cms.service.mapview.MapViewProcessor;
+import com.boot.cms.service.mapview.MapViewStreamWriter;
 import com.boot.cms.util.CommonApiResponses;
 import com.boot.cms.util.EscapeUtil;
 import com.boot.cms.util.MapViewParamsUtil;
 import com.boot.cms.util.ResponseEntityUtil;
 import io.jsonwebtoken.Claims;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
@@ -30,6 +34,7 @@ public class OrgInfoController {
     private static final Logger logger = LoggerFactory.getLogger(OrgInfoController.class);
 
     private final MapViewProcessor mapViewProcessor;
+    private final MapViewStreamWriter mapViewStreamWriter;
     private final ResponseEntityUtil responseEntityUtil;
     private final EscapeUtil escapeUtil;
     private final MapViewParamsUtil mapViewParamsUtil;
@@ -40,9 +45,10 @@ public class OrgInfoController {
 
     @CommonApiResponses
     @PostMapping("/list")
-    public ResponseEntity<ApiResponseDto<List<Map<String, Object>>>> orgInfoList(
+    public ResponseEntity<ApiResponseDto<Object>> orgInfoList(
             @RequestBody Map<String, Object> request,
-            HttpServletRequest httpRequest
+            HttpServletRequest httpRequest,
+            HttpServletResponse httpResponse
     ) {
         String rptCd = "ORGINFO";
         String jobGb = "GET";
@@ -52,19 +58,27 @@ public class OrgInfoController {
 
         List<String> params = mapViewParamsUtil.getParams(request, escapeUtil);
 
-        List<Map<String, Object>> unescapedResultList;
+        MapViewPageRequest pageRequest = MapViewPageRequest.from(request);
+
+        if (mapViewStreamWriter.isStreamRequested(httpRequest, jobGb)) {
+            mapViewStreamWriter.write(httpRequest, httpResponse, rptCd, params, empNo, jobGb, pageRequest);
+            return null;
+        }
+
+        MapViewPage resultPage;
         try {
-            unescapedResultList = mapViewProcessor.processDynamicView(rptCd, params, empNo, jobGb);
+            resultPage = mapViewProcessor.processDynamicViewPage(rptCd, params, empNo, jobGb,
+                    responseEntityUtil.isColumnarRequested(httpRequest), pageRequest);
         } catch (IllegalArgumentException e) {
-            errorMessage = "/list unescapedResultList = mapViewProcessor.processDynamicView(rptCd, params, empNo, jobGb);";
+            errorMessage = "/list resultPage = mapViewProcessor.processDynamicViewPage(rptCd, params, empNo, jobGb, columnar, pageRequest);";
             logger.error(this.getErrorMessage(), e.getMessage(), e);
             return responseEntityUtil.okBodyEntity(null, "01", e.getMessage());
         }
 
-        if (unescapedResultList.isEmpty()) {
+        if (resultPage.isEmpty()) {
             return responseEntityUtil.okBodyEntity(null, "01", "조회 결과가 없습니다.");
         }
 
-        return responseEntityUtil.okBodyEntity(unescapedResultList);
+        return responseEntityUtil.okBodyEntity(resultPage.getData(), resultPage.getPage());
     }
 }
\ No newline at end of file
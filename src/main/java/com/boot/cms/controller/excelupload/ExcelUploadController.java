@@ -2,6 +2,9 @@ package com.boot.cms.controller.excelupload;
 
 import com.boot.cms.config.AppConfig;
 import com.boot.cms.dto.common.ApiResponseDto;
+import com.boot.cms.service.excelupload.DelimitedTextReader;
+import com.boot.cms.service.excelupload.ExcelUploadJob;
+import com.boot.cms.service.excelupload.ExcelUploadScheduler;
 import com.boot.cms.service.excelupload.ExcelUploadService;
 import com.boot.cms.util.CommonApiResponses;
 import com.boot.cms.util.ResponseEntityUtil;
@@ -10,17 +13,15 @@ import jakarta.servlet.http.HttpServletRequest;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -37,25 +38,31 @@ public class ExcelUploadController {
     private static final Logger logger = LoggerFactory.getLogger(ExcelUploadController.class);
 
     private final ExcelUploadService excelUploadService;
+    private final ExcelUploadScheduler excelUploadScheduler;
     private final ResponseEntityUtil responseEntityUtil;
     private final AppConfig.FileConfig fileConfig;
+    private final AppConfig.ExcelUploadConfig excelUploadConfig;
 
     @Setter
     @Getter
     private String errorMessage;
 
     /**
-     * 엑셀 파일 업로드 처리
+     * 엑셀 파일 업로드 처리 (XLSX 또는 CSV/TSV 텍스트)
      * @param rptCd 업로드 키코드
-     * @param file 엑셀 파일
+     * @param file 엑셀 파일 (.xlsx) 또는 구분자 텍스트 파일 (.csv, .tsv, .txt)
+     * @param delimiter 텍스트 구분자 (",", ";", "|", "TAB", 없으면 확장자 기준 - .tsv 는 탭, 그 외 쉼표)
+     * @param priority 대기열 우선순위 (큰 값이 먼저 실행, 기본 0, EXCEL_UPLOAD_PRIORITY_AUTHS 권한만 ±EXCEL_UPLOAD_MAX_PRIORITY 범위로 적용)
      * @param httpRequest HTTP 요청
-     * @return 업로드 결과 응답
+     * @return 업로드 결과 응답 (업로드 키, 작업 상태)
      */
     @CommonApiResponses
     @PostMapping(value = "/save", consumes = {"multipart/form-data"})
     public ResponseEntity<ApiResponseDto<Map<String, Object>>> saveExcel(
             @RequestParam("rptCd") String rptCd,
             @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "delimiter", required = false) String delimiter,
+            @RequestParam(value = "priority", required = false, defaultValue = "0") int priority,
             HttpServletRequest httpRequest) {
 
         // 필수 파라미터 검증
@@ -72,26 +79,31 @@ public class ExcelUploadController {
             return responseEntityUtil.okBodyEntity(null, "01", "파일 크기가 " + (fileConfig.getMaxFileSize() / (1024 * 1024)) + "MB 제한을 초과했습니다.");
         }
 
-        // 엑셀 파일 형식 검증 및 Workbook 생성
-        XSSFWorkbook workbook = null;
-        try (ByteArrayOutputStream baos = new ByteArrayOutputStream();
-             InputStream inputStream = file.getInputStream()) {
-            byte[] buffer = new byte[8192];
-            int bytesRead;
-            while ((bytesRead = inputStream.read(buffer)) != -1) {
-                baos.write(buffer, 0, bytesRead);
-            }
-            byte[] fileData = baos.toByteArray();
-
-            // 엑셀 파일인지 확인 (XSSFWorkbook으로 파싱 시도)
-            try {
-                workbook = new XSSFWorkbook(new ByteArrayInputStream(fileData));
-            } catch (IOException e) {
-                errorMessage = "유효하지 않은 엑셀 파일 형식입니다.";
-                logger.error(errorMessage, e.getMessage(), e);
-                return responseEntityUtil.okBodyEntity(null, "01", errorMessage);
+        // 파일명/구분자로 XLSX 와 구분자 텍스트 구분
+        Character textDelimiter;
+        try {
+            textDelimiter = DelimitedTextReader.resolveDelimiter(file.getOriginalFilename(), delimiter);
+        } catch (IllegalArgumentException e) {
+            return responseEntityUtil.okBodyEntity(null, "01", e.getMessage());
+        }
+
+        // 업로드 파일을 임시 파일로 옮긴 뒤 형식만 확인 (Workbook 을 메모리에 만들지 않음)
+        Path tempFile = null;
+        try {
+            tempFile = excelUploadScheduler.createUploadFile(textDelimiter != null ? ".txt" : ".xlsx");
+            file.transferTo(tempFile);
+            if (textDelimiter != null) {
+                excelUploadService.validateTextFile(tempFile);
+            } else {
+                excelUploadService.validateExcelFile(tempFile);
             }
+        } catch (IllegalArgumentException e) {
+            deleteTempFile(tempFile);
+            errorMessage = textDelimiter != null ? "유효하지 않은 텍스트 파일 형식입니다." : "유효하지 않은 엑셀 파일 형식입니다.";
+            logger.error(errorMessage, e.getMessage(), e);
+            return responseEntityUtil.okBodyEntity(null, "01", errorMessage);
         } catch (IOException e) {
+            deleteTempFile(tempFile);
             errorMessage = "파일 데이터 변환 중 오류";
             logger.error(errorMessage, e.getMessage(), e);
             return responseEntityUtil.okBodyEntity(null, "01", "파일 처리 중 오류: " + e.getMessage());
@@ -102,30 +114,112 @@ public class ExcelUploadController {
         String empNo = claims != null && claims.getSubject() != null ? claims.getSubject() : "admin";
         String empNm = claims != null && claims.get("empNm", String.class) != null ? claims.get("empNm", String.class) : "";
 
-        // 비동기적으로 엑셀 업로드 처리
-        // 비동기적으로 엑셀 업로드 처리
+        // 업로드 스케줄러 대기열에 등록 (임시 파일은 처리/취소 후 스케줄러에서 삭제)
+        ExcelUploadJob job;
         try {
-            excelUploadService.asyncExcelUpload(rptCd, workbook, empNo, empNm);
+            job = excelUploadScheduler.submit(rptCd, tempFile, textDelimiter, empNo, empNm, resolvePriority(priority, claims));
+        } catch (IllegalArgumentException e) {
+            // 업로드 설정 없음/대기열 초과
+            deleteTempFile(tempFile);
+            return responseEntityUtil.okBodyEntity(null, "01", e.getMessage());
         } catch (Exception e) {
             errorMessage = "비동기 엑셀 업로드 처리 중 오류: " + rptCd; // 서비스와 동일한 메시지로 변경
             logger.error(errorMessage, e.getMessage(), e);
+            // 작업이 넘어가지 못한 경우만 여기서 삭제
+            deleteTempFile(tempFile);
             return responseEntityUtil.okBodyEntity(null, "01", errorMessage);
-        } finally {
-            // Workbook 자원 해제
-            if (workbook != null) {
-                try {
-                    workbook.close();
-                } catch (Exception e) {
-                    logger.error("Workbook 닫기 실패", e);
-                }
-            }
         }
 
         // 성공 응답 생성 (클라이언트에 즉시 응답)
         Map<String, Object> responseData = new HashMap<>();
         responseData.put("success", true);
         responseData.put("message", "파일은 정상적으로 등록되었습니다.");
+        responseData.put("uploadKey", job.getUploadKey());
+        responseData.put("status", job.getStatus());
+
+        return responseEntityUtil.okBodyEntity(responseData);
+    }
+
+    /**
+     * 엑셀 업로드 작업 상태 (대기 순번, 처리 행 수, 초당 행 수, 남은 시간)
+     * @param uploadKey 업로드 키
+     * @param httpRequest HTTP 요청 (본인 작업만 조회)
+     * @return 작업 상태 응답
+     */
+    @CommonApiResponses
+    @PostMapping("/status")
+    public ResponseEntity<ApiResponseDto<Map<String, Object>>> uploadStatus(
+            @RequestParam("uploadKey") String uploadKey,
+            HttpServletRequest httpRequest) {
+        Map<String, Object> status = excelUploadScheduler.getStatus(uploadKey, getEmpNo(httpRequest));
+        if (status == null) {
+            return responseEntityUtil.okBodyEntity(null, "01", "업로드 작업을 찾을 수 없습니다: " + uploadKey);
+        }
+        return responseEntityUtil.okBodyEntity(status);
+    }
+
+    /**
+     * 엑셀 업로드 작업 취소 (대기 중이면 대기열에서 제거, 처리 중이면 롤백)
+     * @param uploadKey 업로드 키
+     * @param httpRequest HTTP 요청 (본인 작업만 취소)
+     * @return 취소 결과 응답
+     */
+    @CommonApiResponses
+    @PostMapping("/cancel")
+    public ResponseEntity<ApiResponseDto<Map<String, Object>>> cancelUpload(
+            @RequestParam("uploadKey") String uploadKey,
+            HttpServletRequest httpRequest) {
+        if (!excelUploadScheduler.cancel(uploadKey, getEmpNo(httpRequest))) {
+            return responseEntityUtil.okBodyEntity(null, "01", "취소할 수 있는 업로드 작업이 없습니다: " + uploadKey);
+        }
+        Map<String, Object> responseData = new HashMap<>();
+        responseData.put("success", true);
+        responseData.put("uploadKey", uploadKey);
+        return responseEntityUtil.okBodyEntity(responseData);
+    }
 
+    /**
+     * 엑셀 업로드 작업 통계 (본인의 진행 중/최근 작업의 처리 행 수, 마지막 SQL, 오류, 파이프라인 단계별 통계)
+     * @param httpRequest HTTP 요청
+     * @return 통계 응답
+     */
+    @CommonApiResponses
+    @PostMapping("/stats")
+    public ResponseEntity<ApiResponseDto<Map<String, Object>>> uploadStats(HttpServletRequest httpRequest) {
+        Map<String, Object> responseData = new HashMap<>();
+        responseData.put("jobs", excelUploadService.getUploadJobs(getEmpNo(httpRequest)));
         return responseEntityUtil.okBodyEntity(responseData);
     }
-}
\ No newline at end of file
+
+    /**
+     * 요청 우선순위를 권한에 따라 제한 (지정 권한이 아니면 기본 0, 지정 권한은 ±EXCEL_UPLOAD_MAX_PRIORITY 범위)
+     */
+    private int resolvePriority(int priority, Claims claims) {
+        if (priority == 0) {
+            return 0;
+        }
+        String auth = claims != null ? claims.get("auth", String.class) : null;
+        if (auth == null || !excelUploadConfig.getPriorityAuths().contains(auth)) {
+            logger.warn("Excel upload priority ignored: auth={}, requested={}", auth, priority);
+            return 0;
+        }
+        int maxPriority = excelUploadConfig.getMaxPriority();
+        return Math.max(-maxPriority, Math.min(priority, maxPriority));
+    }
+
+    private String getEmpNo(HttpServletRequest httpRequest) {
+        Claims claims = (Claims) httpRequest.getAttribute("user");
+        return claims != null && claims.getSubject() != null ? claims.getSubject() : "admin";
+    }
+
+    private void deleteTempFile(Path tempFile) {
+        if (tempFile == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(tempFile);
+        } catch (IOException e) {
+            logger.error("엑셀 임시 파일 삭제 실패: {}", tempFile, e);
+        }
+    }
+}
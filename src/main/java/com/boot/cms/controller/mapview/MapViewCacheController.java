@@ -0,0 +1,80 @@
+package com.boot.cms.controller.mapview;
+
+import com.boot.cms.config.AdmissionControlDataSource;
+import com.boot.cms.config.VirtualThreadPinningMonitor;
+import com.boot.cms.dto.common.ApiResponseDto;
+import com.boot.cms.service.mapview.AttachmentCodec;
+import com.boot.cms.service.mapview.AttachmentMigrationRunner;
+import com.boot.cms.service.mapview.AttachmentStore;
+import com.boot.cms.service.mapview.MapViewAuditService;
+import com.boot.cms.service.mapview.MapViewResultCache;
+import com.boot.cms.service.mapview.ProcedureMetadataCache;
+import com.boot.cms.util.CommonApiResponses;
+import com.boot.cms.util.ResponseEntityUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("api/mapview/cache")
+@RequiredArgsConstructor
+@io.swagger.v3.oas.annotations.tags.Tag(name = "9.테스트 > Map View Cache", description = "MAP VIEW 프로시저 메타정보/조회 결과 캐시 관리 API")
+public class MapViewCacheController {
+
+    private final ProcedureMetadataCache procedureMetadataCache;
+    private final MapViewAuditService mapViewAuditService;
+    private final MapViewResultCache mapViewResultCache;
+    private final DataSource dataSource;
+    private final VirtualThreadPinningMonitor virtualThreadPinningMonitor;
+    private final AttachmentStore attachmentStore;
+    private final AttachmentMigrationRunner attachmentMigrationRunner;
+    private final AttachmentCodec attachmentCodec;
+    private final ResponseEntityUtil responseEntityUtil;
+
+    @CommonApiResponses
+    @PostMapping("/stats")
+    public ResponseEntity<ApiResponseDto<Map<String, Object>>> cacheStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("procedureMetadata", procedureMetadataCache.getStats());
+        stats.put("result", mapViewResultCache.getStats());
+        stats.put("audit", mapViewAuditService.getStats());
+        if (dataSource instanceof AdmissionControlDataSource admissionControlDataSource) {
+            stats.put("jdbcAdmission", admissionControlDataSource.getStats());
+        }
+        stats.put("virtualThreadPinning", virtualThreadPinningMonitor.getStats());
+        stats.put("attachmentStore", attachmentStore.getStats());
+        stats.put("attachmentMigration", attachmentMigrationRunner.getStats());
+        stats.put("attachmentCompression", attachmentCodec.getStats());
+        return responseEntityUtil.okBodyEntity(stats);
+    }
+
+    @CommonApiResponses
+    @PostMapping("/evict")
+    public ResponseEntity<ApiResponseDto<Map<String, Object>>> cacheEvict(
+            @RequestBody(required = false) Map<String, String> request
+    ) {
+        String rptCd = request != null ? request.get("rptCd") : null;
+
+        boolean all = rptCd == null || rptCd.isEmpty();
+        int removed = all
+                ? procedureMetadataCache.invalidateAll()
+                : procedureMetadataCache.invalidate(rptCd);
+        int resultRemoved = all
+                ? mapViewResultCache.invalidateAll()
+                : mapViewResultCache.invalidate(rptCd);
+
+        Map<String, Object> responseData = new HashMap<>();
+        responseData.put("rptCd", rptCd == null ? "" : rptCd);
+        responseData.put("removed", removed);
+        responseData.put("resultRemoved", resultRemoved);
+        return responseEntityUtil.okBodyEntity(responseData);
+    }
+}
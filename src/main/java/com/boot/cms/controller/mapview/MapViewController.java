@@ -1,12 +1,21 @@
 package com.boot.cms.controller.mapview;
 
+import com.boot.cms.config.AppConfig;
 import com.boot.cms.dto.common.ApiResponseDto;
+import com.boot.cms.service.mapview.MapViewBatchService;
+import com.boot.cms.service.mapview.MapViewPage;
+import com.boot.cms.service.mapview.MapViewPageRequest;
 import com.boot.cms.service.mapview.MapViewProcessor;
+import com.boot.cms.service.mapview.MapViewStreamWriter;
 import com.boot.cms.util.CommonApiResponses;
 import com.boot.cms.util.EscapeUtil;
+import com.boot.cms.util.MapViewParamsUtil;
 import com.boot.cms.util.ResponseEntityUtil;
+import io.jsonwebtoken.Claims;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
@@ -18,6 +27,8 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -30,8 +41,12 @@ public class MapViewController {
     private static final Logger logger = LoggerFactory.getLogger(MapViewController.class);
 
     private final MapViewProcessor mapViewProcessor;
+    private final MapViewStreamWriter mapViewStreamWriter;
     private final ResponseEntityUtil responseEntityUtil;
     private final EscapeUtil escapeUtil;
+    private final MapViewParamsUtil mapViewParamsUtil;
+    private final MapViewBatchService mapViewBatchService;
+    private final AppConfig.MapViewBatchConfig mapViewBatchConfig;
 
     @Setter
     @Getter
@@ -39,8 +54,10 @@ public class MapViewController {
 
     @CommonApiResponses
     @PostMapping("/call")
-    public ResponseEntity<ApiResponseDto<List<Map<String, Object>>>> callDynamicView(
-            @RequestBody Map<String, String> request
+    public ResponseEntity<ApiResponseDto<Object>> callDynamicView(
+            @RequestBody Map<String, String> request,
+            HttpServletRequest httpRequest,
+            HttpServletResponse httpResponse
     ) {
         String rptCd = request.get("rptCd");
         String jobGb = request.getOrDefault("jobGb", "GET");
@@ -51,23 +68,73 @@ public class MapViewController {
         }
 
         List<String> params = request.entrySet().stream()
-                .filter(entry -> !List.of("rptCd", "jobGb", "empNo").contains(entry.getKey()))
+                .filter(entry -> !MapViewParamsUtil.RESERVED_KEYS.contains(entry.getKey()))
                 .map(entry -> escapeUtil.escape(entry.getValue()))
                 .collect(Collectors.toList());
 
-        List<Map<String, Object>> unescapedResultList;
+        MapViewPageRequest pageRequest = MapViewPageRequest.from(request);
+
+        // ?stream=Y 인 조회는 결과를 모으지 않고 바로 응답으로 기록
+        if (mapViewStreamWriter.isStreamRequested(httpRequest, jobGb)) {
+            mapViewStreamWriter.write(httpRequest, httpResponse, rptCd, params, empNo, jobGb, pageRequest);
+            return null;
+        }
+
+        MapViewPage resultPage;
         try {
-            unescapedResultList = mapViewProcessor.processDynamicView(rptCd, params, empNo, jobGb);
+            resultPage = mapViewProcessor.processDynamicViewPage(rptCd, params, empNo, jobGb,
+                    responseEntityUtil.isColumnarRequested(httpRequest), pageRequest);
         } catch (IllegalArgumentException e) {
-            errorMessage = "mapViewProcessor.processDynamicView(rptCd, params, empNo, jobGb) :";
+            errorMessage = "mapViewProcessor.processDynamicViewPage(rptCd, params, empNo, jobGb, columnar, pageRequest) :";
             logger.error(this.getErrorMessage(), e.getMessage(), e);
             return responseEntityUtil.okBodyEntity(null, "01", e.getMessage());
         }
 
-        if (unescapedResultList.isEmpty()) {
+        if (resultPage.isEmpty()) {
             return responseEntityUtil.okBodyEntity(null, "01", "조회 결과가 없습니다.");
         }
 
-        return responseEntityUtil.okBodyEntity(unescapedResultList);
+        return responseEntityUtil.okBodyEntity(resultPage.getData(), resultPage.getPage());
+    }
+
+    /**
+     * 여러 조회(GET) rptCd 를 한 번에 호출, 요청 본문: [{"rptCd":"ORGINFO","jobGb":"GET","params":{...}}, ...]
+     * data 는 호출 순서대로 {index, rptCd, jobGb, errCd, errMsg, data[, page]} (params 의 pageSize/cursor 로 페이지 요청)
+     */
+    @CommonApiResponses
+    @PostMapping("/batch")
+    @SuppressWarnings("unchecked")
+    public ResponseEntity<ApiResponseDto<List<Map<String, Object>>>> callBatch(
+            @RequestBody List<Map<String, Object>> request,
+            HttpServletRequest httpRequest
+    ) {
+        Claims claims = (Claims) httpRequest.getAttribute("user");
+        String empNo = claims != null && claims.getSubject() != null ? claims.getSubject() : null;
+
+        if (empNo == null || empNo.isEmpty()) {
+            return responseEntityUtil.okBodyEntity(null, "01", "인증 정보가 없습니다.");
+        }
+
+        if (request == null || request.isEmpty() || request.size() > mapViewBatchConfig.getMaxCalls()) {
+            return responseEntityUtil.okBodyEntity(null, "01",
+                    "파라미터가 잘못되어 있습니다. (호출 수 1~" + mapViewBatchConfig.getMaxCalls() + ")");
+        }
+
+        List<MapViewBatchService.BatchCall> calls = new ArrayList<>(request.size());
+        for (Map<String, Object> item : request) {
+            Object rptCd = item.get("rptCd");
+            if (rptCd == null || rptCd.toString().isEmpty()) {
+                return responseEntityUtil.okBodyEntity(null, "01", "파라미터가 잘못되어 있습니다. (rptCd)");
+            }
+            String jobGb = item.get("jobGb") != null ? item.get("jobGb").toString() : "GET";
+            Map<String, Object> callParams = item.get("params") instanceof Map
+                    ? (Map<String, Object>) item.get("params")
+                    : Collections.emptyMap();
+            calls.add(new MapViewBatchService.BatchCall(rptCd.toString(), jobGb,
+                    mapViewParamsUtil.getParams(callParams, escapeUtil), MapViewPageRequest.from(callParams)));
+        }
+
+        List<Map<String, Object>> results = mapViewBatchService.executeBatch(calls, empNo);
+        return responseEntityUtil.okBodyEntity(results);
     }
-}
\ No newline at end of file
+}
@@ -2,15 +2,21 @@ package com.boot.cms.controller.notice;
 
 import com.boot.cms.config.AppConfig;
 import com.boot.cms.dto.common.ApiResponseDto;
+import com.boot.cms.dto.mapview.ProcedureArgument;
 import com.boot.cms.entity.mapview.MapViewFileEntity;
+import com.boot.cms.service.mapview.MapViewFileDownloadWriter;
 import com.boot.cms.service.mapview.MapViewFileProcessor;
+import com.boot.cms.service.mapview.MapViewPage;
+import com.boot.cms.service.mapview.MapViewPageRequest;
 import com.boot.cms.service.mapview.MapViewProcessor;
+import com.boot.cms.service.mapview.MapViewStreamWriter;
 import com.boot.cms.util.CommonApiResponses;
 import com.boot.cms.util.EscapeUtil;
 import com.boot.cms.util.MapViewParamsUtil;
 import com.boot.cms.util.ResponseEntityUtil;
 import io.jsonwebtoken.Claims;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
@@ -20,7 +26,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.util.*;
 
@@ -33,7 +39,9 @@ public class NoticeController {
 
     private final ResponseEntityUtil responseEntityUtil;
     private final MapViewProcessor mapViewProcessor;
+    private final MapViewStreamWriter mapViewStreamWriter;
     private final MapViewFileProcessor mapViewFileProcessor;
+    private final MapViewFileDownloadWriter mapViewFileDownloadWriter;
     private final EscapeUtil escapeUtil;
     private final MapViewParamsUtil mapViewParamsUtil;
     private final AppConfig.FileConfig fileConfig;
@@ -44,9 +52,10 @@ public class NoticeController {
 
     @CommonApiResponses
     @PostMapping("/list")
-    public ResponseEntity<ApiResponseDto<List<Map<String, Object>>>> noticeList(
+    public ResponseEntity<ApiResponseDto<Object>> noticeList(
             @RequestBody Map<String, Object> request,
-            HttpServletRequest httpRequest
+            HttpServletRequest httpRequest,
+            HttpServletResponse httpResponse
     ) {
         String rptCd = "NOTICE";
         String jobGb = "GET";
@@ -56,20 +65,28 @@ public class NoticeController {
 
         List<String> params = mapViewParamsUtil.getParams(request, escapeUtil);
 
-        List<Map<String, Object>> unescapedResultList;
+        MapViewPageRequest pageRequest = MapViewPageRequest.from(request);
+
+        if (mapViewStreamWriter.isStreamRequested(httpRequest, jobGb)) {
+            mapViewStreamWriter.write(httpRequest, httpResponse, rptCd, params, empNo, jobGb, pageRequest);
+            return null;
+        }
+
+        MapViewPage resultPage;
         try {
-            unescapedResultList = mapViewProcessor.processDynamicView(rptCd, params, empNo, jobGb);
+            resultPage = mapViewProcessor.processDynamicViewPage(rptCd, params, empNo, jobGb,
+                    responseEntityUtil.isColumnarRequested(httpRequest), pageRequest);
         } catch (IllegalArgumentException e) {
-            errorMessage = "/list unescapedResultList = mapViewProcessor.processDynamicView(rptCd, params, empNo, jobGb);";
+            errorMessage = "/list resultPage = mapViewProcessor.processDynamicViewPage(rptCd, params, empNo, jobGb, columnar, pageRequest);";
             logger.error(this.getErrorMessage(), e.getMessage(), e);
             return responseEntityUtil.okBodyEntity(null, "01", e.getMessage());
         }
 
-        if (unescapedResultList.isEmpty()) {
+        if (resultPage.isEmpty()) {
             return responseEntityUtil.okBodyEntity(null, "01", "조회 결과가 없습니다.");
         }
 
-        return responseEntityUtil.okBodyEntity(unescapedResultList);
+        return responseEntityUtil.okBodyEntity(resultPage.getData(), resultPage.getPage());
     }
 
     @CommonApiResponses
@@ -198,20 +215,64 @@ public class NoticeController {
 
         List<String> params = mapViewParamsUtil.getParams(request, escapeUtil);
 
-        List<Map<String, Object>> unescapedResultList;
+        MapViewPageRequest pageRequest = MapViewPageRequest.from(request);
+        // 기본은 기존과 같이 FILEDATA(Base64) 포함, includeFileData=false 이면 메타정보만 조회 (파일 내용은 /filedownload 로 받는다)
+        boolean includeFileData = Boolean.parseBoolean(String.valueOf(request.getOrDefault("includeFileData", "true")));
+
+        MapViewPage resultPage;
         try {
-            unescapedResultList = mapViewFileProcessor.processDynamicView(rptCd, params, empNo, jobGb);
+            resultPage = mapViewFileProcessor.processFileListPage(rptCd, params, empNo, jobGb, pageRequest, includeFileData);
         } catch (IllegalArgumentException e) {
-            errorMessage = "/filelist unescapedResultList = mapViewFileProcessor.processDynamicView(rptCd, params, empNo, jobGb);";
+            errorMessage = "/filelist resultPage = mapViewFileProcessor.processFileListPage(rptCd, params, empNo, jobGb, pageRequest, includeFileData);";
             logger.error(this.getErrorMessage(), e.getMessage(), e);
             return responseEntityUtil.okBodyEntity(null, "01", e.getMessage());
         }
 
-        if (unescapedResultList.isEmpty()) {
+        if (resultPage.isEmpty()) {
             return responseEntityUtil.okBodyEntity(null, "01", "조회 결과가 없습니다.");
         }
 
-        return responseEntityUtil.okBodyEntity(unescapedResultList);
+        return responseEntityUtil.okBodyEntity(resultPage.getRows(), resultPage.getPage());
+    }
+
+    /**
+     * 첨부파일 다운로드 (FILEDATA 를 응답에 바로 기록, ETag/Range 지원)
+     * 첨부파일 저장소 참조(ATTACHMENT_STORE_ENABLED=true)이면 저장소 파일을 필요한 구간만 읽어 전송한다.
+     * LONGBLOB 에 내용이 있는 파일은 드라이버가 결과 행을 받을 때 FILEDATA 전체를 메모리에 올리므로
+     * Range 요청이어도 파일 크기만큼 힙을 사용한다. (Base64/JSON 변환 복사본만 없앤다)
+     */
+    @CommonApiResponses
+    @GetMapping("/filedownload")
+    public ResponseEntity<ApiResponseDto<Object>> downloadFile(
+            @RequestParam("noticeId") String noticeId,
+            @RequestParam("fileId") String fileId,
+            HttpServletRequest httpRequest,
+            HttpServletResponse httpResponse
+    ) {
+        String rptCd = "NOTICEFILEDOWN";
+
+        Claims claims = (Claims) httpRequest.getAttribute("user");
+        String empNo = claims != null && claims.getSubject() != null ? claims.getSubject() : null;
+
+        List<String> params = new ArrayList<>();
+        params.add(escapeUtil.escape(noticeId));
+        params.add(escapeUtil.escape(fileId));
+
+        try {
+            // 성공 시 FILEDATA 를 응답에 바로 기록 (200/206/304/416)
+            if (mapViewFileDownloadWriter.write(httpRequest, httpResponse, rptCd, params, empNo)) {
+                return null;
+            }
+            return responseEntityUtil.okBodyEntity(null, "01", "조회 결과가 없습니다.");
+        } catch (IllegalArgumentException e) {
+            errorMessage = "/filedownload mapViewFileDownloadWriter.write(httpRequest, httpResponse, rptCd, params, empNo);";
+            logger.error(this.getErrorMessage(), e.getMessage(), e);
+            if (httpResponse.isCommitted()) {
+                return null;
+            }
+            httpResponse.reset();
+            return responseEntityUtil.okBodyEntity(null, "01", "File download failed: " + e.getMessage());
+        }
     }
 
     @CommonApiResponses
@@ -242,9 +303,11 @@ public class NoticeController {
         Claims claims = (Claims) httpRequest.getAttribute("user");
         String empNo = claims != null && claims.getSubject() != null ? claims.getSubject() : "admin";
 
-        List<MapViewFileEntity> result = new ArrayList<>();
+        List<InputStream> inputStreams = new ArrayList<>();
         try {
-            // Process each file individually
+            // Collect every file's arguments and process them as one unit (single lookup, single transaction)
+            // If any file fails, every file is rolled back and the whole request returns errCd 01
+            List<List<Object>> paramsList = new ArrayList<>();
             for (MultipartFile file : files) {
                 String fileName = file.getOriginalFilename();
                 if (fileName == null || fileName.trim().isEmpty()) {
@@ -262,43 +325,44 @@ public class NoticeController {
                 params.add(escapeUtil.escape(fileName));
                 params.add(escapeUtil.escape(fileType));
                 params.add(escapeUtil.escape(fileSize));
-                // Stream file content to avoid memory issues
-                ByteArrayOutputStream baos = new ByteArrayOutputStream();
-                try (InputStream inputStream = file.getInputStream()) {
-                    byte[] buffer = new byte[8192];
-                    int bytesRead;
-                    while ((bytesRead = inputStream.read(buffer)) != -1) {
-                        baos.write(buffer, 0, bytesRead);
-                    }
-                }
-                byte[] fileData = baos.toByteArray();
-                if (fileData.length > fileConfig.getMaxFileSize()) {
+                if (file.getSize() > fileConfig.getMaxFileSize()) {
                     throw new IllegalArgumentException("File size exceeds " + (fileConfig.getMaxFileSize() / (1024 * 1024)) + "MB limit");
                 }
-                params.add(fileData); // LONGBLOB data
-                List<MapViewFileEntity> fileResult = mapViewFileProcessor.processFileUpload(rptCd, params, empNo, jobGb);
-
-                result.addAll(fileResult);
-
-                if (result.size() > fileConfig.getMaxResultSize()) {
-                    logger.warn("Result size exceeds limit, truncating");
-                    break;
-                }
+                // Stream file content straight into the LONGBLOB parameter (no byte[] copy)
+                InputStream inputStream = file.getInputStream();
+                inputStreams.add(inputStream);
+                params.add(ProcedureArgument.stream(inputStream, file.getSize(), fileName)); // LONGBLOB data
+                paramsList.add(params);
             }
 
-            if (result.isEmpty()) {
+            if (paramsList.isEmpty()) {
                 return responseEntityUtil.okBodyEntity(null, "01", "No files were processed successfully.");
             }
 
+            List<MapViewFileEntity> result = mapViewFileProcessor.processFileUploadBatch(rptCd, paramsList, empNo, jobGb);
+            for (MapViewFileEntity fileResult : result) {
+                if (!"00".equals(fileResult.getErrCd())) {
+                    return responseEntityUtil.okBodyEntity(result, "01", "File upload failed: " + fileResult.getErrMsg());
+                }
+            }
+
             return responseEntityUtil.okBodyEntity(result);
         } catch (IllegalArgumentException e) {
-            errorMessage = "/filesave fileResult = mapViewFileProcessor.processFileUpload(rptCd, params, empNo, jobGb);";
+            errorMessage = "/filesave result = mapViewFileProcessor.processFileUploadBatch(rptCd, paramsList, empNo, jobGb);";
             logger.error(this.getErrorMessage(), e.getMessage(), e);
             return responseEntityUtil.okBodyEntity(null, "01", "File upload failed: " + e.getMessage());
         } catch (Exception e) {
-            errorMessage = "/filesave fileResult = mapViewFileProcessor.processFileUpload(rptCd, params, empNo, jobGb);";
+            errorMessage = "/filesave result = mapViewFileProcessor.processFileUploadBatch(rptCd, paramsList, empNo, jobGb);";
             logger.error(this.getErrorMessage(), e.getMessage(), e);
             return responseEntityUtil.okBodyEntity(null, "01", "File upload failed: " + e.getMessage());
+        } finally {
+            for (InputStream inputStream : inputStreams) {
+                try {
+                    inputStream.close();
+                } catch (IOException e) {
+                    logger.warn("Failed to close upload stream: {}", e.getMessage());
+                }
+            }
         }
     }
 
@@ -0,0 +1,290 @@
+package com.boot.cms.controller.upload;
+
+import com.boot.cms.config.AppConfig;
+import com.boot.cms.dto.common.ApiResponseDto;
+import com.boot.cms.dto.mapview.ProcedureArgument;
+import com.boot.cms.entity.mapview.MapViewFileEntity;
+import com.boot.cms.service.excelupload.DelimitedTextReader;
+import com.boot.cms.service.excelupload.ExcelUploadJob;
+import com.boot.cms.service.excelupload.ExcelUploadScheduler;
+import com.boot.cms.service.excelupload.ExcelUploadService;
+import com.boot.cms.service.mapview.MapViewFileProcessor;
+import com.boot.cms.service.upload.ChunkedUploadService;
+import com.boot.cms.util.CommonApiResponses;
+import com.boot.cms.util.EscapeUtil;
+import com.boot.cms.util.ResponseEntityUtil;
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+
+/**
+ * 분할(청크) 업로드 API
+ * 1) /init 으로 uploadId 와 청크 크기/개수를 받고
+ * 2) PUT /{uploadId}/{index} 로 각 청크 본문(application/octet-stream)을 순서 없이 병렬로 보내고
+ * 3) /{uploadId}/complete 로 조립된 파일을 대상(NOTICE, TEMPLATE, EXCEL) 처리기에 넘긴다.
+ * 실패한 청크는 /{uploadId}/status 의 missingChunks 를 보고 그 청크만 다시 보낸다.
+ */
+@RestController
+@RequestMapping("api/upload/chunk")
+@RequiredArgsConstructor
+@io.swagger.v3.oas.annotations.tags.Tag(name = "99.공통 > 분할업로드", description = "대용량 파일을 청크 단위로 업로드하는 API")
+public class ChunkedUploadController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChunkedUploadController.class);
+
+    private static final String TARGET_NOTICE = "NOTICE";
+    private static final String TARGET_TEMPLATE = "TEMPLATE";
+    private static final String TARGET_EXCEL = "EXCEL";
+
+    private final AppConfig.FileConfig fileConfig;
+    private final ChunkedUploadService chunkedUploadService;
+    private final MapViewFileProcessor mapViewFileProcessor;
+    private final ExcelUploadService excelUploadService;
+    private final ExcelUploadScheduler excelUploadScheduler;
+    private final EscapeUtil escapeUtil;
+    private final ResponseEntityUtil responseEntityUtil;
+
+    @Setter
+    @Getter
+    String errorMessage;
+
+    /**
+     * 업로드 시작
+     * request: {target, fileName, totalSize, ...대상별 값}
+     * NOTICE: gubun, noticeId, fileId / TEMPLATE: gubun, title, fileId / EXCEL: rptCd[, delimiter] (fileName 이 .csv/.tsv/.txt 이면 텍스트)
+     * 첨부파일(NOTICE, TEMPLATE)은 /filesave, /fileupload 와 같은 필수값과 MAX_FILE_SIZE 를 시작 시 확인해 청크를 받기 전에 거절한다.
+     */
+    @CommonApiResponses
+    @PostMapping("/init")
+    public ResponseEntity<ApiResponseDto<Map<String, Object>>> init(
+            @RequestBody Map<String, Object> request,
+            HttpServletRequest httpRequest
+    ) {
+        String target = String.valueOf(request.getOrDefault("target", "")).toUpperCase();
+        if (!TARGET_NOTICE.equals(target) && !TARGET_TEMPLATE.equals(target) && !TARGET_EXCEL.equals(target)) {
+            return responseEntityUtil.okBodyEntity(null, "01", "target 은 NOTICE, TEMPLATE, EXCEL 중 하나여야 합니다.");
+        }
+
+        Map<String, String> attributes = new LinkedHashMap<>();
+        request.forEach((key, value) -> attributes.put(key, value == null ? "" : String.valueOf(value)));
+        attributes.put("target", target);
+
+        try {
+            long totalSize = Long.parseLong(attributes.getOrDefault("totalSize", "0"));
+            String invalid = validateTarget(target, attributes, totalSize);
+            if (invalid != null) {
+                return responseEntityUtil.okBodyEntity(null, "01", invalid);
+            }
+            ChunkedUploadService.UploadSession session = chunkedUploadService.init(
+                    getEmpNo(httpRequest), attributes.get("fileName"), totalSize, attributes);
+            return responseEntityUtil.okBodyEntity(session.toStatus());
+        } catch (NumberFormatException e) {
+            return responseEntityUtil.okBodyEntity(null, "01", "totalSize 가 올바르지 않습니다.");
+        } catch (IllegalArgumentException | IOException e) {
+            errorMessage = "/init chunkedUploadService.init(empNo, fileName, totalSize, attributes);";
+            logger.error(this.getErrorMessage(), e.getMessage(), e);
+            return responseEntityUtil.okBodyEntity(null, "01", "Upload init failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 청크 N 기록 (요청 본문을 그대로 임시 파일 위치에 전송)
+     */
+    @CommonApiResponses
+    @PutMapping(value = "/{uploadId}/{index}", consumes = {"application/octet-stream"})
+    public ResponseEntity<ApiResponseDto<Map<String, Object>>> putChunk(
+            @PathVariable("uploadId") String uploadId,
+            @PathVariable("index") int index,
+            HttpServletRequest httpRequest
+    ) {
+        try (InputStream body = httpRequest.getInputStream()) {
+            ChunkedUploadService.UploadSession session = chunkedUploadService.putChunk(uploadId, getEmpNo(httpRequest), index, body);
+            Map<String, Object> responseData = new LinkedHashMap<>();
+            responseData.put("uploadId", uploadId);
+            responseData.put("index", index);
+            responseData.put("receivedCount", session.getReceivedCount());
+            responseData.put("chunkCount", session.getChunkCount());
+            return responseEntityUtil.okBodyEntity(responseData);
+        } catch (IllegalArgumentException | IOException e) {
+            errorMessage = "/{uploadId}/{index} chunkedUploadService.putChunk(uploadId, empNo, index, body);";
+            logger.error(this.getErrorMessage(), e.getMessage(), e);
+            return responseEntityUtil.okBodyEntity(null, "01", "Chunk upload failed: " + e.getMessage());
+        }
+    }
+
+    @CommonApiResponses
+    @PostMapping("/{uploadId}/status")
+    public ResponseEntity<ApiResponseDto<Map<String, Object>>> status(
+            @PathVariable("uploadId") String uploadId,
+            HttpServletRequest httpRequest
+    ) {
+        try {
+            return responseEntityUtil.okBodyEntity(chunkedUploadService.getSession(uploadId, getEmpNo(httpRequest)).toStatus());
+        } catch (IllegalArgumentException e) {
+            return responseEntityUtil.okBodyEntity(null, "01", e.getMessage());
+        }
+    }
+
+    /**
+     * 모든 청크 수신 후 대상 처리기 호출, 처리 결과와 관계없이 임시 파일은 삭제
+     */
+    @CommonApiResponses
+    @PostMapping("/{uploadId}/complete")
+    public ResponseEntity<ApiResponseDto<Object>> complete(
+            @PathVariable("uploadId") String uploadId,
+            HttpServletRequest httpRequest
+    ) {
+        Claims claims = (Claims) httpRequest.getAttribute("user");
+        String empNo = getEmpNo(httpRequest);
+
+        ChunkedUploadService.UploadSession session;
+        try {
+            session = chunkedUploadService.complete(uploadId, empNo);
+        } catch (IllegalArgumentException e) {
+            return responseEntityUtil.okBodyEntity(null, "01", e.getMessage());
+        }
+
+        try {
+            String target = session.getAttributes().get("target");
+            if (TARGET_EXCEL.equals(target)) {
+                String empNm = claims != null && claims.get("empNm", String.class) != null ? claims.get("empNm", String.class) : "";
+                return completeExcel(session, empNo, empNm);
+            }
+            return completeAttachment(session, target, empNo);
+        } catch (Exception e) {
+            errorMessage = "/{uploadId}/complete target processing failed: " + uploadId;
+            logger.error(this.getErrorMessage(), e.getMessage(), e);
+            return responseEntityUtil.okBodyEntity(null, "01", "File upload failed: " + e.getMessage());
+        } finally {
+            session.delete();
+        }
+    }
+
+    /**
+     * 공지사항/엑셀템플릿 첨부파일: 기존 /filesave, /fileupload 와 같은 프로시저 인자로 조립된 파일을 스트림 바인딩
+     */
+    private ResponseEntity<ApiResponseDto<Object>> completeAttachment(ChunkedUploadService.UploadSession session,
+                                                                      String target, String empNo) throws IOException {
+        Map<String, String> attributes = session.getAttributes();
+        String fileName = session.getFileName();
+        String fileType = fileName.substring(fileName.lastIndexOf(".") + 1);
+
+        String rptCd = TARGET_NOTICE.equals(target) ? "NOTICEFILETRAN" : "EXCELUPLOADTEMPFILETRAN";
+        String jobGb = "SET";
+
+        List<Object> params = new ArrayList<>();
+        params.add(escapeUtil.escape(attributes.getOrDefault("gubun", "I")));
+        params.add(escapeUtil.escape(attributes.getOrDefault("fileId", "")));
+        params.add(escapeUtil.escape(TARGET_NOTICE.equals(target) ? attributes.getOrDefault("noticeId", "") : attributes.getOrDefault("title", "")));
+        params.add(escapeUtil.escape(empNo));
+        params.add(escapeUtil.escape(fileName));
+        params.add(escapeUtil.escape(fileType));
+        params.add(escapeUtil.escape(String.valueOf(session.getTotalSize())));
+
+        List<MapViewFileEntity> result;
+        try (InputStream inputStream = Files.newInputStream(session.getFile())) {
+            params.add(ProcedureArgument.stream(inputStream, session.getTotalSize(), fileName)); // LONGBLOB data
+            result = mapViewFileProcessor.processFileUpload(rptCd, params, empNo, jobGb);
+        }
+
+        if (result.isEmpty()) {
+            return responseEntityUtil.okBodyEntity(null, "01", "No files were processed successfully.");
+        }
+        return responseEntityUtil.okBodyEntity(result);
+    }
+
+    /**
+     * 엑셀 업로드: /api/excelupload/save 와 같이 XLSX 또는 CSV/TSV 파일을 업로드 스케줄러 대기열에 등록한다.
+     */
+    private ResponseEntity<ApiResponseDto<Object>> completeExcel(ChunkedUploadService.UploadSession session,
+                                                                 String empNo, String empNm) {
+        String rptCd = session.getAttributes().get("rptCd");
+        if (rptCd == null || rptCd.trim().isEmpty()) {
+            return responseEntityUtil.okBodyEntity(null, "01", "업로드 키코드(rptCd)가 필요합니다.");
+        }
+
+        Character textDelimiter;
+        try {
+            textDelimiter = DelimitedTextReader.resolveDelimiter(session.getFileName(), session.getAttributes().get("delimiter"));
+        } catch (IllegalArgumentException e) {
+            return responseEntityUtil.okBodyEntity(null, "01", e.getMessage());
+        }
+
+        // 조립된 파일을 엑셀 업로드 임시 디렉터리로 옮긴다 (세션 정리 시 삭제되지 않고, 재시작 시 스케줄러가 정리)
+        Path tempFile;
+        try {
+            if (textDelimiter != null) {
+                excelUploadService.validateTextFile(session.getFile());
+            } else {
+                excelUploadService.validateExcelFile(session.getFile());
+            }
+            tempFile = Files.move(session.getFile(), excelUploadScheduler.createUploadFile(textDelimiter != null ? ".txt" : ".xlsx"),
+                    StandardCopyOption.REPLACE_EXISTING);
+        } catch (IllegalArgumentException | IOException e) {
+            errorMessage = textDelimiter != null ? "유효하지 않은 텍스트 파일 형식입니다." : "유효하지 않은 엑셀 파일 형식입니다.";
+            logger.error(errorMessage, e.getMessage(), e);
+            return responseEntityUtil.okBodyEntity(null, "01", errorMessage);
+        }
+
+        ExcelUploadJob job;
+        try {
+            job = excelUploadScheduler.submit(rptCd, tempFile, textDelimiter, empNo, empNm, 0);
+        } catch (Exception e) {
+            errorMessage = e instanceof IllegalArgumentException ? e.getMessage() : "비동기 엑셀 업로드 처리 중 오류: " + rptCd;
+            logger.error(errorMessage, e.getMessage(), e);
+            // 작업이 넘어가지 못한 경우만 여기서 삭제 (정상 등록 시 스케줄러에서 삭제)
+            try {
+                Files.deleteIfExists(tempFile);
+            } catch (IOException ex) {
+                logger.error("엑셀 임시 파일 삭제 실패: {}", tempFile, ex);
+            }
+            return responseEntityUtil.okBodyEntity(null, "01", errorMessage);
+        }
+
+        Map<String, Object> responseData = new HashMap<>();
+        responseData.put("success", true);
+        responseData.put("message", "파일은 정상적으로 등록되었습니다.");
+        responseData.put("uploadKey", job.getUploadKey());
+        responseData.put("status", job.getStatus());
+        return responseEntityUtil.okBodyEntity(responseData);
+    }
+
+    /**
+     * 대상별 필수값/크기 확인 (오류 메시지, 정상이면 null)
+     */
+    private String validateTarget(String target, Map<String, String> attributes, long totalSize) {
+        if (TARGET_EXCEL.equals(target)) {
+            return isBlank(attributes.get("rptCd")) ? "업로드 키코드(rptCd)가 필요합니다." : null;
+        }
+        String owner = TARGET_NOTICE.equals(target) ? attributes.get("noticeId") : attributes.get("title");
+        if (isBlank(attributes.get("gubun")) || isBlank(owner)) {
+            return "필수파라미터가 잘못되어 있습니다.";
+        }
+        if (totalSize > fileConfig.getMaxFileSize()) {
+            return "파일 크기가 " + (fileConfig.getMaxFileSize() / (1024 * 1024)) + "MB 제한을 초과했습니다.";
+        }
+        return null;
+    }
+
+    private boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+
+    private String getEmpNo(HttpServletRequest httpRequest) {
+        Claims claims = (Claims) httpRequest.getAttribute("user");
+        return claims != null && claims.getSubject() != null ? claims.getSubject() : "admin";
+    }
+}
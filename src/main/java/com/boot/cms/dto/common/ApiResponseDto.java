@@ -1,5 +1,6 @@
 package com.boot.cms.dto.common;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 
@@ -12,4 +13,12 @@ public class ApiResponseDto<T> {
     private String errCd;
     private String errMsg;
 
+    // 페이지 조회인 경우만 포함
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private PageInfoDto page;
+
+    public ApiResponseDto(boolean success, T data, String errCd, String errMsg) {
+        this(success, data, errCd, errMsg, null);
+    }
+
 }
@@ -0,0 +1,86 @@
+package com.boot.cms.dto.common;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 컬럼명은 한 번만 보관하고 행은 Object[] 로 보관하는 조회 결과
+ * JSON 은 {"columns":[...],"rows":[[...],...]} 형태로 직렬화된다.
+ * List&lt;Map&gt; 이 필요한 곳은 toRowMaps 로 명시적으로 변환한다. (행마다 Map 을 새로 만든다)
+ */
+@JsonSerialize(using = ColumnarResultSerializer.class)
+public class ColumnarResult {
+
+    private List<String> columns = Collections.emptyList();
+    private Map<String, Integer> columnIndex = Collections.emptyMap();
+    private final List<Object[]> rows = new ArrayList<>();
+
+    public void setColumns(List<String> columnNames) {
+        Map<String, Integer> index = new HashMap<>(columnNames.size() * 2);
+        for (int i = 0; i < columnNames.size(); i++) {
+            index.put(columnNames.get(i), i);
+        }
+        this.columns = Collections.unmodifiableList(new ArrayList<>(columnNames));
+        this.columnIndex = index;
+    }
+
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    public List<Object[]> getRows() {
+        return Collections.unmodifiableList(rows);
+    }
+
+    public void addRow(Object[] values) {
+        rows.add(values);
+    }
+
+    /**
+     * 행마다 수정 가능한 LinkedHashMap 으로 복사 (기존 List&lt;Map&gt; 결과와 동일한 형태)
+     */
+    public List<Map<String, Object>> toRowMaps() {
+        List<Map<String, Object>> rowMaps = new ArrayList<>(rows.size());
+        for (Object[] values : rows) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (int i = 0; i < columns.size(); i++) {
+                row.put(columns.get(i), values[i]);
+            }
+            rowMaps.add(row);
+        }
+        return rowMaps;
+    }
+
+    /**
+     * [from, to) 행만 갖는 새 결과 (컬럼과 행 배열은 공유)
+     */
+    public ColumnarResult slice(int from, int to) {
+        ColumnarResult sliced = new ColumnarResult();
+        sliced.columns = columns;
+        sliced.columnIndex = columnIndex;
+        sliced.rows.addAll(rows.subList(from, to));
+        return sliced;
+    }
+
+    /**
+     * row 번째 행의 column 값 (없는 컬럼이면 null)
+     */
+    public Object getValue(int row, String column) {
+        Integer i = columnIndex.get(column);
+        return i == null ? null : rows.get(row)[i];
+    }
+
+    public int size() {
+        return rows.size();
+    }
+
+    public boolean isEmpty() {
+        return rows.isEmpty();
+    }
+}
@@ -0,0 +1,39 @@
+package com.boot.cms.dto.common;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * ColumnarResult 를 {"columns":[...],"rows":[[...],...]} 로 직렬화
+ * 행 값은 ObjectMapper 설정(날짜 형식 등)을 그대로 따른다.
+ */
+public class ColumnarResultSerializer extends StdSerializer<ColumnarResult> {
+
+    public ColumnarResultSerializer() {
+        super(ColumnarResult.class);
+    }
+
+    @Override
+    public void serialize(ColumnarResult value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject();
+        gen.writeArrayFieldStart("columns");
+        for (String column : value.getColumns()) {
+            gen.writeString(column);
+        }
+        gen.writeEndArray();
+
+        gen.writeArrayFieldStart("rows");
+        for (Object[] row : value.getRows()) {
+            gen.writeStartArray();
+            for (Object cell : row) {
+                provider.defaultSerializeValue(cell, gen);
+            }
+            gen.writeEndArray();
+        }
+        gen.writeEndArray();
+        gen.writeEndObject();
+    }
+}
@@ -0,0 +1,19 @@
+package com.boot.cms.dto.common;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * 키셋 페이지 정보, 다음 페이지 요청 시 nextCursor 를 cursor 로 그대로 전달한다.
+ */
+@Data
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PageInfoDto {
+
+    private int pageSize;
+    private boolean hasNext;
+    private String nextCursor;
+
+}
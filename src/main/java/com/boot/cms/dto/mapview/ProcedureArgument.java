@@ -0,0 +1,120 @@
+package com.boot.cms.dto.mapview;
+
+import lombok.Getter;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.sql.CallableStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+
+/**
+ * 프로시저 호출 인자 (순서는 ProcedureInvocation 의 목록 순서)
+ * 문자열은 setString, 바이너리는 setBinaryStream 으로 그대로 바인딩한다.
+ * 스트림 인자는 길이를 알고 있는 InputStream 을 byte[] 로 복사하지 않고 실행 시 드라이버가 직접 읽어 전송한다.
+ * (스트림은 호출한 쪽에서 닫으며, 한 번만 실행할 수 있다)
+ * fileName 은 첨부파일 저장소의 압축 정책(확장자) 판단용이며 바인딩에는 쓰지 않는다.
+ */
+@Getter
+public class ProcedureArgument {
+
+    public enum Type {
+        STRING,
+        BINARY,
+        STREAM
+    }
+
+    private final Type type;
+    private final String stringValue;
+    private final byte[] binaryValue;
+    private final InputStream streamValue;
+    private final long streamLength;
+    private final String fileName;
+
+    private ProcedureArgument(Type type, String stringValue, byte[] binaryValue, InputStream streamValue, long streamLength,
+                              String fileName) {
+        this.type = type;
+        this.stringValue = stringValue;
+        this.binaryValue = binaryValue;
+        this.streamValue = streamValue;
+        this.streamLength = streamLength;
+        this.fileName = fileName;
+    }
+
+    public static ProcedureArgument string(String value) {
+        return new ProcedureArgument(Type.STRING, value, null, null, -1, null);
+    }
+
+    public static ProcedureArgument binary(byte[] value) {
+        return new ProcedureArgument(Type.BINARY, null, value == null ? new byte[0] : value, null, -1, null);
+    }
+
+    /**
+     * 길이를 알고 있는 스트림 인자 (업로드 파일 등)
+     * @param length 스트림에서 읽을 바이트 수
+     */
+    public static ProcedureArgument stream(InputStream value, long length) {
+        return stream(value, length, null);
+    }
+
+    /**
+     * 파일명을 함께 넘기는 스트림 인자 (확장자로 압축 여부를 정한다)
+     */
+    public static ProcedureArgument stream(InputStream value, long length, String fileName) {
+        if (value == null || length < 0) {
+            throw new IllegalArgumentException("Invalid stream argument: length=" + length);
+        }
+        return new ProcedureArgument(Type.STREAM, null, null, value, length, fileName);
+    }
+
+    public boolean isBinaryData() {
+        return type == Type.BINARY || type == Type.STREAM;
+    }
+
+    /**
+     * 바이너리/스트림 인자의 바이트 수 (문자열 인자는 -1)
+     */
+    public long getLength() {
+        switch (type) {
+            case BINARY:
+                return binaryValue.length;
+            case STREAM:
+                return streamLength;
+            default:
+                return -1;
+        }
+    }
+
+    void bind(CallableStatement stmt, int index) throws SQLException {
+        switch (type) {
+            case BINARY:
+                stmt.setBinaryStream(index, new ByteArrayInputStream(binaryValue), binaryValue.length);
+                break;
+            case STREAM:
+                stmt.setBinaryStream(index, streamValue, streamLength);
+                break;
+            case STRING:
+            default:
+                if (stringValue == null) {
+                    stmt.setNull(index, Types.VARCHAR);
+                } else {
+                    stmt.setString(index, stringValue);
+                }
+        }
+    }
+
+    /**
+     * 로그 및 UP_MAPVIEW(FILES)_SELECT 파라미터 표기용 값 (바이너리/스트림은 "DATA")
+     */
+    public String toDisplayValue() {
+        return isBinaryData() ? "DATA" : stringValue;
+    }
+
+    @Override
+    public String toString() {
+        if (!isBinaryData()) {
+            return "'" + stringValue + "'";
+        }
+        return "[" + getLength() + " bytes]";
+    }
+}
@@ -0,0 +1,65 @@
+package com.boot.cms.dto.mapview;
+
+import lombok.Getter;
+
+import java.sql.CallableStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * UP_MAPVIEW(FILES)_SELECT 로 조회한 프로시저명과 순서가 있는 인자 목록
+ * 호출 문자열을 만들어 다시 파싱하지 않고 CallableStatement 에 바로 바인딩한다.
+ */
+@Getter
+public class ProcedureInvocation {
+
+    private final String procedureName;
+    private final List<ProcedureArgument> arguments;
+
+    public ProcedureInvocation(String procedureName, List<ProcedureArgument> arguments) {
+        if (procedureName == null || !procedureName.matches("[A-Za-z0-9_.]+")) {
+            throw new IllegalArgumentException("Invalid procedure name: " + procedureName);
+        }
+        this.procedureName = procedureName;
+        this.arguments = Collections.unmodifiableList(new ArrayList<>(arguments));
+    }
+
+    /**
+     * 문자열 인자만으로 구성된 호출 생성
+     */
+    public static ProcedureInvocation ofStrings(String procedureName, List<String> params) {
+        List<ProcedureArgument> arguments = new ArrayList<>(params.size());
+        for (String param : params) {
+            arguments.add(ProcedureArgument.string(param));
+        }
+        return new ProcedureInvocation(procedureName, arguments);
+    }
+
+    /**
+     * 뒤에 인자를 덧붙인 새 호출 (키셋 페이지 인자 등)
+     */
+    public ProcedureInvocation withAppendedArguments(List<ProcedureArgument> extraArguments) {
+        List<ProcedureArgument> combined = new ArrayList<>(arguments.size() + extraArguments.size());
+        combined.addAll(arguments);
+        combined.addAll(extraArguments);
+        return new ProcedureInvocation(procedureName, combined);
+    }
+
+    public String getCallString() {
+        return "{call " + procedureName + "(" + String.join(",", Collections.nCopies(arguments.size(), "?")) + ")}";
+    }
+
+    public void bind(CallableStatement stmt) throws SQLException {
+        for (int i = 0; i < arguments.size(); i++) {
+            arguments.get(i).bind(stmt, i + 1);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return procedureName + "(" + arguments.stream().map(ProcedureArgument::toString).collect(Collectors.joining(", ")) + ")";
+    }
+}
@@ -10,4 +10,6 @@ public class ExcelUploadTableInfoEntity {
     int colCnt;
     String useYn;
     String delYn;
+    String loadMode;
+    String swapYn;
 }
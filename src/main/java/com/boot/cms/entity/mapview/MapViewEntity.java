@@ -1,5 +1,6 @@
 package com.boot.cms.entity.mapview;
 
+import com.boot.cms.dto.mapview.ProcedureInvocation;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -30,5 +31,5 @@ public class MapViewEntity {
     private int paramCnt;
 
     @Transient
-    private String dynamicCall; // Transient field for dynamic call string
+    private ProcedureInvocation invocation; // Transient field for typed procedure invocation
 }
\ No newline at end of file
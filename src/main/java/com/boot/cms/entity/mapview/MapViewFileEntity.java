@@ -1,5 +1,6 @@
 package com.boot.cms.entity.mapview;
 
+import com.boot.cms.dto.mapview.ProcedureInvocation;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -13,7 +14,7 @@ import java.util.Objects;
 @Entity
 @Getter
 @Setter
-@JsonIgnoreProperties({"dynamicCall", "hibernateLazyInitializer", "handler"}) // JPA 프록시 및 transient 필드 제외
+@JsonIgnoreProperties({"invocation", "hibernateLazyInitializer", "handler"}) // JPA 프록시 및 transient 필드 제외
 public class MapViewFileEntity {
 
     @Column(name = "ERRCD")
@@ -33,7 +34,7 @@ public class MapViewFileEntity {
     private int paramCnt;
 
     @Transient
-    private String dynamicCall; // Transient field for dynamic call string
+    private ProcedureInvocation invocation; // Transient field for typed procedure invocation
 
     @Override
     public String toString() {
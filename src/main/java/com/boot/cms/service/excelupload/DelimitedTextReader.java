@@ -0,0 +1,332 @@
+package com.boot.cms.service.excelupload;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * CSV/TSV 등 구분자 텍스트 스트리밍 읽기 (POI 없이 한 행씩 전달)
+ * 문자셋은 처음 나오는 ASCII 가 아닌 바이트 부분으로 판단한다. (UTF-8 BOM 또는 UTF-8 로 올바르게 읽히면 UTF-8, 아니면 CP949 - EUC-KR 포함)
+ * 큰따옴표로 감싼 필드 안의 구분자/줄바꿈과 "" (따옴표 escape) 를 지원하고, 행 번호는 엑셀과 같이 0 부터 센다.
+ * 셀 값은 원문 그대로 전달하며 trim/날짜/시간 변환은 파이프라인 변환 단계(ExcelConversionPlan)에서 적용한다.
+ */
+@Component
+public class DelimitedTextReader {
+
+    private static final Logger logger = LoggerFactory.getLogger(DelimitedTextReader.class);
+
+    private static final int SAMPLE_SIZE = 64 * 1024;   // 문자셋/형식 판단용 앞부분 크기
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int ESTIMATE_ROWS = 1000;      // 전체 행 수 추정에 쓰는 앞부분 행 수
+    private static final Charset CP949 = Charset.isSupported("x-windows-949")
+            ? Charset.forName("x-windows-949") : Charset.forName("EUC-KR");
+
+    /**
+     * 파일명 확장자/요청 구분자로 구분자 텍스트 여부와 구분자 결정
+     * @param fileName 원본 파일명
+     * @param delimiter 요청 구분자 (",", ";", "|", "TAB" 또는 "\t", 없으면 확장자 기준)
+     * @return 구분자, XLSX 파일이면 null
+     */
+    public static Character resolveDelimiter(String fileName, String delimiter) {
+        String name = fileName == null ? "" : fileName.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".xlsx") || name.endsWith(".xls")) {
+            return null;
+        }
+        if (delimiter != null && !delimiter.isEmpty()) {
+            if ("TAB".equalsIgnoreCase(delimiter) || "\\t".equals(delimiter) || "\t".equals(delimiter)) {
+                return '\t';
+            }
+            if (delimiter.length() != 1 || delimiter.charAt(0) == '"' || delimiter.charAt(0) == '\r' || delimiter.charAt(0) == '\n') {
+                throw new IllegalArgumentException("구분자(delimiter)가 올바르지 않습니다: " + delimiter);
+            }
+            return delimiter.charAt(0);
+        }
+        if (name.endsWith(".tsv") || name.endsWith(".tab")) {
+            return '\t';
+        }
+        if (name.endsWith(".csv") || name.endsWith(".txt")) {
+            return ',';
+        }
+        return null;
+    }
+
+    /**
+     * 텍스트 파일 여부 확인 (비어 있거나 압축/이진 파일이면 IllegalArgumentException)
+     */
+    public void validate(Path file) {
+        try {
+            byte[] head = readHead(file);
+            if (head.length == 0) {
+                throw new IllegalArgumentException("파일이 비어 있습니다.");
+            }
+            // XLSX(zip) 를 .csv 로 올린 경우 등
+            if (head.length >= 2 && head[0] == 'P' && head[1] == 'K') {
+                throw new IllegalArgumentException("유효하지 않은 텍스트 파일 형식입니다.");
+            }
+            for (byte b : head) {
+                if (b == 0) {
+                    throw new IllegalArgumentException("유효하지 않은 텍스트 파일 형식입니다.");
+                }
+            }
+        } catch (IOException e) {
+            logger.error("텍스트 파일 형식 확인 실패: {}", e.getMessage());
+            throw new IllegalArgumentException("유효하지 않은 텍스트 파일 형식입니다.", e);
+        }
+    }
+
+    /**
+     * 파일의 행을 순서대로 handler 에 전달 (빈 줄은 행 번호만 증가)
+     * @param delimiter 필드 구분자
+     */
+    public void read(Path file, char delimiter, ExcelRowHandler handler) throws IOException {
+        byte[] head = readHead(file);
+        Charset charset;
+        try (InputStream in = Files.newInputStream(file)) {
+            charset = detectCharset(in);
+        }
+        long fileSize = Files.size(file);
+        long startedAt = System.currentTimeMillis();
+
+        // 판단한 문자셋으로 읽을 수 없는 바이트가 있으면 U+FFFD 로 바꿔 저장하지 않고 실패시킨다
+        CharsetDecoder decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+        int rowIndex = 0;
+        try (Reader reader = new InputStreamReader(Files.newInputStream(file), decoder)) {
+            RecordParser parser = new RecordParser(reader, delimiter);
+            int columns = 16;
+            List<String> values;
+            while ((values = parser.next(columns)) != null) {
+                if (!values.isEmpty()) {
+                    columns = Math.max(columns, values.size());
+                    handler.onRow(rowIndex, values);
+                }
+                rowIndex++;
+                // 앞부분 행이 실제로 소비한 문자 수로 전체 행 수 추정 (진행률/ETA 용)
+                if (rowIndex == ESTIMATE_ROWS && parser.getConsumed() > 0) {
+                    double bytesPerChar = bytesPerChar(head, charset);
+                    handler.onSheetSize((int) Math.min(Integer.MAX_VALUE,
+                            fileSize * rowIndex / Math.max(1L, (long) (parser.getConsumed() * bytesPerChar))));
+                }
+            }
+            logger.info("Delimited text read finished: file={}, charset={}, delimiter={}, rows={}, elapsed={}ms",
+                    file.getFileName(), charset.name(), delimiter == '\t' ? "TAB" : String.valueOf(delimiter),
+                    rowIndex, System.currentTimeMillis() - startedAt);
+        } catch (CharacterCodingException e) {
+            throw new IllegalArgumentException("파일을 " + charset.name() + " 문자셋으로 읽을 수 없습니다 (행 " + rowIndex
+                    + " 부근). UTF-8 또는 CP949(EUC-KR)로 저장한 파일을 올려 주세요.", e);
+        }
+    }
+
+    /**
+     * 앞부분 표본의 문자당 평균 바이트 수 (소비한 문자 수를 파일 크기와 비교하기 위한 환산값)
+     */
+    static double bytesPerChar(byte[] head, Charset charset) {
+        int chars = new String(head, charset).length();
+        return chars == 0 ? 1.0 : (double) head.length / chars;
+    }
+
+    /**
+     * 문자셋 판단 (바이트 배열 전체)
+     */
+    static Charset detectCharset(byte[] content) {
+        try {
+            return detectCharset(new ByteArrayInputStream(content));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 문자셋 판단: UTF-8 BOM 이 있으면 UTF-8, 아니면 처음 나오는 ASCII 가 아닌 바이트부터 표본 끝까지가
+     * UTF-8 로 올바르게 읽히면 UTF-8, 아니면 CP949 (모두 ASCII 이면 UTF-8)
+     * 앞부분이 숫자/영문뿐인 CP949 파일도 한글이 나오는 곳에서 판단하도록 ASCII 표본은 건너뛰며 읽는다.
+     */
+    static Charset detectCharset(InputStream in) throws IOException {
+        byte[] sample = in.readNBytes(SAMPLE_SIZE);
+        if (sample.length >= 3 && (sample[0] & 0xFF) == 0xEF && (sample[1] & 0xFF) == 0xBB && (sample[2] & 0xFF) == 0xBF) {
+            return StandardCharsets.UTF_8;
+        }
+        while (sample.length > 0) {
+            int first = firstNonAscii(sample);
+            if (first >= 0) {
+                byte[] window = Arrays.copyOfRange(sample, first, sample.length);
+                boolean endOfInput = sample.length < SAMPLE_SIZE;
+                if (!endOfInput && window.length < 4) {
+                    // 표본 끝에서 잘린 첫 문자는 다음 바이트를 붙여 판단
+                    byte[] more = in.readNBytes(4);
+                    byte[] joined = Arrays.copyOf(window, window.length + more.length);
+                    System.arraycopy(more, 0, joined, window.length, more.length);
+                    window = joined;
+                    endOfInput = more.length < 4;
+                }
+                return isUtf8(window, endOfInput) ? StandardCharsets.UTF_8 : CP949;
+            }
+            sample = in.readNBytes(SAMPLE_SIZE);
+        }
+        return StandardCharsets.UTF_8;
+    }
+
+    private static int firstNonAscii(byte[] bytes) {
+        for (int i = 0; i < bytes.length; i++) {
+            if (bytes[i] < 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isUtf8(byte[] bytes, boolean endOfInput) {
+        CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+        // 표본만 읽었으면 끝에서 잘린 다중 바이트 문자는 오류로 보지 않는다
+        return !decoder.decode(ByteBuffer.wrap(bytes), CharBuffer.allocate(bytes.length), endOfInput).isError();
+    }
+
+    private byte[] readHead(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return in.readNBytes(SAMPLE_SIZE);
+        }
+    }
+
+    /**
+     * 구분자 텍스트 레코드 파서 (큰따옴표 필드 안의 구분자/줄바꿈 포함, "" 는 따옴표 1개)
+     * 닫는 따옴표 뒤의 문자는 버리지 않고 필드에 이어 붙인다.
+     */
+    private static class RecordParser {
+        private final Reader reader;
+        private final char delimiter;
+        private final char[] buffer = new char[BUFFER_SIZE];
+        private int position = 0;
+        private int limit = 0;
+        private boolean first = true;
+        private long consumed = 0;     // 이전 버퍼까지 읽은 문자 수
+        private final StringBuilder field = new StringBuilder();
+
+        RecordParser(Reader reader, char delimiter) {
+            this.reader = reader;
+            this.delimiter = delimiter;
+        }
+
+        /**
+         * 다음 레코드 (빈 줄이면 빈 목록, 파일 끝이면 null)
+         * @param capacity 목록 초기 크기
+         */
+        List<String> next(int capacity) throws IOException {
+            int c = read();
+            if (c < 0) {
+                return null;
+            }
+            List<String> values = new ArrayList<>(capacity);
+            if (c == '\n' || c == '\r') {
+                skipLineFeed(c);
+                return values;
+            }
+
+            boolean quoted = false;
+            while (true) {
+                if (quoted) {
+                    if (c < 0) {
+                        // 닫히지 않은 따옴표: 파일 끝까지를 필드로 본다
+                        values.add(takeField());
+                        return values;
+                    }
+                    if (c == '"') {
+                        int next = peek();
+                        if (next == '"') {
+                            read();
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c < 0 || c == '\n' || c == '\r') {
+                    skipLineFeed(c);
+                    values.add(takeField());
+                    return values;
+                } else if (c == delimiter) {
+                    values.add(takeField());
+                } else if (c == '"' && field.length() == 0) {
+                    quoted = true;
+                } else {
+                    field.append((char) c);
+                }
+                c = read();
+            }
+        }
+
+        private String takeField() {
+            String value = field.toString();
+            field.setLength(0);
+            return value;
+        }
+
+        private void skipLineFeed(int c) throws IOException {
+            if (c == '\r' && peek() == '\n') {
+                read();
+            }
+        }
+
+        private int read() throws IOException {
+            if (position == limit && !fill()) {
+                return -1;
+            }
+            return buffer[position++];
+        }
+
+        private int peek() throws IOException {
+            if (position == limit && !fill()) {
+                return -1;
+            }
+            return buffer[position];
+        }
+
+        /**
+         * 지금까지 파서가 소비한 문자 수
+         */
+        long getConsumed() {
+            return consumed + position;
+        }
+
+        private boolean fill() throws IOException {
+            int count = reader.read(buffer, 0, buffer.length);
+            if (count <= 0) {
+                return false;
+            }
+            consumed += limit;
+            position = 0;
+            limit = count;
+            // UTF-8 BOM 은 값에 넣지 않는다
+            if (first) {
+                first = false;
+                if (buffer[0] == '\uFEFF') {
+                    position = 1;
+                    return limit > 1 || fill();
+                }
+            }
+            return true;
+        }
+    }
+}
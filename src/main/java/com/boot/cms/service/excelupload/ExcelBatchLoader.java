@@ -0,0 +1,191 @@
+package com.boot.cms.service.excelupload;
+
+import com.boot.cms.util.EscapeUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * 엑셀 업로드 대상 테이블 적재기 (업로드 1건당 커넥션 1개)
+ * INSERT INTO 대상 VALUES (NULL, ?, ...) 를 한 번만 준비하고 행마다 addBatch, batchSize 행마다 executeBatch,
+ * commitSize 행마다 커밋한다. (useBulkStmtsForInserts 이면 드라이버가 배치를 bulk 명령 한 번으로 전송)
+ * commitSize 가 0 이면 중간 커밋 없이 commit() 에서 한 번만 커밋한다. (쓰기 스레드가 여러 개인 파이프라인)
+ * 대상 테이블 컬럼 타입을 읽어 숫자/날짜/시간 컬럼은 타입에 맞게 바인딩하고, 문자열 컬럼은 기존과 같이 escape 한 값을 저장한다.
+ */
+public class ExcelBatchLoader implements ExcelRowLoader {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExcelBatchLoader.class);
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final DateTimeFormatter DATE_FORMATTER_DB = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private final String targetTable;
+    private final int colCnt;
+    private final int batchSize;
+    private final int commitSize;
+    private final EscapeUtil escapeUtil;
+    private final boolean emptyAsNull;
+
+    private final Connection conn;
+    private final boolean previousAutoCommit;
+    private final PreparedStatement stmt;
+    private final TargetTableColumns columns;
+
+    private int pendingRows = 0;
+    private int uncommittedRows = 0;
+    private long loadedRows = 0;
+    private final long startedAt = System.currentTimeMillis();
+
+    /**
+     * @param colCnt 엑셀 컬럼 수 (대상 테이블 첫 컬럼은 자동 증가 키로 NULL 을 넣는다)
+     * @param commitSize 중간 커밋 단위 (행 수, 0 이면 중간 커밋 없음)
+     * @param emptyAsNull 빈 셀을 NULL 허용 비문자열 컬럼에 NULL 로 저장 (false 이면 기존과 같이 '')
+     */
+    public ExcelBatchLoader(DataSource dataSource, String targetTable, int colCnt, int batchSize, int commitSize,
+                            EscapeUtil escapeUtil, boolean emptyAsNull) throws SQLException {
+        this.targetTable = targetTable;
+        this.colCnt = colCnt;
+        this.batchSize = Math.max(batchSize, 1);
+        this.commitSize = commitSize > 0 ? Math.max(commitSize, this.batchSize) : 0;
+        this.escapeUtil = escapeUtil;
+        this.emptyAsNull = emptyAsNull;
+
+        conn = dataSource.getConnection();
+        try {
+            previousAutoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            columns = TargetTableColumns.read(conn, targetTable, colCnt);
+            stmt = conn.prepareStatement("INSERT INTO " + targetTable + " VALUES (NULL"
+                    + ",?".repeat(colCnt) + ")");
+        } catch (SQLException | RuntimeException e) {
+            conn.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public void addRow(List<String> values) throws SQLException {
+        for (int i = 0; i < colCnt; i++) {
+            String value = i < values.size() && values.get(i) != null ? values.get(i) : "";
+            bind(i + 1, i, value);
+        }
+        stmt.addBatch();
+        pendingRows++;
+        uncommittedRows++;
+
+        if (pendingRows >= batchSize) {
+            flush();
+        }
+        if (commitSize > 0 && uncommittedRows >= commitSize) {
+            conn.commit();
+            uncommittedRows = 0;
+        }
+    }
+
+    @Override
+    public void endRows() throws SQLException {
+        flush();
+    }
+
+    @Override
+    public long finish() throws SQLException {
+        flush();
+        return loadedRows;
+    }
+
+    @Override
+    public void commit() throws SQLException {
+        conn.commit();
+        uncommittedRows = 0;
+
+        long elapsed = Math.max(System.currentTimeMillis() - startedAt, 1);
+        logger.info("Excel batch load finished: table={}, rows={}, elapsed={}ms, rows/sec={}",
+                targetTable, loadedRows, elapsed, loadedRows * 1000 / elapsed);
+    }
+
+    @Override
+    public void rollback() {
+        try {
+            conn.rollback();
+        } catch (SQLException e) {
+            logger.error("트랜잭션 롤백 실패: table={}", targetTable, e);
+        }
+    }
+
+    public long getLoadedRows() {
+        return loadedRows;
+    }
+
+    private void flush() throws SQLException {
+        if (pendingRows == 0) {
+            return;
+        }
+        stmt.executeBatch();
+        stmt.clearBatch();
+        loadedRows += pendingRows;
+        pendingRows = 0;
+    }
+
+    private void bind(int index, int column, String value) throws SQLException {
+        int type = columns.getType(column);
+        if (value.isEmpty()) {
+            // 빈 값: 기본은 기존과 같이 '' 저장, emptyAsNull 이면 NULL 허용 비문자열 컬럼만 NULL
+            if (emptyAsNull && columns.isNullOnEmpty(column)) {
+                stmt.setNull(index, type);
+            } else {
+                stmt.setString(index, value);
+            }
+            return;
+        }
+
+        try {
+            if (columns.isNumeric(column)) {
+                stmt.setBigDecimal(index, new BigDecimal(value.replace(",", "")));
+                return;
+            }
+            switch (type) {
+                case Types.DATE:
+                    stmt.setObject(index, LocalDate.parse(value, value.length() == 8 ? DATE_FORMATTER_DB : DATE_FORMATTER));
+                    return;
+                case Types.TIME:
+                    stmt.setObject(index, LocalTime.parse(value));
+                    return;
+                default:
+                    break;
+            }
+        } catch (NumberFormatException | DateTimeParseException e) {
+            // 변환할 수 없는 값은 문자열로 넘겨 DB 변환 규칙을 따른다
+            stmt.setString(index, value);
+            return;
+        }
+
+        // 문자열 컬럼: 조회 시 unescape 하므로 기존 저장 형식(escape) 유지
+        stmt.setString(index, columns.isCharacter(column) ? escapeUtil.escape(value) : value);
+    }
+
+    @Override
+    public void close() {
+        try {
+            stmt.close();
+        } catch (SQLException e) {
+            logger.error("데이터베이스 자원 해제 오류", e);
+        }
+        try {
+            conn.setAutoCommit(previousAutoCommit);
+            conn.close();
+        } catch (SQLException e) {
+            logger.error("데이터베이스 자원 해제 오류", e);
+        }
+    }
+}
@@ -0,0 +1,319 @@
+package com.boot.cms.service.excelupload;
+
+import com.boot.cms.util.EscapeUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * 엑셀 업로드 대상 테이블 대량 적재기 (LOAD DATA LOCAL INFILE, 업로드 1건당 커넥션 1개)
+ * 행을 TSV 로 파이프에 쓰고, 별도 스레드에서 같은 파이프를 드라이버의 LOCAL INFILE 입력 스트림으로 넘겨
+ * 임시 파일 없이 서버로 전송한다. 전체가 한 문장이므로 commit 에서 한 번만 커밋한다.
+ * 문자열 escape 규칙은 ExcelBatchLoader 와 같다. (탭/줄바꿈/역슬래시는 역슬래시 escape)
+ * 빈 셀은 NULL 허용 숫자/날짜/시간 컬럼이면 항상 \N 으로 보낸다. LOAD DATA 는 이런 컬럼의 '' 를 경고와 함께 0 등으로 바꾸므로
+ * EXCEL_UPLOAD_EMPTY_AS_NULL 설정(배치 적재기 전용)과 관계없이 적용하며, 문자열/NOT NULL 컬럼은 '' 그대로 보낸다.
+ * LOCAL INFILE 은 IGNORE 로 동작해 잘못된/잘린/중복 행을 경고로만 남기므로, 적재 행 수가 전송 행 수와 다르거나
+ * 경고가 있으면 커밋하지 않고 실패로 처리한다.
+ */
+public class ExcelBulkLoader implements ExcelRowLoader {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExcelBulkLoader.class);
+
+    private static final int PIPE_BUFFER_SIZE = 64 * 1024;
+
+    private final String targetTable;
+    private final int colCnt;
+    private final EscapeUtil escapeUtil;
+
+    private final Connection conn;
+    private final boolean previousAutoCommit;
+    private final Statement stmt;
+    private final TargetTableColumns columns;
+
+    private final Writer writer;
+    private final Thread loadThread;
+    private volatile Throwable loadFailure;
+    private volatile long loadedRows = 0;
+    private volatile int warningCount = 0;
+    private volatile String firstWarning;
+
+    private long writtenRows = 0;
+    private boolean writerClosed = false;
+    private final long startedAt = System.currentTimeMillis();
+
+    /**
+     * @param colCnt 엑셀 컬럼 수 (대상 테이블 첫 컬럼은 자동 증가 키로 컬럼 목록에서 제외)
+     */
+    public ExcelBulkLoader(DataSource dataSource, String targetTable, int colCnt, EscapeUtil escapeUtil) throws SQLException {
+        this.targetTable = targetTable;
+        this.colCnt = colCnt;
+        this.escapeUtil = escapeUtil;
+
+        conn = dataSource.getConnection();
+        try {
+            previousAutoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            columns = TargetTableColumns.read(conn, targetTable, colCnt);
+            stmt = conn.createStatement();
+        } catch (SQLException | RuntimeException e) {
+            conn.close();
+            throw e;
+        }
+
+        try {
+            PipedInputStream in = new PipedInputStream(PIPE_BUFFER_SIZE);
+            writer = new BufferedWriter(new OutputStreamWriter(new PipedOutputStream(in), StandardCharsets.UTF_8),
+                    PIPE_BUFFER_SIZE);
+            stmt.unwrap(org.mariadb.jdbc.Statement.class).setLocalInfileInputStream(in);
+
+            String sql = buildLoadSql();
+            loadThread = new Thread(() -> {
+                try {
+                    loadedRows = stmt.executeUpdate(sql);
+                    logWarnings();
+                } catch (Throwable e) {
+                    loadFailure = e;
+                } finally {
+                    // 적재가 먼저 끝나거나 실패하면 쓰는 쪽이 대기하지 않도록 읽는 쪽을 닫는다
+                    try {
+                        in.close();
+                    } catch (IOException e) {
+                        logger.warn("LOCAL INFILE 스트림 닫기 실패: {}", e.getMessage());
+                    }
+                }
+            }, "excel-bulk-load");
+            loadThread.setDaemon(true);
+            loadThread.start();
+        } catch (IOException | SQLException | RuntimeException e) {
+            close();
+            throw e instanceof SQLException ? (SQLException) e : new SQLException("LOCAL INFILE 준비 실패: " + e.getMessage(), e);
+        }
+    }
+
+    private String buildLoadSql() {
+        StringBuilder columnList = new StringBuilder();
+        for (int i = 0; i < colCnt; i++) {
+            if (i > 0) {
+                columnList.append(',');
+            }
+            columnList.append('`').append(columns.getName(i)).append('`');
+        }
+        return "LOAD DATA LOCAL INFILE 'excel-upload.tsv' INTO TABLE " + targetTable
+                + " CHARACTER SET utf8mb4"
+                + " FIELDS TERMINATED BY '\\t' ESCAPED BY '\\\\' LINES TERMINATED BY '\\n'"
+                + " (" + columnList + ")";
+    }
+
+    @Override
+    public void addRow(List<String> values) throws SQLException {
+        try {
+            for (int i = 0; i < colCnt; i++) {
+                if (i > 0) {
+                    writer.write('\t');
+                }
+                String value = i < values.size() && values.get(i) != null ? values.get(i) : "";
+                writeField(i, value);
+            }
+            writer.write('\n');
+            writtenRows++;
+        } catch (IOException e) {
+            throw loadException("LOCAL INFILE 전송 실패", e);
+        }
+    }
+
+    /**
+     * 파이프를 채운 쓰기 스레드에서 닫는다. (PipedInputStream 은 마지막 쓰기 스레드가 닫지 않고 끝나면
+     * 남은 데이터를 다 읽은 뒤 "Write end dead" 오류를 낸다)
+     */
+    @Override
+    public void endRows() throws SQLException {
+        try {
+            closeWriter();
+        } catch (IOException e) {
+            throw loadException("LOCAL INFILE 전송 실패", e);
+        }
+    }
+
+    @Override
+    public long finish() throws SQLException {
+        try {
+            closeWriter();
+        } catch (IOException e) {
+            throw loadException("LOCAL INFILE 전송 실패", e);
+        }
+        awaitLoad();
+        if (loadFailure != null) {
+            throw loadException("LOCAL INFILE 적재 실패", null);
+        }
+        if (loadedRows != writtenRows || warningCount > 0) {
+            throw new SQLException("LOCAL INFILE 적재 결과 불일치: table=" + targetTable + ", 전송 " + writtenRows
+                    + "행, 적재 " + loadedRows + "행, 경고 " + warningCount + "건"
+                    + (firstWarning != null ? " (" + firstWarning + ")" : ""));
+        }
+        return loadedRows;
+    }
+
+    @Override
+    public void commit() throws SQLException {
+        conn.commit();
+
+        long elapsed = Math.max(System.currentTimeMillis() - startedAt, 1);
+        logger.info("Excel bulk load finished: table={}, rows={}, written={}, elapsed={}ms, rows/sec={}",
+                targetTable, loadedRows, writtenRows, elapsed, loadedRows * 1000 / elapsed);
+    }
+
+    @Override
+    public void rollback() {
+        abortLoad();
+        try {
+            conn.rollback();
+        } catch (SQLException e) {
+            logger.error("트랜잭션 롤백 실패: table={}", targetTable, e);
+        }
+    }
+
+    public long getLoadedRows() {
+        return loadedRows;
+    }
+
+    private void writeField(int column, String value) throws IOException {
+        if (value.isEmpty()) {
+            // 빈 값: NULL 허용 비문자열 컬럼은 \N (숫자/날짜 컬럼의 '' 는 LOAD DATA 경고가 되어 적재 실패), 그 외 ''
+            if (columns.isNullOnEmpty(column)) {
+                writer.write("\\N");
+            }
+            return;
+        }
+
+        if (columns.isNumeric(column)) {
+            value = value.replace(",", "");
+        } else if (columns.isCharacter(column)) {
+            // 문자열 컬럼: 조회 시 unescape 하므로 기존 저장 형식(escape) 유지
+            value = escapeUtil.escape(value);
+        }
+
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\':
+                    writer.write("\\\\");
+                    break;
+                case '\t':
+                    writer.write("\\t");
+                    break;
+                case '\n':
+                    writer.write("\\n");
+                    break;
+                case '\r':
+                    writer.write("\\r");
+                    break;
+                case '\0':
+                    writer.write("\\0");
+                    break;
+                default:
+                    writer.write(c);
+            }
+        }
+    }
+
+    private SQLException loadException(String message, IOException cause) {
+        // 파이프 오류는 대부분 적재 스레드 실패의 결과이므로 적재 오류를 우선 전달
+        awaitLoadBriefly();
+        Throwable failure = loadFailure != null ? loadFailure : cause;
+        if (failure instanceof SQLException) {
+            return (SQLException) failure;
+        }
+        return new SQLException(message + ": " + (failure != null ? failure.getMessage() : targetTable), failure);
+    }
+
+    private void awaitLoadBriefly() {
+        if (loadFailure == null && loadThread != null && loadThread.isAlive()) {
+            try {
+                loadThread.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void awaitLoad() throws SQLException {
+        try {
+            loadThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("LOCAL INFILE 적재 대기 중 인터럽트: " + targetTable, e);
+        }
+    }
+
+    private void closeWriter() throws IOException {
+        if (!writerClosed) {
+            writerClosed = true;
+            writer.close();
+        }
+    }
+
+    private void abortLoad() {
+        try {
+            closeWriter();
+        } catch (IOException e) {
+            logger.warn("LOCAL INFILE 스트림 닫기 실패: {}", e.getMessage());
+        }
+        if (loadThread != null) {
+            try {
+                loadThread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * 경고 수 집계 (로그는 앞 10건만)
+     */
+    private void logWarnings() throws SQLException {
+        SQLWarning warning = stmt.getWarnings();
+        int count = 0;
+        while (warning != null) {
+            if (count == 0) {
+                firstWarning = warning.getMessage();
+            }
+            if (count < 10) {
+                logger.warn("LOCAL INFILE 경고: table={}, {}", targetTable, warning.getMessage());
+            }
+            warning = warning.getNextWarning();
+            count++;
+        }
+        warningCount = count;
+    }
+
+    @Override
+    public void close() {
+        if (writer != null) {
+            abortLoad();
+        }
+        try {
+            stmt.close();
+        } catch (SQLException e) {
+            logger.error("데이터베이스 자원 해제 오류", e);
+        }
+        try {
+            conn.setAutoCommit(previousAutoCommit);
+            conn.close();
+        } catch (SQLException e) {
+            logger.error("데이터베이스 자원 해제 오류", e);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.boot.cms.service.excelupload;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * 엑셀 업로드 열별 셀 변환 계획 (업로드 1건당 1개, 변환 단계 스레드 전용)
+ * 적재 테이블 컬럼 타입(TargetTableColumns)으로 열별 변환기를 정하고, 행을 한 번에 변환하면서 비어 있지 않은 셀 수를 같이 센다.
+ * 문자/숫자 컬럼 변환기는 값 형태가 맞으면 값을 그대로 돌려주고, 맞지 않는 값만 일반 변환(formatStringValue 규칙)으로 넘긴다.
+ * 그대로 돌려주는 형태는 일반 변환 결과도 같으므로 컬럼 타입과 관계없이 변환 결과는 기존과 같다.
+ * 패턴/포맷터는 미리 만들어 두고 셀마다 새로 만들지 않는다.
+ */
+public class ExcelConversionPlan {
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm:ss");
+    private static final DateTimeFormatter SLASH_DATE_PARSER = DateTimeFormatter.ofPattern("yyyy/MM/dd");
+    private static final DateTimeFormatter TIME_SECONDS_PARSER = DateTimeFormatter.ofPattern("H:mm:ss");
+    private static final DateTimeFormatter TIME_MINUTES_PARSER = DateTimeFormatter.ofPattern("H:mm");
+
+    private static final Pattern TIME_PATTERN = Pattern.compile("\\d{1,2}:\\d{2}(:\\d{2})?(\\s*(AM|PM|am|pm))?");
+    private static final Pattern AM_PM_PATTERN = Pattern.compile("\\s*(AM|PM|am|pm)");
+
+    // 값 형태
+    private static final int KIND_PLAIN = 1;   // 문자로 시작하는 일반 문자열
+    private static final int KIND_NUMERIC = 2; // 숫자/쉼표/소수점만 있는 값
+    private static final int KIND_OTHER = 4;   // 날짜/시간/따옴표/공백 등 일반 변환이 필요한 값
+
+    private final int colCnt;
+    private final int[] columnKinds;
+    private int lastDataColumns = 0;
+    private int lastOverflowColumn = 0;
+
+    /**
+     * @param columns 적재 테이블 컬럼 정보 (컬럼 수가 데이터 유무 판단 범위)
+     */
+    public ExcelConversionPlan(TargetTableColumns columns) {
+        this.colCnt = columns.size();
+        this.columnKinds = new int[colCnt];
+        for (int i = 0; i < colCnt; i++) {
+            columnKinds[i] = columns.isCharacter(i) ? KIND_PLAIN : columns.isNumeric(i) ? KIND_NUMERIC : KIND_OTHER;
+        }
+    }
+
+    /**
+     * 한 행의 값을 그 자리에서 변환
+     * @param values 열 순서 셀 값 (변경 가능한 목록)
+     * @return 비어 있지 않은 셀 수 (전체 열)
+     */
+    public int convertRow(List<String> values) {
+        int nonEmpty = 0;
+        int dataColumns = 0;
+        int overflowColumn = 0;
+        for (int i = 0, size = values.size(); i < size; i++) {
+            String value = values.get(i);
+            if (value == null || value.isEmpty()) {
+                if (value == null) {
+                    values.set(i, "");
+                }
+                continue;
+            }
+
+            String converted;
+            if (i < colCnt) {
+                converted = convert(columnKinds[i], value);
+            } else {
+                converted = convert(value);
+            }
+            if (converted != value) {
+                values.set(i, converted);
+            }
+            if (!converted.isEmpty()) {
+                nonEmpty++;
+                if (i < colCnt) {
+                    dataColumns++;
+                } else if (overflowColumn == 0) {
+                    overflowColumn = i + 1;
+                }
+            }
+        }
+        lastDataColumns = dataColumns;
+        lastOverflowColumn = overflowColumn;
+        return nonEmpty;
+    }
+
+    /**
+     * 마지막으로 변환한 행에서 적재 대상 컬럼 중 비어 있지 않은 셀 수
+     */
+    public int getLastDataColumns() {
+        return lastDataColumns;
+    }
+
+    /**
+     * 마지막으로 변환한 행에서 적재 대상 컬럼 밖에 값이 있는 첫 열 번호 (1부터, 없으면 0)
+     */
+    public int getLastOverflowColumn() {
+        return lastOverflowColumn;
+    }
+
+    private String convert(int columnKind, String value) {
+        switch (columnKind) {
+            case KIND_PLAIN:
+                return kindOf(value) == KIND_PLAIN ? value : convert(value);
+            case KIND_NUMERIC:
+                return kindOf(value) == KIND_NUMERIC ? value : convert(value);
+            default:
+                return convert(value);
+        }
+    }
+
+    /**
+     * 일반 변환에서 값이 바뀌지 않는 형태(문자/숫자)인지 판단 (정규식 없이 문자 단위)
+     */
+    private static int kindOf(String value) {
+        int last = value.length() - 1;
+        char first = value.charAt(0);
+        if (first <= ' ' || value.charAt(last) <= ' ' || first == '\'') {
+            return KIND_OTHER;
+        }
+        if (!isDigit(first)) {
+            return last == 0 && first == '-' ? KIND_OTHER : KIND_PLAIN;
+        }
+        for (int i = 1; i <= last; i++) {
+            char c = value.charAt(i);
+            if (!isDigit(c) && c != ',' && c != '.') {
+                return KIND_OTHER;
+            }
+        }
+        return KIND_NUMERIC;
+    }
+
+    /**
+     * 셀 문자열 변환 (trim, 맨 앞 single quote 제거, yyyy/MM/dd → yyyy-MM-dd, 시간 → HH:mm:ss, "-" → "0")
+     */
+    public static String convert(String value) {
+        String strVal = value == null ? "" : value.trim();
+        if (strVal.isEmpty()) {
+            return "";
+        }
+        // 맨 앞 single quote 처리
+        String processedVal = strVal.charAt(0) == '\'' && strVal.length() > 1 ? strVal.substring(1) : strVal;
+
+        if (isDigit(processedVal.charAt(0))) {
+            // 숫자형 (yyyyMMdd) 은 그대로
+            if (processedVal.length() == 8 && isDigits(processedVal, 0, 8)) {
+                return processedVal;
+            }
+            // 날짜 형식 (yyyy/MM/dd)
+            if (isSlashDate(processedVal)) {
+                try {
+                    return LocalDate.parse(processedVal, SLASH_DATE_PARSER).format(DATE_FORMATTER);
+                } catch (DateTimeParseException e) {
+                    return processedVal;
+                }
+            }
+            // 시간 형식 (H:mm, H:mm:ss, H:mm:ss AM/PM)
+            if (processedVal.indexOf(':') > 0 && TIME_PATTERN.matcher(processedVal).matches()) {
+                String cleanedTime = AM_PM_PATTERN.matcher(processedVal).replaceAll("").trim();
+                try {
+                    DateTimeFormatter timeParser = cleanedTime.length() > 5 ? TIME_SECONDS_PARSER : TIME_MINUTES_PARSER;
+                    return LocalTime.parse(cleanedTime, timeParser).format(TIME_FORMATTER);
+                } catch (DateTimeParseException e) {
+                    return cleanedTime;
+                }
+            }
+            return processedVal;
+        }
+        // 비숫자형 (e.g., 이철수2)
+        return processedVal.equals("-") ? "0" : processedVal;
+    }
+
+    private static boolean isSlashDate(String value) {
+        return value.length() == 10 && value.charAt(4) == '/' && value.charAt(7) == '/'
+                && isDigits(value, 0, 4) && isDigits(value, 5, 7) && isDigits(value, 8, 10);
+    }
+
+    private static boolean isDigits(String value, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (!isDigit(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
@@ -0,0 +1,23 @@
+package com.boot.cms.service.excelupload;
+
+import java.util.List;
+
+/**
+ * 엑셀 시트를 한 행씩 받는 처리기 (XLSX SAX/구분자 텍스트 읽기 공통)
+ */
+@FunctionalInterface
+public interface ExcelRowHandler {
+
+    /**
+     * @param rowIndex 0부터 시작하는 행 번호
+     * @param values 열 순서대로 변환된 셀 값 (빈 셀은 "")
+     */
+    void onRow(int rowIndex, List<String> values);
+
+    /**
+     * 읽기 전에 알 수 있는 시트 행 수 (진행률/ETA 용, 알 수 없으면 호출하지 않음)
+     * @param rowCount 마지막 행까지의 행 수 (빈 행 포함)
+     */
+    default void onSheetSize(int rowCount) {
+    }
+}
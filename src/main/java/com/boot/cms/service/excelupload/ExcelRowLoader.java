@@ -0,0 +1,41 @@
+package com.boot.cms.service.excelupload;
+
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * 엑셀 행 적재 방식 (PreparedStatement 배치 / LOAD DATA LOCAL INFILE)
+ */
+public interface ExcelRowLoader extends AutoCloseable {
+
+    /**
+     * 한 행 추가 (values 는 엑셀 열 순서, 부족한 열은 "")
+     */
+    void addRow(List<String> values) throws SQLException;
+
+    /**
+     * 마지막 행 뒤에 addRow 를 호출한 스레드에서 호출: 남은 행 전송 (커밋하지 않음)
+     * LOCAL INFILE 파이프는 채운 스레드가 닫아야 하므로 finish 전에 쓰기 스레드가 먼저 호출한다.
+     */
+    void endRows() throws SQLException;
+
+    /**
+     * 남은 행 적재와 적재 결과 확인 (커밋하지 않음, 실패하면 SQLException)
+     * 파이프라인은 모든 적재기의 finish 가 성공한 뒤에만 commit 한다.
+     * @return 적재한 행 수
+     */
+    long finish() throws SQLException;
+
+    /**
+     * finish 후 커밋
+     */
+    void commit() throws SQLException;
+
+    /**
+     * 커밋하지 않은 행 롤백 (오류 시)
+     */
+    void rollback();
+
+    @Override
+    void close();
+}
@@ -0,0 +1,192 @@
+package com.boot.cms.service.excelupload;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 엑셀 업로드 작업 1건의 상태 (업로드 키, 시각, 우선순위, 처리 행 수, 마지막 SQL, 오류, 취소 요청)
+ * ExcelUploadService 는 싱글톤이므로 업로드별 상태는 모두 이 객체로 전달해 동시 업로드끼리 섞이지 않게 한다.
+ * 처리 행/열 번호는 파이프라인 변환 스레드가 쓰고 통계 조회 스레드가 읽으므로 volatile 로 둔다.
+ */
+public class ExcelUploadJob {
+
+    private static final DateTimeFormatter UPLOAD_KEY_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+    private static final DateTimeFormatter YEAR_MONTH_FORMATTER = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final DateTimeFormatter DATE_FORMATTER_DB = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final int MAX_ERRORS = 20;
+
+    // 마지막으로 발급한 업로드 키의 초
+    private static LocalDateTime lastKeySecond = LocalDateTime.MIN;
+
+    @Getter
+    private final String uploadKey;
+    @Getter
+    private final String rptCd;
+    @Getter
+    private final String empNo;
+    @Getter
+    private final String empNm;
+    @Getter
+    private final LocalDateTime createdAt; // 작업 생성(대기열 등록) 시각, UPLOAD_MON/UPLOADDT 기준
+
+    @Getter
+    private volatile String status = "QUEUED";
+    @Setter
+    @Getter
+    private volatile int priority = 0; // 대기열 우선순위 (큰 값이 먼저 실행)
+    @Getter
+    private volatile boolean cancelRequested = false;
+    private volatile LocalDateTime runningAt;
+    private volatile LocalDateTime finishedAt;
+    @Setter
+    @Getter
+    private volatile String targetTable;
+    @Getter
+    private volatile int rowCount = 0;
+    @Setter
+    @Getter
+    private volatile int currentRowNum = 0; // 오류 추적용 행 번호
+    @Setter
+    @Getter
+    private volatile int currentColNum = 0; // 오류 추적용 열 번호 (모르면 0)
+    @Setter
+    @Getter
+    private volatile String lastSql;
+    @Getter
+    private volatile String errorMessage;
+    private final List<String> errors = new ArrayList<>();
+    @Getter
+    private volatile ExcelUploadPipeline pipeline;
+    @Setter
+    @Getter
+    private volatile boolean resultSaved = false; // tb_exceluploadresult 행 저장 여부
+
+    public ExcelUploadJob(String rptCd, String empNo, String empNm) {
+        this.rptCd = rptCd;
+        this.empNo = empNo;
+        this.empNm = empNm != null ? empNm : "";
+        this.createdAt = LocalDateTime.now();
+        this.uploadKey = nextUploadKey(createdAt);
+    }
+
+    /**
+     * 업로드 키 발급: 생성 시각 yyyyMMddHHmmss (tb_exceluploadresult.UPLOAD_KEY 와 같은 14자리 고정)
+     * 같은 초에 이미 발급했거나 시계가 뒤로 가면 마지막 발급 초의 다음 초를 쓴다. (연속 등록 시 키가 실제 시각보다 앞설 수 있음)
+     * UPLOAD_MON/UPLOADDT 는 키가 아닌 작업 생성 시각 기준이다.
+     */
+    static synchronized String nextUploadKey(LocalDateTime now) {
+        LocalDateTime second = now.truncatedTo(ChronoUnit.SECONDS);
+        lastKeySecond = second.isAfter(lastKeySecond) ? second : lastKeySecond.plusSeconds(1);
+        return lastKeySecond.format(UPLOAD_KEY_FORMATTER);
+    }
+
+    /**
+     * 작업 등록 사용자인지 (업로드 키는 시각이라 추측할 수 있으므로 조회/취소 시 확인)
+     */
+    public boolean isOwnedBy(String empNo) {
+        return this.empNo == null ? empNo == null : this.empNo.equals(empNo);
+    }
+
+    /**
+     * UPLOAD_MON (작업 생성 시각 기준 yyyyMM)
+     */
+    public String getUploadMon() {
+        return createdAt.format(YEAR_MONTH_FORMATTER);
+    }
+
+    /**
+     * UPLOADDT (작업 생성 시각 기준 yyyyMMdd)
+     */
+    public String getUploadDt() {
+        return createdAt.format(DATE_FORMATTER_DB);
+    }
+
+    public void markRunning() {
+        status = "RUNNING";
+        runningAt = LocalDateTime.now();
+    }
+
+    /**
+     * 취소 요청 (실행 중이면 파이프라인을 멈춰 롤백하게 한다)
+     */
+    public void cancel() {
+        cancelRequested = true;
+        ExcelUploadPipeline current = pipeline;
+        if (current != null) {
+            current.cancel();
+        }
+    }
+
+    public void incrementRowCount() {
+        rowCount++;
+    }
+
+    /**
+     * 오류 메시지 기록 (최근 MAX_ERRORS 개 유지)
+     */
+    public void addError(String message) {
+        errorMessage = message;
+        synchronized (errors) {
+            if (errors.size() >= MAX_ERRORS) {
+                errors.remove(0);
+            }
+            errors.add(message);
+        }
+    }
+
+    public void setPipeline(ExcelUploadPipeline pipeline) {
+        this.pipeline = pipeline;
+        // 파이프라인 생성 전에 취소 요청이 들어온 경우
+        if (cancelRequested) {
+            pipeline.cancel();
+        }
+    }
+
+    public boolean isFinished() {
+        return finishedAt != null;
+    }
+
+    public void finish(boolean success) {
+        status = success ? "DONE" : cancelRequested ? "CANCELLED" : "FAILED";
+        finishedAt = LocalDateTime.now();
+    }
+
+    /**
+     * 작업 상태 조회용 (파이프라인 통계 포함)
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("uploadKey", uploadKey);
+        map.put("rptCd", rptCd);
+        map.put("empNo", empNo);
+        map.put("status", status);
+        map.put("priority", priority);
+        map.put("targetTable", targetTable);
+        map.put("queuedAt", createdAt.toString());
+        map.put("startedAt", runningAt != null ? runningAt.toString() : null);
+        map.put("finishedAt", finishedAt != null ? finishedAt.toString() : null);
+        map.put("rowCount", rowCount);
+        map.put("currentRowNum", currentRowNum);
+        ExcelUploadPipeline current = pipeline;
+        map.put("rowsRead", current != null ? current.getReadRows() : 0);
+        map.put("estimatedRows", current != null ? current.getEstimatedRows() : 0);
+        map.put("rowsPerSec", current != null ? current.getRowsPerSec() : 0);
+        map.put("etaSec", current != null ? current.getEtaSeconds() : null);
+        map.put("lastSql", lastSql);
+        synchronized (errors) {
+            map.put("errors", new ArrayList<>(errors));
+        }
+        if (current != null) {
+            map.put("pipeline", current.getStats());
+        }
+        return map;
+    }
+}
@@ -0,0 +1,422 @@
+package com.boot.cms.service.excelupload;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 엑셀 업로드 파이프라인 (읽기 → 변환 → 쓰기)
+ * 읽기: 시트를 읽는 호출 스레드가 행을 chunkSize 단위로 묶어 변환 큐에 넣는다.
+ * 변환: 변환 스레드 1개가 검증/변환 후 쓰기 큐에 넣는다. (행 순서대로 검증하므로 1개)
+ * 쓰기: writerCount 개 스레드가 각자 커넥션(ExcelRowLoader)으로 적재하고, 종료 표시를 받으면 같은 스레드에서 endRows 를 호출한다.
+ * 큐는 크기가 정해져 있어 느린 단계가 앞 단계를 기다리게 하며(backpressure), 처리량은 가장 느린 단계가 결정한다.
+ * 한 단계에서 오류가 나면 나머지 단계도 멈추고 첫 오류를 호출 스레드로 전달한다.
+ * 커밋은 모든 적재기의 finish(남은 행 적재/결과 확인)가 성공한 뒤에 하므로, 한 적재기의 실패가 다른 적재기의 행만
+ * 반영된 상태로 남지 않는다. 쓰기 스레드가 여러 개이면 적재기를 중간 커밋 없이 만들어야 한다. (ExcelUploadService)
+ * 쓰기 스레드가 1개일 때의 배치 적재기 중간 커밋(EXCEL_UPLOAD_COMMIT_SIZE)은 엑셀 앞부분 행부터 차례로 반영된다.
+ * 쓰기 스레드가 2개 이상이면 chunk 가 스레드마다 나뉘어 들어가므로 자동 증가 첫 컬럼 순서는 엑셀 행 순서와 다를 수 있다.
+ * (기본값 EXCEL_UPLOAD_WRITER_THREADS=1)
+ */
+public class ExcelUploadPipeline implements ExcelRowHandler, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExcelUploadPipeline.class);
+
+    private static final long POLL_MILLIS = 100;
+
+    /**
+     * 변환 단계 처리 (검증 후 적재할 값, 건너뛸 행은 null)
+     */
+    @FunctionalInterface
+    public interface RowConverter {
+        List<String> convert(int rowIndex, List<String> values);
+    }
+
+    /**
+     * 쓰기 스레드별 적재기 생성 (적재기마다 커넥션 1개)
+     */
+    @FunctionalInterface
+    public interface LoaderFactory {
+        ExcelRowLoader create() throws SQLException;
+    }
+
+    private record Row(int rowIndex, List<String> values) {
+    }
+
+    // 단계 종료 표시
+    private static final List<Row> END = new ArrayList<>();
+
+    private final String jobName;
+    private final int chunkSize;
+    private final RowConverter converter;
+
+    private final BlockingQueue<List<Row>> convertQueue;
+    private final BlockingQueue<List<Row>> writeQueue;
+    private final List<ExcelRowLoader> loaders = new ArrayList<>();
+    private final List<Thread> writerThreads = new ArrayList<>();
+    private final Thread convertThread;
+
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private volatile boolean aborted = false;
+    private List<Row> readChunk;
+    private boolean drained = false;
+
+    private final Stage readStage = new Stage();
+    private final Stage convertStage = new Stage();
+    private final Stage writeStage = new Stage();
+    private final AtomicLong maxConvertQueueDepth = new AtomicLong();
+    private final AtomicLong maxWriteQueueDepth = new AtomicLong();
+    private final long startedAt = System.currentTimeMillis();
+    private volatile long finishedAt = 0;
+    private volatile String status = "RUNNING";
+    private volatile int estimatedRows = 0;
+
+    /**
+     * @param jobName 로그/통계용 작업 이름
+     * @param writerCount 쓰기 스레드 수 (스레드마다 커넥션 1개)
+     * @param queueCapacity 단계 사이 큐 크기 (chunk 개수)
+     * @param chunkSize 큐에 한 번에 넣는 행 수
+     */
+    public ExcelUploadPipeline(String jobName, int writerCount, int queueCapacity, int chunkSize,
+                               RowConverter converter, LoaderFactory loaderFactory) throws SQLException {
+        this.jobName = jobName;
+        this.chunkSize = Math.max(chunkSize, 1);
+        this.converter = converter;
+        int writers = Math.max(writerCount, 1);
+        this.convertQueue = new ArrayBlockingQueue<>(Math.max(queueCapacity, 1));
+        this.writeQueue = new ArrayBlockingQueue<>(Math.max(queueCapacity, writers));
+        this.readChunk = new ArrayList<>(this.chunkSize);
+
+        // 커넥션 부족 등은 읽기 시작 전에 드러나도록 적재기를 먼저 만든다
+        try {
+            for (int i = 0; i < writers; i++) {
+                loaders.add(loaderFactory.create());
+            }
+        } catch (SQLException | RuntimeException e) {
+            closeLoaders();
+            throw e;
+        }
+
+        convertThread = new Thread(this::runConvert, "excel-pipeline-convert");
+        convertThread.setDaemon(true);
+        for (int i = 0; i < writers; i++) {
+            ExcelRowLoader loader = loaders.get(i);
+            String threadName = "excel-pipeline-writer-" + (i + 1);
+            Thread writer = new Thread(() -> runWrite(loader), threadName);
+            writer.setDaemon(true);
+            writerThreads.add(writer);
+        }
+        convertThread.start();
+        writerThreads.forEach(Thread::start);
+    }
+
+    /**
+     * 읽기 단계: 행을 chunk 로 묶어 변환 큐에 넣음 (큐가 가득 차면 대기)
+     */
+    @Override
+    public void onRow(int rowIndex, List<String> values) {
+        long started = System.nanoTime();
+        readChunk.add(new Row(rowIndex, values));
+        readStage.rows.incrementAndGet();
+        if (readChunk.size() >= chunkSize) {
+            readStage.busyNanos.addAndGet(System.nanoTime() - started);
+            put(convertQueue, readChunk, readStage, maxConvertQueueDepth);
+            readChunk = new ArrayList<>(chunkSize);
+        } else {
+            readStage.busyNanos.addAndGet(System.nanoTime() - started);
+        }
+    }
+
+    /**
+     * 시트 크기 (XLSX dimension / 마지막 행 번호) 로 진행률/ETA 계산
+     */
+    @Override
+    public void onSheetSize(int rowCount) {
+        estimatedRows = rowCount;
+    }
+
+    /**
+     * 읽기 종료: 남은 행을 넘기고 변환/쓰기 단계가 끝날 때까지 대기 (커밋 전)
+     * 어느 단계든 오류가 있으면 첫 오류를 던진다.
+     */
+    public void drain() {
+        if (drained) {
+            return;
+        }
+        drained = true;
+        if (!readChunk.isEmpty()) {
+            put(convertQueue, readChunk, readStage, maxConvertQueueDepth);
+        }
+        put(convertQueue, END, readStage, maxConvertQueueDepth);
+        joinAll();
+        throwIfFailed();
+    }
+
+    /**
+     * 모든 적재기의 적재 완료/결과 확인 후 커밋 (하나라도 실패하면 커밋하지 않고 SQLException, 호출자가 rollback)
+     * @return 적재한 행 수
+     */
+    public long commit() throws SQLException {
+        drain();
+        long loadedRows = 0;
+        for (ExcelRowLoader loader : loaders) {
+            loadedRows += loader.finish();
+        }
+        for (ExcelRowLoader loader : loaders) {
+            loader.commit();
+        }
+        finishedAt = System.currentTimeMillis();
+        status = "DONE";
+        logger.info("Excel pipeline finished: {}", getStats());
+        return loadedRows;
+    }
+
+    /**
+     * 오류 시 모든 단계를 멈추고 커밋하지 않은 행 롤백
+     */
+    public void rollback() {
+        aborted = true;
+        joinAll();
+        loaders.forEach(ExcelRowLoader::rollback);
+        finishedAt = System.currentTimeMillis();
+        status = "FAILED";
+        logger.info("Excel pipeline aborted: {}", getStats());
+    }
+
+    /**
+     * 작업 취소: 모든 단계를 멈추고 읽기/커밋 호출에서 취소 오류를 던지게 한다.
+     */
+    public void cancel() {
+        if (failure.compareAndSet(null, new IllegalArgumentException("업로드가 취소되었습니다: " + jobName))) {
+            logger.info("Excel pipeline cancel requested: job={}", jobName);
+        }
+    }
+
+    public long getReadRows() {
+        return readStage.rows.get();
+    }
+
+    public int getEstimatedRows() {
+        return estimatedRows;
+    }
+
+    /**
+     * 읽기 기준 초당 행 수
+     */
+    public long getRowsPerSec() {
+        long end = finishedAt > 0 ? finishedAt : System.currentTimeMillis();
+        return readStage.rows.get() * 1000 / Math.max(end - startedAt, 1);
+    }
+
+    /**
+     * 남은 예상 시간(초), 시트 크기를 모르거나 아직 속도가 없으면 null
+     */
+    public Long getEtaSeconds() {
+        if (finishedAt > 0) {
+            return 0L;
+        }
+        long rowsPerSec = getRowsPerSec();
+        if (estimatedRows <= 0 || rowsPerSec <= 0) {
+            return null;
+        }
+        return Math.max(estimatedRows - readStage.rows.get(), 0) / rowsPerSec;
+    }
+
+    /**
+     * 단계별 처리 행 수, 처리/대기 시간, 큐 깊이, 초당 행 수
+     */
+    public Map<String, Object> getStats() {
+        long end = finishedAt > 0 ? finishedAt : System.currentTimeMillis();
+        long elapsed = Math.max(end - startedAt, 1);
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("job", jobName);
+        stats.put("status", status);
+        stats.put("writers", loaders.size());
+        stats.put("elapsedMs", elapsed);
+        stats.put("rowsPerSec", getRowsPerSec()); // 작업 상태와 같은 읽기 기준 (쓰기 행 수는 write.rows)
+        stats.put("estimatedRows", estimatedRows);
+        stats.put("etaSec", getEtaSeconds());
+        stats.put("read", readStage.toMap());
+        stats.put("convert", convertStage.toMap());
+        stats.put("write", writeStage.toMap());
+        stats.put("convertQueueDepth", convertQueue.size());
+        stats.put("convertQueueMaxDepth", maxConvertQueueDepth.get());
+        stats.put("writeQueueDepth", writeQueue.size());
+        stats.put("writeQueueMaxDepth", maxWriteQueueDepth.get());
+        return stats;
+    }
+
+    private void runConvert() {
+        List<Row> out = new ArrayList<>(chunkSize);
+        try {
+            while (true) {
+                List<Row> chunk = take(convertQueue, convertStage);
+                if (chunk == null) {
+                    return;
+                }
+                if (chunk == END) {
+                    break;
+                }
+                long started = System.nanoTime();
+                for (Row row : chunk) {
+                    List<String> values = converter.convert(row.rowIndex(), row.values());
+                    if (values != null) {
+                        out.add(new Row(row.rowIndex(), values));
+                    }
+                }
+                convertStage.rows.addAndGet(chunk.size());
+                convertStage.busyNanos.addAndGet(System.nanoTime() - started);
+                if (out.size() >= chunkSize) {
+                    put(writeQueue, out, convertStage, maxWriteQueueDepth);
+                    out = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!out.isEmpty()) {
+                put(writeQueue, out, convertStage, maxWriteQueueDepth);
+            }
+            for (int i = 0; i < writerThreads.size(); i++) {
+                put(writeQueue, END, convertStage, maxWriteQueueDepth);
+            }
+        } catch (Throwable e) {
+            fail(e);
+        }
+    }
+
+    private void runWrite(ExcelRowLoader loader) {
+        try {
+            while (true) {
+                List<Row> chunk = take(writeQueue, writeStage);
+                if (chunk == null) {
+                    return;
+                }
+                if (chunk == END) {
+                    // 남은 행 전송/파이프 닫기는 행을 쓴 이 스레드에서
+                    loader.endRows();
+                    return;
+                }
+                long started = System.nanoTime();
+                for (Row row : chunk) {
+                    loader.addRow(row.values());
+                }
+                writeStage.rows.addAndGet(chunk.size());
+                writeStage.busyNanos.addAndGet(System.nanoTime() - started);
+            }
+        } catch (Throwable e) {
+            fail(e);
+        }
+    }
+
+    private void put(BlockingQueue<List<Row>> queue, List<Row> chunk, Stage stage, AtomicLong maxDepth) {
+        long started = System.nanoTime();
+        try {
+            while (!queue.offer(chunk, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                throwIfStopped();
+            }
+            throwIfStopped();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail(e);
+            throwIfFailed();
+        } finally {
+            stage.waitNanos.addAndGet(System.nanoTime() - started);
+        }
+        maxDepth.accumulateAndGet(queue.size(), Math::max);
+    }
+
+    /**
+     * @return 다음 chunk, 중단되면 null
+     */
+    private List<Row> take(BlockingQueue<List<Row>> queue, Stage stage) throws InterruptedException {
+        long started = System.nanoTime();
+        try {
+            while (!aborted && failure.get() == null) {
+                List<Row> chunk = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (chunk != null) {
+                    return chunk;
+                }
+            }
+            return null;
+        } finally {
+            stage.waitNanos.addAndGet(System.nanoTime() - started);
+        }
+    }
+
+    private void fail(Throwable e) {
+        if (failure.compareAndSet(null, e)) {
+            logger.error("Excel pipeline stage failed: job={}, thread={}", jobName, Thread.currentThread().getName(), e);
+        }
+    }
+
+    private void throwIfStopped() {
+        throwIfFailed();
+        if (aborted) {
+            throw new IllegalArgumentException("엑셀 업로드 파이프라인이 중단되었습니다: " + jobName);
+        }
+    }
+
+    private void throwIfFailed() {
+        Throwable e = failure.get();
+        if (e == null) {
+            return;
+        }
+        if (e instanceof RuntimeException) {
+            throw (RuntimeException) e;
+        }
+        if (e instanceof Error) {
+            throw (Error) e;
+        }
+        throw new IllegalArgumentException("배치 삽입 실패: " + e.getMessage(), e);
+    }
+
+    private void joinAll() {
+        try {
+            convertThread.join();
+            for (Thread writer : writerThreads) {
+                writer.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            aborted = true;
+        }
+    }
+
+    private void closeLoaders() {
+        loaders.forEach(ExcelRowLoader::close);
+    }
+
+    @Override
+    public void close() {
+        if (convertThread != null && (convertThread.isAlive() || writerThreads.stream().anyMatch(Thread::isAlive))) {
+            aborted = true;
+            joinAll();
+        }
+        closeLoaders();
+    }
+
+    /**
+     * 단계별 처리 행 수와 처리/대기 시간
+     */
+    private static class Stage {
+        private final AtomicLong rows = new AtomicLong();
+        private final AtomicLong busyNanos = new AtomicLong();
+        private final AtomicLong waitNanos = new AtomicLong();
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("rows", rows.get());
+            map.put("busyMs", TimeUnit.NANOSECONDS.toMillis(busyNanos.get()));
+            map.put("waitMs", TimeUnit.NANOSECONDS.toMillis(waitNanos.get()));
+            return map;
+        }
+    }
+}
@@ -0,0 +1,322 @@
+package com.boot.cms.service.excelupload;
+
+import com.boot.cms.config.AppConfig;
+import com.boot.cms.entity.excelupload.ExcelUploadTableInfoEntity;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 엑셀 업로드 작업 스케줄러 (동시 실행 수 제한, 대상 테이블별 FIFO, 우선순위, 취소)
+ * 같은 대상 테이블에 적재하는 작업은 TRUNCATE/스왑이 겹치지 않도록 한 번에 하나만 실행하고 도착 순서를 지킨다.
+ * 실행 슬롯이 비면 실행 중이 아닌 테이블의 대기열 맨 앞 작업 중 우선순위가 가장 높은(같으면 먼저 등록된) 작업을 꺼낸다.
+ * 작업 상태는 tb_exceluploadresult.RESULTYN 에 W(대기) → R(처리 중) → Y/N/C(성공/실패/취소) 로 남는다.
+ * 대기열은 메모리에만 있으므로 시작 시 이전 실행의 W/R 행은 실패(N)로 정리하고 업로드 임시 파일 디렉터리를 비운다.
+ */
+@Service
+@RequiredArgsConstructor
+public class ExcelUploadScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExcelUploadScheduler.class);
+
+    private final ExcelUploadService excelUploadService;
+    private final AppConfig.ExcelUploadConfig excelUploadConfig;
+
+    private final Object lock = new Object();
+    // 대상 테이블 → 대기 작업 (도착 순서)
+    private final Map<String, Deque<QueuedJob>> queues = new HashMap<>();
+    // 작업 실행 중인 대상 테이블
+    private final Set<String> runningTables = new HashSet<>();
+    private int queuedCount = 0;
+    private long sequence = 0;
+
+    private ThreadPoolExecutor executor;
+    private Path uploadDir;
+
+    @PostConstruct
+    public void start() throws IOException {
+        uploadDir = Paths.get(System.getProperty("java.io.tmpdir"), "cms-excel-upload");
+        Files.createDirectories(uploadDir);
+        recoverAfterRestart();
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        int threads = excelUploadConfig.getMaxConcurrentJobs();
+        // 실행 슬롯 수만큼만 넘기므로 실행기 큐에는 작업이 쌓이지 않는다
+        executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "excel-upload-worker-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 업로드 임시 파일 생성 (대기/처리 중 파일은 이 디렉터리에만 두어 재시작 시 남은 파일을 정리할 수 있게 한다)
+     * @param suffix 확장자 (.xlsx, .txt)
+     */
+    public Path createUploadFile(String suffix) throws IOException {
+        return Files.createTempFile(uploadDir, "excel-upload-", suffix);
+    }
+
+    /**
+     * 이전 실행에서 끝나지 않은 작업 정리: 결과 테이블 W/R → N, 남은 임시 파일 삭제 (시작 시에는 대기 작업이 없음)
+     */
+    private void recoverAfterRestart() {
+        int abandoned = excelUploadService.abandonUnfinishedResults();
+        int deleted = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(uploadDir)) {
+            for (Path file : files) {
+                deleteFile(file);
+                deleted++;
+            }
+        } catch (IOException e) {
+            logger.error("엑셀 업로드 임시 파일 정리 실패: {}", uploadDir, e);
+        }
+        if (abandoned > 0 || deleted > 0) {
+            logger.warn("Excel upload recovery: abandoned results={}, deleted temp files={}", abandoned, deleted);
+        }
+    }
+
+    /**
+     * 업로드 작업 등록 (업로드 기준 정보/대기열 여유 확인 후 대기 상태로 저장)
+     * @param rptCd 업로드 키코드
+     * @param xlsxFile 업로드된 XLSX 임시 파일 (처리/취소 후 삭제, 등록 실패 시 호출자가 삭제)
+     * @param empNo 사원 번호
+     * @param empNm 사원 이름
+     * @param priority 우선순위 (큰 값이 먼저 실행)
+     * @return 등록된 작업
+     */
+    public ExcelUploadJob submit(String rptCd, Path xlsxFile, String empNo, String empNm, int priority) {
+        return submit(rptCd, xlsxFile, null, empNo, empNm, priority);
+    }
+
+    /**
+     * 업로드 작업 등록 (XLSX 또는 CSV/TSV 텍스트)
+     * @param rptCd 업로드 키코드
+     * @param file 업로드된 임시 파일 (처리/취소 후 삭제, 등록 실패 시 호출자가 삭제)
+     * @param delimiter 텍스트 필드 구분자, XLSX 파일이면 null
+     * @param empNo 사원 번호
+     * @param empNm 사원 이름
+     * @param priority 우선순위 (큰 값이 먼저 실행)
+     * @return 등록된 작업
+     */
+    public ExcelUploadJob submit(String rptCd, Path file, Character delimiter, String empNo, String empNm, int priority) {
+        ExcelUploadJob job = new ExcelUploadJob(rptCd, empNo, empNm);
+        job.setPriority(priority);
+
+        ExcelUploadTableInfoEntity tableInfo = excelUploadService.getExcelUploadTableInfo(job);
+        if (tableInfo == null || !"Y".equals(tableInfo.getUseYn())) {
+            String errorMessage = "유효한 업로드 설정이 없습니다: " + rptCd;
+            logger.error(errorMessage);
+            throw new IllegalArgumentException(errorMessage);
+        }
+        job.setTargetTable(tableInfo.getTargetTable());
+
+        synchronized (lock) {
+            if (queuedCount >= excelUploadConfig.getMaxQueuedJobs()) {
+                String errorMessage = "업로드 대기 작업이 너무 많습니다. 잠시 후 다시 시도해 주세요. (대기 " + queuedCount + "건)";
+                logger.warn(errorMessage + ", rptCd={}", rptCd);
+                throw new IllegalArgumentException(errorMessage);
+            }
+            queues.computeIfAbsent(job.getTargetTable(), table -> new ArrayDeque<>())
+                    .addLast(new QueuedJob(job, job.getTargetTable(), file, delimiter, sequence++));
+            queuedCount++;
+            excelUploadService.registerJob(job);
+        }
+        excelUploadService.saveExcelUploadResult(job, "0", "W", "0", "대기 중");
+        logger.info("Excel upload queued: uploadKey={}, rptCd={}, table={}, priority={}",
+                job.getUploadKey(), rptCd, job.getTargetTable(), priority);
+
+        dispatch();
+        return job;
+    }
+
+    /**
+     * 업로드 작업 취소 (대기 중이면 대기열에서 제거, 실행 중이면 파이프라인을 멈추고 롤백)
+     * @param uploadKey 업로드 키
+     * @param empNo 요청 사원 번호 (작업 등록 사용자만 취소)
+     * @return 취소 요청 여부 (작업이 없거나, 다른 사용자의 작업이거나, 이미 끝났으면 false)
+     */
+    public boolean cancel(String uploadKey, String empNo) {
+        ExcelUploadJob job = excelUploadService.getUploadJob(uploadKey, empNo);
+        if (job == null || job.isFinished()) {
+            return false;
+        }
+
+        QueuedJob removed = null;
+        synchronized (lock) {
+            for (Deque<QueuedJob> queue : queues.values()) {
+                Iterator<QueuedJob> iterator = queue.iterator();
+                while (iterator.hasNext()) {
+                    QueuedJob queued = iterator.next();
+                    if (queued.job == job) {
+                        iterator.remove();
+                        queuedCount--;
+                        removed = queued;
+                        break;
+                    }
+                }
+                if (removed != null) {
+                    break;
+                }
+            }
+        }
+
+        if (removed != null) {
+            removed.job.cancel();
+            excelUploadService.recordCancelled(removed.job);
+            deleteFile(removed.file);
+            return true;
+        }
+
+        logger.info("Excel upload cancel requested: uploadKey={}", uploadKey);
+        job.cancel();
+        return true;
+    }
+
+    /**
+     * 업로드 작업 상태 (처리 행 수, 초당 행 수, 남은 시간, 대기 순번)
+     * @param uploadKey 업로드 키
+     * @param empNo 요청 사원 번호 (작업 등록 사용자만 조회)
+     * @return 작업 상태, 없거나 다른 사용자의 작업이면 null
+     */
+    public Map<String, Object> getStatus(String uploadKey, String empNo) {
+        ExcelUploadJob job = excelUploadService.getUploadJob(uploadKey, empNo);
+        if (job == null) {
+            return null;
+        }
+        Map<String, Object> status = new LinkedHashMap<>(job.toMap());
+        status.put("queuePosition", getQueuePosition(job));
+        return status;
+    }
+
+    /**
+     * 대상 테이블 대기열에서의 순번 (1부터, 대기 중이 아니면 0)
+     */
+    private int getQueuePosition(ExcelUploadJob job) {
+        synchronized (lock) {
+            Deque<QueuedJob> queue = queues.get(job.getTargetTable());
+            if (queue == null) {
+                return 0;
+            }
+            int position = 0;
+            for (QueuedJob queued : queue) {
+                position++;
+                if (queued.job == job) {
+                    return position;
+                }
+            }
+            return 0;
+        }
+    }
+
+    /**
+     * 빈 실행 슬롯만큼 대기 작업 실행
+     */
+    private void dispatch() {
+        synchronized (lock) {
+            while (runningTables.size() < excelUploadConfig.getMaxConcurrentJobs()) {
+                QueuedJob next = null;
+                for (Map.Entry<String, Deque<QueuedJob>> entry : queues.entrySet()) {
+                    if (runningTables.contains(entry.getKey()) || entry.getValue().isEmpty()) {
+                        continue;
+                    }
+                    QueuedJob head = entry.getValue().peekFirst();
+                    if (next == null || head.job.getPriority() > next.job.getPriority()
+                            || (head.job.getPriority() == next.job.getPriority() && head.sequence < next.sequence)) {
+                        next = head;
+                    }
+                }
+                if (next == null) {
+                    return;
+                }
+
+                String targetTable = next.targetTable;
+                Deque<QueuedJob> queue = queues.get(targetTable);
+                queue.pollFirst();
+                if (queue.isEmpty()) {
+                    queues.remove(targetTable);
+                }
+                queuedCount--;
+                runningTables.add(targetTable);
+
+                QueuedJob queued = next;
+                executor.execute(() -> run(queued));
+            }
+        }
+    }
+
+    private void run(QueuedJob queued) {
+        ExcelUploadJob job = queued.job;
+        try {
+            if (queued.delimiter != null) {
+                excelUploadService.textUpload(job, queued.file, queued.delimiter);
+            } else {
+                excelUploadService.excelUpload(job, queued.file);
+            }
+        } catch (Exception e) {
+            if (job.isCancelRequested()) {
+                excelUploadService.recordCancelled(job);
+            } else {
+                excelUploadService.recordFailure(job, e);
+            }
+        } finally {
+            deleteFile(queued.file);
+            synchronized (lock) {
+                runningTables.remove(queued.targetTable);
+            }
+            dispatch();
+        }
+    }
+
+    private void deleteFile(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.error("엑셀 임시 파일 삭제 실패: {}", file, e);
+        }
+    }
+
+    private static class QueuedJob {
+        private final ExcelUploadJob job;
+        private final String targetTable; // 등록 시점 대상 테이블 (실행 중 설정이 바뀌어도 같은 키로 해제)
+        private final Path file;
+        private final Character delimiter; // 텍스트 필드 구분자 (XLSX 는 null)
+        private final long sequence;
+
+        private QueuedJob(ExcelUploadJob job, String targetTable, Path file, Character delimiter, long sequence) {
+            this.job = job;
+            this.targetTable = targetTable;
+            this.file = file;
+            this.delimiter = delimiter;
+            this.sequence = sequence;
+        }
+    }
+}
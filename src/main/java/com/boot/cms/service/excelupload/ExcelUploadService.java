@@ -2,115 +2,379 @@ package com.boot.cms.service.excelupload;
 
 import com.boot.cms.config.AppConfig;
 import com.boot.cms.entity.excelupload.ExcelUploadTableInfoEntity;
-import org.apache.poi.ss.usermodel.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import lombok.RequiredArgsConstructor;
 
 import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.sql.*;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
 import com.boot.cms.util.EscapeUtil;
-import org.apache.poi.ss.usermodel.DataFormatter;
 import org.springframework.beans.factory.annotation.Autowired;
 
 /**
  * 엑셀 업로드 서비스 클래스
  * tb_exceluploadtableinfo 테이블에서 업로드 기준 정보를 가져와 엑셀 파일을 처리하고,
- * 동적으로 INSERT 쿼리를 생성하여 대상 테이블에 데이터를 삽입
+ * ExcelBatchLoader(PreparedStatement 배치) 또는 LOADMODE=BULK 이면 ExcelBulkLoader(LOAD DATA LOCAL INFILE)로
+ * 대상 테이블에 데이터를 삽입
+ * XLSX 파일은 XlsxStreamingReader(SAX)로 한 행씩 읽어 Workbook 을 메모리에 만들지 않는다.
  */
 @Service
 @RequiredArgsConstructor
 public class ExcelUploadService {
 
     private static final Logger logger = LoggerFactory.getLogger(ExcelUploadService.class);
-    private static final int BATCH_SIZE = 1000; // 서버 부하 방지를 위한 배치 크기
-
-    // 단일 날짜/시간 상수 및 포맷터
-    private final LocalDateTime CURRENT_DATE_TIME = LocalDateTime.now();
-    private final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-    private final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm:ss");
-    private final DateTimeFormatter YEAR_MONTH_FORMATTER = DateTimeFormatter.ofPattern("yyyyMM");
-    private final DateTimeFormatter DATE_FORMATTER_DB = DateTimeFormatter.ofPattern("yyyyMMdd");
-    private final DateTimeFormatter UPLOAD_KEY_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
 
     private final DataSource dataSource;
     private final AppConfig.FileConfig fileConfig;
+    private final XlsxStreamingReader xlsxStreamingReader;
+    private final DelimitedTextReader delimitedTextReader;
+    private final AppConfig.ExcelUploadConfig excelUploadConfig;
     @Autowired
     private EscapeUtil escapeUtil;
 
-    private String errorMessage;
-    private String query;
+    // 진행 중/최근 완료 작업 (업로드 키 → 작업, 상태/통계 조회용)
+    private static final int MAX_FINISHED_JOBS = 50;
+    private final Map<String, ExcelUploadJob> jobs = new ConcurrentHashMap<>();
 
     /**
-     * 비동기 엑셀 파일 업로드 처리
-     * @param rptCd 업로드 키코드
-     * @param workbook 엑셀 워크북
-     * @param empNo 사원 번호
-     * @param empNm 사원 이름
+     * 스케줄러 작업 실패 기록 (이력/결과 테이블)
+     * @param job 업로드 작업
+     * @param e 발생한 예외
      */
-    @Async
-    public void asyncExcelUpload(String rptCd, Workbook workbook, String empNo, String empNm) {
-        try {
-            excelUpload(rptCd, workbook, empNo, empNm);
-        } catch (Exception e) {
-            errorMessage = "비동기 엑셀 업로드 처리 중 오류: " + rptCd;
-            logger.error(errorMessage, e);
-            insertExcelUploadHist(rptCd, "N", errorMessage + ": " + e.getMessage());
-            insertExcelUploadResult(rptCd, generateUploadKey(), "0", "N", "0", errorMessage + ": " + e.getMessage(), empNo, empNm);
-        } finally {
-            // Workbook 자원 해제
-            if (workbook != null) {
-                try {
-                    workbook.close();
-                } catch (Exception e) {
-                    logger.error("Workbook 닫기 실패", e);
-                }
-            }
+    void recordFailure(ExcelUploadJob job, Exception e) {
+        String errorMessage = "비동기 엑셀 업로드 처리 중 오류: " + job.getRptCd();
+        logger.error(errorMessage + ", uploadKey={}", job.getUploadKey(), e);
+        job.addError(errorMessage + ": " + e.getMessage());
+        job.finish(false);
+        insertExcelUploadHist(job, job.getRptCd(), "N", errorMessage + ": " + e.getMessage());
+        saveExcelUploadResult(job, "0", "N", "0", errorMessage + ": " + e.getMessage());
+    }
+
+    /**
+     * 업로드 취소 기록 (이력/결과 테이블)
+     * @param job 업로드 작업
+     */
+    void recordCancelled(ExcelUploadJob job) {
+        String message = "업로드 취소: " + job.getRptCd();
+        logger.info(message + ", uploadKey={}", job.getUploadKey());
+        job.addError(message);
+        job.finish(false);
+        insertExcelUploadHist(job, job.getRptCd(), "N", message);
+        saveExcelUploadResult(job, String.valueOf(job.getRowCount()), "C", "0", message);
+    }
+
+    /**
+     * 이전 실행에서 끝나지 않은 작업(W 대기, R 처리 중)을 실패로 정리 (대기열은 메모리에만 있어 재시작 후 이어서 처리할 수 없음)
+     * 스케줄러 시작 시 한 번 호출한다. 업로드 스케줄러는 인스턴스마다 따로 있으므로 단일 인스턴스 운영을 전제로 한다.
+     * @return 정리한 행 수
+     */
+    int abandonUnfinishedResults() {
+        String sql = "UPDATE tb_exceluploadresult SET RESULTYN = 'N', MESSAGE = ? WHERE RESULTYN IN ('W', 'R')";
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, "서버 재시작으로 중단된 업로드입니다. 다시 업로드해 주세요.");
+            return stmt.executeUpdate();
+        } catch (SQLException e) {
+            logger.error("tb_exceluploadresult 미완료 작업 정리 실패: query={}, error={}", sql, e.getMessage(), e);
+            return 0;
         }
     }
 
     /**
-     * 엑셀 파일 업로드 처리
-     * @param rptCd 업로드 키코드
-     * @param workbook 엑셀 워크북
-     * @param empNo 사원 번호
-     * @param empNm 사원 이름
+     * 업로드 작업 상태 조회
+     * @param uploadKey 업로드 키
+     * @param empNo 요청 사원 번호 (작업 등록 사용자만 조회)
+     * @return 작업, 없거나(오래되어 정리된 작업 포함) 다른 사용자의 작업이면 null
      */
-    public void excelUpload(String rptCd, Workbook workbook, String empNo, String empNm) {
+    public ExcelUploadJob getUploadJob(String uploadKey, String empNo) {
+        ExcelUploadJob job = uploadKey == null ? null : jobs.get(uploadKey);
+        return job != null && job.isOwnedBy(empNo) ? job : null;
+    }
+
+    /**
+     * 요청 사용자의 진행 중/최근 완료 업로드 작업 상태 (처리 행 수, 마지막 SQL, 오류, 파이프라인 단계별 통계)
+     * @param empNo 요청 사원 번호
+     */
+    public List<Map<String, Object>> getUploadJobs(String empNo) {
+        List<Map<String, Object>> result = new ArrayList<>();
+        jobs.values().stream()
+                .filter(job -> job.isOwnedBy(empNo))
+                .sorted(Comparator.comparing(ExcelUploadJob::getUploadKey))
+                .forEach(job -> result.add(job.toMap()));
+        return result;
+    }
+
+    /**
+     * 작업 등록 (완료 작업은 최근 MAX_FINISHED_JOBS 건만 유지)
+     */
+    void registerJob(ExcelUploadJob job) {
+        jobs.put(job.getUploadKey(), job);
+        List<ExcelUploadJob> finished = jobs.values().stream()
+                .filter(ExcelUploadJob::isFinished)
+                .sorted(Comparator.comparing(ExcelUploadJob::getUploadKey))
+                .toList();
+        for (int i = 0; i < finished.size() - MAX_FINISHED_JOBS; i++) {
+            jobs.remove(finished.get(i).getUploadKey());
+        }
+    }
+
+    /**
+     * XLSX 파일 형식 확인 (업로드 요청 시 동기 검증용)
+     * @param xlsxFile 업로드된 XLSX 임시 파일
+     */
+    public void validateExcelFile(Path xlsxFile) {
+        xlsxStreamingReader.validate(xlsxFile);
+    }
+
+    /**
+     * CSV/TSV 텍스트 파일 형식 확인 (업로드 요청 시 동기 검증용)
+     * @param textFile 업로드된 텍스트 임시 파일
+     */
+    public void validateTextFile(Path textFile) {
+        delimitedTextReader.validate(textFile);
+    }
+
+    /**
+     * 엑셀 파일 업로드 처리 (XLSX 파일을 SAX 로 읽어 행 수와 관계없이 일정한 메모리로 처리)
+     * @param job 업로드 작업 (업로드 키, 사용자, 진행 상태)
+     * @param xlsxFile XLSX 파일
+     */
+    public void excelUpload(ExcelUploadJob job, Path xlsxFile) {
+        // 입력 유효성 검사
+        if (xlsxFile == null || !Files.isRegularFile(xlsxFile)) {
+            String errorMessage = "엑셀 파일이 없습니다.";
+            logger.error(errorMessage);
+            throw new IllegalArgumentException(errorMessage);
+        }
+
+        // 셀 문자열 변환은 파이프라인 변환 단계(ExcelConversionPlan)에서 적용
+        upload(job, handler -> xlsxStreamingReader.readFirstSheet(xlsxFile, handler, UnaryOperator.identity()));
+    }
+
+    /**
+     * CSV/TSV 텍스트 업로드 처리 (POI 없이 한 행씩 읽으며 XLSX 와 같은 기준 정보 검사/적재 경로 사용)
+     * @param job 업로드 작업 (업로드 키, 사용자, 진행 상태)
+     * @param textFile 구분자 텍스트 파일 (UTF-8/EUC-KR/CP949)
+     * @param delimiter 필드 구분자
+     */
+    public void textUpload(ExcelUploadJob job, Path textFile, char delimiter) {
         // 입력 유효성 검사
-        if (workbook == null) {
-            errorMessage = "엑셀 워크북이 null입니다.";
+        if (textFile == null || !Files.isRegularFile(textFile)) {
+            String errorMessage = "업로드 파일이 없습니다.";
             logger.error(errorMessage);
             throw new IllegalArgumentException(errorMessage);
         }
 
+        // 셀 문자열 변환은 파이프라인 변환 단계(ExcelConversionPlan)에서 적용
+        upload(job, handler -> delimitedTextReader.read(textFile, delimiter, handler));
+    }
+
+    /**
+     * 업로드 기준 정보 확인, 대상 테이블 TRUNCATE 후 시트 행을 읽으며 배치 삽입
+     * SWAPYN = 'Y' 이면 대상 테이블 대신 스테이징 테이블(<대상>_stg) 에 적재한 뒤 RENAME TABLE 로 교체한다.
+     * @param job 업로드 작업 (업로드 키, 사용자, 진행 상태)
+     * @param sheetSource 시트 행을 차례로 전달하는 읽기 방식 (XLSX SAX/구분자 텍스트)
+     */
+    private void upload(ExcelUploadJob job, SheetSource sheetSource) {
+        String rptCd = job.getRptCd();
+        registerJob(job);
+        if (job.isCancelRequested()) {
+            throw new IllegalArgumentException("업로드가 취소되었습니다: " + job.getUploadKey());
+        }
+        job.markRunning();
+        saveExcelUploadResult(job, "0", "R", "0", "처리 중");
+
         // 업로드 기준 정보 조회
-        ExcelUploadTableInfoEntity tableInfo = getExcelUploadTableInfo(rptCd);
+        ExcelUploadTableInfoEntity tableInfo = getExcelUploadTableInfo(job);
         if (tableInfo == null || !"Y".equals(tableInfo.getUseYn())) {
-            errorMessage = "유효한 업로드 설정이 없습니다: " + rptCd;
+            String errorMessage = "유효한 업로드 설정이 없습니다: " + rptCd;
             logger.error(errorMessage);
             throw new IllegalArgumentException(errorMessage);
         }
+        job.setTargetTable(tableInfo.getTargetTable());
+        // TRUNCATE/CREATE/RENAME/DROP 문장에 테이블명을 그대로 넣으므로 DDL 전에 형식 확인
+        TargetTableColumns.checkTableName(tableInfo.getTargetTable());
+
+        boolean swap = "Y".equals(tableInfo.getSwapYn());
+        String loadTable = swap ? stageTableName(tableInfo.getTargetTable()) : tableInfo.getTargetTable();
+        if (swap) {
+            // 대상 테이블은 그대로 두고 스테이징 테이블에 적재 (조회는 적재 중에도 이전 데이터)
+            prepareStageTable(job, tableInfo);
+        } else {
+            // 대상 테이블 TRUNCATE
+            truncateTable(job, tableInfo);
+        }
+
+        // LOAD DATA 는 문장이 끝날 때까지 테이블 AUTO-INC 잠금을 잡아 같은 테이블 동시 적재가 직렬화되므로 쓰기 1개
+        int writers = "BULK".equalsIgnoreCase(tableInfo.getLoadMode()) ? 1 : excelUploadConfig.getWriterThreads();
+        // 쓰기가 여러 개이면 적재기별 중간 커밋이 엑셀 행 순서와 무관한 일부 행을 남기므로 끝에 한 번만 커밋
+        int commitSize = writers > 1 ? 0 : excelUploadConfig.getCommitSize();
+
+        try {
+            // 셀 변환 계획은 적재 테이블 컬럼 타입 기준 (컬럼 수가 다르면 여기서 실패)
+            UploadRowProcessor processor = new UploadRowProcessor(job, tableInfo,
+                    readLoadTableColumns(job, loadTable, tableInfo.getColCnt()));
+
+            // 읽기(호출 스레드) → 변환(검증) → 쓰기(적재기별 커넥션) 파이프라인
+            try (ExcelUploadPipeline pipeline = new ExcelUploadPipeline(job.getUploadKey() + ":" + loadTable,
+                    writers, excelUploadConfig.getQueueCapacity(), excelUploadConfig.getBatchSize(),
+                    processor::convert, () -> createLoader(tableInfo, loadTable, commitSize))) {
+                job.setPipeline(pipeline);
+                long loadedRows;
+                try {
+                    // 엑셀 데이터 처리
+                    sheetSource.read(pipeline);
+                    loadedRows = processor.finish(pipeline);
+                } catch (Exception e) {
+                    pipeline.rollback();
+                    throw e;
+                }
+
+                // 성공 로그 기록
+                job.finish(true);
+                insertExcelUploadHist(job, rptCd, "Y", "업로드 성공");
+                // UPLOAD_ROW: 검증을 통과한 엑셀 행 수, TOT_CNT: DB 가 적재했다고 보고한 행 수
+                saveExcelUploadResult(job, String.valueOf(job.getRowCount()), "Y", String.valueOf(loadedRows), "업로드 성공");
+            }
+        } catch (Exception e) {
+            // 열 번호는 변환 단계에서 특정한 경우만 표시 (적재 단계 오류는 DB 메시지에 컬럼이 나온다)
+            String column = job.getCurrentColNum() > 0 ? "열(" + job.getCurrentColNum() + "), " : "";
+            String errorMessage = "엑셀 오류: " + column + "행(" + job.getCurrentRowNum() + "): " + e.getMessage();
+            logger.error(errorMessage + ", uploadKey={}", job.getUploadKey(), e);
+            job.addError(errorMessage);
+            job.finish(false);
+            if (swap) {
+                dropStageTable(job, tableInfo);
+            }
+            insertExcelUploadHist(job, tableInfo.getUploadName(), "N", errorMessage);
+            throw new IllegalArgumentException(errorMessage, e);
+        }
+    }
+
+    /**
+     * 적재 테이블(대상 또는 스테이징) 컬럼 정보 조회
+     */
+    private TargetTableColumns readLoadTableColumns(ExcelUploadJob job, String loadTable, int colCnt) throws SQLException {
+        try (Connection conn = dataSource.getConnection()) {
+            job.setLastSql("SELECT * FROM " + loadTable + " WHERE 1 = 0");
+            return TargetTableColumns.read(conn, loadTable, colCnt);
+        }
+    }
+
+    /**
+     * 업로드 기준 정보의 LOADMODE 에 따라 적재 방식 선택
+     * BULK: LOAD DATA LOCAL INFILE 스트리밍 (대용량), 그 외: PreparedStatement 배치
+     * @param commitSize 배치 적재기 중간 커밋 단위 (0 이면 중간 커밋 없음)
+     */
+    private ExcelRowLoader createLoader(ExcelUploadTableInfoEntity tableInfo, String loadTable, int commitSize) throws SQLException {
+        if ("BULK".equalsIgnoreCase(tableInfo.getLoadMode())) {
+            logger.info("LOAD DATA LOCAL INFILE 적재: table={}", loadTable);
+            return new ExcelBulkLoader(dataSource, loadTable, tableInfo.getColCnt(), escapeUtil);
+        }
+        return new ExcelBatchLoader(dataSource, loadTable, tableInfo.getColCnt(),
+                excelUploadConfig.getBatchSize(), commitSize, escapeUtil,
+                excelUploadConfig.isEmptyAsNull());
+    }
+
+    /**
+     * 대상 테이블 TRUNCATE
+     * @param job 업로드 작업
+     * @param tableInfo 업로드 기준 정보
+     */
+    private void truncateTable(ExcelUploadJob job, ExcelUploadTableInfoEntity tableInfo) {
+        executeTableStatements(job, "테이블 TRUNCATE 실패: " + tableInfo.getTargetTable(),
+                "TRUNCATE TABLE " + tableInfo.getTargetTable());
+    }
+
+    /**
+     * 스테이징 테이블(<대상>_stg) 을 대상 테이블과 같은 구조로 새로 생성
+     * 매번 다시 만들어 대상 테이블 구조 변경을 따라간다.
+     * @param job 업로드 작업
+     * @param tableInfo 업로드 기준 정보
+     */
+    private void prepareStageTable(ExcelUploadJob job, ExcelUploadTableInfoEntity tableInfo) {
+        String targetTable = tableInfo.getTargetTable();
+        String stageTable = stageTableName(targetTable);
+        executeTableStatements(job, "스테이징 테이블 생성 실패: " + stageTable,
+                "DROP TABLE IF EXISTS " + stageTable,
+                "CREATE TABLE " + stageTable + " LIKE " + targetTable);
+    }
+
+    /**
+     * 스테이징 테이블과 대상 테이블 교체 (RENAME TABLE 한 문장으로 원자적 교체, 이전 데이터 테이블은 삭제)
+     * 조회는 교체 전까지 이전 데이터 전체, 교체 후 새 데이터 전체를 보며 빈 테이블이나 일부 적재 상태를 보지 않는다.
+     * 교체가 끝난 뒤의 이전 데이터 테이블(<대상>_old) 삭제 실패는 업로드 실패로 보지 않고 경고만 남긴다. (다음 교체 전에 다시 삭제)
+     * 주의: CREATE TABLE ... LIKE 는 컬럼/인덱스만 복사하므로 교체 후 대상 테이블에는 테이블 단위 GRANT, 트리거,
+     * 외래 키가 없다. (대상 테이블을 참조하는 다른 테이블의 외래 키는 RENAME 을 따라 <대상>_old 를 가리킨다)
+     * 이런 객체가 있는 테이블은 SWAPYN 을 쓰지 않는다.
+     * @param job 업로드 작업
+     * @param tableInfo 업로드 기준 정보
+     */
+    private void swapStageTable(ExcelUploadJob job, ExcelUploadTableInfoEntity tableInfo) {
+        String targetTable = tableInfo.getTargetTable();
+        String stageTable = stageTableName(targetTable);
+        String oldTable = targetTable + "_old";
+        executeTableStatements(job, "스테이징 테이블 교체 실패: " + targetTable,
+                "DROP TABLE IF EXISTS " + oldTable,
+                "RENAME TABLE " + targetTable + " TO " + oldTable + ", " + stageTable + " TO " + targetTable);
+        logger.info("스테이징 테이블 교체 완료: {} -> {}", stageTable, targetTable);
+
+        try {
+            executeTableStatements(job, "이전 데이터 테이블 삭제 실패: " + oldTable,
+                    "DROP TABLE " + oldTable);
+        } catch (IllegalArgumentException e) {
+            logger.warn(e.getMessage());
+        }
+    }
+
+    /**
+     * 실패한 업로드의 스테이징 테이블 삭제 (대상 테이블은 그대로 유지)
+     * @param job 업로드 작업
+     * @param tableInfo 업로드 기준 정보
+     */
+    private void dropStageTable(ExcelUploadJob job, ExcelUploadTableInfoEntity tableInfo) {
+        try {
+            executeTableStatements(job, "스테이징 테이블 삭제 실패: " + tableInfo.getTargetTable(),
+                    "DROP TABLE IF EXISTS " + stageTableName(tableInfo.getTargetTable()));
+        } catch (IllegalArgumentException e) {
+            logger.warn(e.getMessage());
+        }
+    }
 
-        // 대상 테이블 TRUNCATE
+    private String stageTableName(String targetTable) {
+        return targetTable + "_stg";
+    }
+
+    /**
+     * 테이블 DDL 문장을 순서대로 실행 (실패 시 IllegalArgumentException)
+     * @param job 업로드 작업 (마지막 SQL 기록)
+     * @param failMessage 실패 시 오류 메시지
+     * @param statements 실행할 문장
+     */
+    private void executeTableStatements(ExcelUploadJob job, String failMessage, String... statements) {
         Connection conn = null;
         Statement stmt = null;
+        String query = null;
 
         try {
             conn = dataSource.getConnection();
             conn.setAutoCommit(false);
             stmt = conn.createStatement();
-            query = "TRUNCATE TABLE " + tableInfo.getTargetTable();
-            stmt.executeUpdate(query);
+            for (String statement : statements) {
+                query = statement;
+                job.setLastSql(query);
+                stmt.executeUpdate(query);
+            }
             conn.commit();
         } catch (SQLException e) {
             if (conn != null) {
@@ -120,9 +384,9 @@ public class ExcelUploadService {
                     logger.error("트랜잭션 롤백 실패", ex);
                 }
             }
-            errorMessage = "테이블 TRUNCATE 실패: " + tableInfo.getTargetTable();
-            logger.error(errorMessage + ", query={}", query, e);
-            throw new IllegalArgumentException(errorMessage, e);
+            job.addError(failMessage);
+            logger.error(failMessage + ", query={}", query, e);
+            throw new IllegalArgumentException(failMessage, e);
         } finally {
             try {
                 if (stmt != null) stmt.close();
@@ -134,114 +398,124 @@ public class ExcelUploadService {
                 logger.error("데이터베이스 자원 해제 오류", e);
             }
         }
+    }
+
+    /**
+     * 시트 읽기 방식 (행을 차례로 handler 에 전달)
+     */
+    @FunctionalInterface
+    private interface SheetSource {
+        void read(ExcelRowHandler handler) throws IOException;
+    }
+
+    /**
+     * 행 단위 업로드 처리: 헤더 컬럼 수 검사, 데이터 행 컬럼 수 검사 (파이프라인 변환 단계에서 실행)
+     * 시작 행(STARTROW) 이 헤더 검사 행이며 시작 행부터 데이터로 삽입한다.
+     */
+    private class UploadRowProcessor {
+        private final ExcelUploadJob job; // 처리 행 수, 오류 추적용 행/열 번호
+        private final String rptCd;
+        private final ExcelUploadTableInfoEntity tableInfo;
+        private boolean headerChecked = false;
+        private final ExcelConversionPlan conversionPlan;
+
+        UploadRowProcessor(ExcelUploadJob job, ExcelUploadTableInfoEntity tableInfo, TargetTableColumns columns) {
+            this.job = job;
+            this.rptCd = job.getRptCd();
+            this.tableInfo = tableInfo;
+            this.conversionPlan = new ExcelConversionPlan(columns);
+        }
 
-        int currentRowNum = 0; // 오류 추적용 행 번호
-        int currentColNum = 0; // 오류 추적용 열 번호
+        /**
+         * @return 적재할 값, 건너뛸 행(시작 행 이전, 빈 행)은 null
+         */
+        List<String> convert(int rowIndex, List<String> values) {
+            int startRowIndex = tableInfo.getStartRow() - 1;
+            if (rowIndex < startRowIndex) return null;
 
-        try {
-            Sheet sheet = workbook.getSheetAt(0);
-            int endRowNum = sheet.getPhysicalNumberOfRows();
-
-            // 실제 데이터가 있는 컬럼 수 계산 (헤더 행 기준)
-            int endColNum = 0;
-            Row headerRow = sheet.getRow(tableInfo.getStartRow() - 1);
-            if (headerRow != null) {
-                for (int colNum = 0; colNum < headerRow.getLastCellNum(); colNum++) {
-                    Cell cell = headerRow.getCell(colNum, Row.MissingCellPolicy.CREATE_NULL_AS_BLANK);
-                    String cellValue = formatCellValue(cell, DATE_FORMATTER, TIME_FORMATTER);
-                    if (!cellValue.isEmpty()) {
-                        endColNum++; // 비어있지 않은 셀만 카운트
-                    }
-                }
+            // 셀 변환과 비어 있지 않은 셀 수 계산을 한 번에
+            boolean headerRow = rowIndex == startRowIndex;
+            int dataColNum = conversionPlan.convertRow(values);
+
+            // 시작 행이 비어 있어 다른 행이 먼저 오면 헤더 없음으로 검사
+            if (!headerChecked) {
+                checkHeader(headerRow ? dataColNum : 0);
             }
 
-            // 헤더 행 컬럼 수 유효성 검사
-            if (endColNum != tableInfo.getColCnt()) {
-                errorMessage = "[DB: " + tableInfo.getColCnt() + ", 엑셀: " + endColNum + "] " + "헤더 컬럼 수가 일치하지 않습니다";
+            job.setCurrentRowNum(rowIndex + 1); // 현재 행 번호 저장
+            job.setCurrentColNum(0);
+
+            // 데이터 행 컬럼 수 유효성 검사 (오류 열은 적재 범위 밖에서 값이 있는 첫 열)
+            if (dataColNum > tableInfo.getColCnt()) {
+                job.setCurrentColNum(conversionPlan.getLastOverflowColumn()); // 열 번호 (1부터 시작, 사용자 친화적)
+                String errorMessage = "[DB: " + tableInfo.getColCnt() + ", 엑셀: " + dataColNum + "] " + "데이터 행 컬럼 수가 초과되었습니다";
                 logger.error(errorMessage);
-                insertExcelUploadHist(rptCd, "N", errorMessage);
+                job.addError(errorMessage);
+                insertExcelUploadHist(job, rptCd, "N", errorMessage);
                 throw new IllegalArgumentException(errorMessage);
             }
 
-            List<String> insertValues = new ArrayList<>();
-            int rowCount = 0;
-
-            // 엑셀 데이터 처리
-            for (int rowNum = tableInfo.getStartRow(); rowNum <= endRowNum; rowNum++) {
-                currentRowNum = rowNum; // 현재 행 번호 저장
-                Row row = sheet.getRow(rowNum - 1);
-                if (row == null) continue;
-
-                // 데이터 행의 컬럼 수 계산
-                int dataColNum = 0;
-                for (int colNum = 0; colNum < row.getLastCellNum(); colNum++) {
-                    Cell cell = row.getCell(colNum, Row.MissingCellPolicy.CREATE_NULL_AS_BLANK);
-                    String cellValue = formatCellValue(cell, DATE_FORMATTER, TIME_FORMATTER);
-                    if (!cellValue.isEmpty()) {
-                        dataColNum++;
-                    }
-                }
+            if (conversionPlan.getLastDataColumns() == 0) return null;
 
-                // 데이터 행 컬럼 수 유효성 검사
-                if (dataColNum > tableInfo.getColCnt()) {
-                    errorMessage = "[DB: " + tableInfo.getColCnt() + ", 엑셀: " + dataColNum + "] " + "데이터 행 컬럼 수가 초과되었습니다";
-                    logger.error(errorMessage);
-                    insertExcelUploadHist(rptCd, "N", errorMessage);
-                    throw new IllegalArgumentException(errorMessage);
-                }
-
-                StringBuilder rowValue = new StringBuilder("(NULL,");
-                boolean hasData = false;
-
-                for (int colNum = 0; colNum < tableInfo.getColCnt(); colNum++) {
-                    currentColNum = colNum + 1; // 열 번호 (1부터 시작, 사용자 친화적)
-                    Cell cell = row.getCell(colNum, Row.MissingCellPolicy.CREATE_NULL_AS_BLANK);
-                    String cellValue = formatCellValue(cell, DATE_FORMATTER, TIME_FORMATTER);
-                    String escapedValue = escapeUtil.escape(cellValue != null ? cellValue : "");
-                    rowValue.append("'").append(escapedValue).append("',");
-                    if (!cellValue.isEmpty()) hasData = true;
-                }
-
-                if (!hasData) continue;
+            job.incrementRowCount();
+            return values;
+        }
 
-                rowValue.setLength(rowValue.length() - 1);
-                rowValue.append(")");
-                insertValues.add(rowValue.toString());
-                rowCount++;
+        /**
+         * @return DB 가 적재했다고 보고한 행 수
+         */
+        long finish(ExcelUploadPipeline pipeline) throws SQLException {
+            // 변환/쓰기 단계 완료 후 헤더 검사, 커밋 (적재 행 수가 다르면 적재기 finish 에서 커밋 전에 실패)
+            pipeline.drain();
+            if (!headerChecked) {
+                checkHeader(0);
+            }
+            long loadedRows = pipeline.commit();
 
-                if (insertValues.size() >= BATCH_SIZE || rowNum == endRowNum) {
-                    executeBatchInsert(tableInfo, insertValues);
-                    insertValues.clear();
-                }
+            // 스테이징 적재 완료 후 대상 테이블과 교체
+            if ("Y".equals(tableInfo.getSwapYn())) {
+                swapStageTable(job, tableInfo);
             }
 
-            // 성공 로그 기록
-            insertExcelUploadHist(rptCd, "Y", "업로드 성공");
-            insertExcelUploadResult(rptCd, generateUploadKey(), String.valueOf(rowCount), "Y", String.valueOf(rowCount), "업로드 성공", empNo, empNm);
+            // 조건부 삭제 (DELYN = 'Y')
+            if ("Y".equals(tableInfo.getDelYn())) {
+                truncateTable(job, tableInfo);
+            }
+            return loadedRows;
+        }
 
-        } catch (Exception e) {
-            errorMessage = "엑셀 오류: 열(" + currentColNum + "), 행(" + currentRowNum + "): " + e.getMessage();
-            logger.error(errorMessage, e);
-            insertExcelUploadHist(tableInfo.getUploadName(), "N", errorMessage);
-            throw new IllegalArgumentException(errorMessage, e);
+        // 헤더 행 컬럼 수 유효성 검사 (실제 데이터가 있는 컬럼 수 기준)
+        private void checkHeader(int endColNum) {
+            headerChecked = true;
+            if (endColNum != tableInfo.getColCnt()) {
+                String errorMessage = "[DB: " + tableInfo.getColCnt() + ", 엑셀: " + endColNum + "] " + "헤더 컬럼 수가 일치하지 않습니다";
+                logger.error(errorMessage);
+                job.addError(errorMessage);
+                insertExcelUploadHist(job, rptCd, "N", errorMessage);
+                throw new IllegalArgumentException(errorMessage);
+            }
         }
     }
 
     /**
      * tb_exceluploadtableinfo 테이블에서 업로드 기준 정보 조회
-     * @param rptCd 업로드 키코드
+     * @param job 업로드 작업 (업로드 키코드, 마지막 SQL 기록)
      * @return 업로드 기준 정보 엔티티
      */
-    private ExcelUploadTableInfoEntity getExcelUploadTableInfo(String rptCd) {
+    ExcelUploadTableInfoEntity getExcelUploadTableInfo(ExcelUploadJob job) {
+        String rptCd = job.getRptCd();
         Connection conn = null;
         PreparedStatement stmt = null;
         ResultSet rs = null;
         ExcelUploadTableInfoEntity tableInfo = null;
+        String query = null;
 
         try {
             conn = dataSource.getConnection();
-            query = "SELECT UPLOADNAME, TARGETTABLE, STARTROW, COLCNT, USEYN, DELYN " +
+            // LOADMODE/SWAPYN 컬럼은 resources/sql/tb_exceluploadtableinfo.sql 로 추가
+            query = "SELECT UPLOADNAME, TARGETTABLE, STARTROW, COLCNT, USEYN, DELYN, LOADMODE, SWAPYN " +
                     "FROM tb_exceluploadtableinfo WHERE RPTCD = ? AND USEYN = 'Y'";
+            job.setLastSql(query);
             stmt = conn.prepareStatement(query);
             stmt.setString(1, rptCd);
             rs = stmt.executeQuery();
@@ -254,9 +528,12 @@ public class ExcelUploadService {
                 tableInfo.setColCnt(rs.getInt("COLCNT"));
                 tableInfo.setUseYn(rs.getString("USEYN"));
                 tableInfo.setDelYn(rs.getString("DELYN"));
+                tableInfo.setLoadMode(rs.getString("LOADMODE"));
+                tableInfo.setSwapYn(rs.getString("SWAPYN"));
             }
         } catch (SQLException e) {
-            errorMessage = "업로드 기준 정보 조회 실패: " + rptCd;
+            String errorMessage = "업로드 기준 정보 조회 실패: " + rptCd;
+            job.addError(errorMessage);
             logger.error(errorMessage + ", query={}", query, e);
             throw new IllegalArgumentException(errorMessage, e);
         } finally {
@@ -271,176 +548,21 @@ public class ExcelUploadService {
         return tableInfo;
     }
 
-    /**
-     * 배치 INSERT 실행
-     * @param tableInfo 업로드 기준 정보
-     * @param insertValues 삽입할 값 목록
-     */
-    private void executeBatchInsert(ExcelUploadTableInfoEntity tableInfo, List<String> insertValues) {
-        if (insertValues.isEmpty()) return;
-
-        Connection conn = null;
-        Statement stmt = null;
-        PreparedStatement deleteStmt = null;
-        try {
-            conn = dataSource.getConnection();
-            conn.setAutoCommit(false);
-            stmt = conn.createStatement();
-
-            // INSERT 쿼리 동적 생성 및 실행
-            query = "INSERT INTO " + tableInfo.getTargetTable() + " VALUES " + String.join(",", insertValues);
-            stmt.executeUpdate(query);
-
-            // 조건부 삭제 (DELYN = 'Y')
-            if ("Y".equals(tableInfo.getDelYn())) {
-                query = "TRUNCATE TABLE " + tableInfo.getTargetTable();
-                deleteStmt = conn.prepareStatement(query);
-                deleteStmt.executeUpdate();
-            }
-
-            conn.commit();
-        } catch (SQLException e) {
-            if (conn != null) {
-                try {
-                    conn.rollback();
-                } catch (SQLException ex) {
-                    logger.error("트랜잭션 롤백 실패, query={}", query, ex);
-                }
-            }
-            errorMessage = "배치 삽입 실패: " + tableInfo.getUploadName();
-            logger.error(errorMessage + ", query={}", query, e);
-            throw new IllegalArgumentException(errorMessage, e);
-        } finally {
-            try {
-                if (deleteStmt != null) deleteStmt.close();
-                if (stmt != null) stmt.close();
-                if (conn != null) {
-                    conn.setAutoCommit(true);
-                    conn.close();
-                }
-            } catch (SQLException e) {
-                logger.error("데이터베이스 자원 해제 오류", e);
-            }
-        }
-    }
-
-    /**
-     * 셀 값 포맷팅
-     * @param cell 엑셀 셀
-     * @param dateFormatter 날짜 포맷
-     * @param timeFormatter 시간 포맷
-     * @return 포맷된 셀 값
-     */
-    private String formatCellValue(Cell cell, DateTimeFormatter dateFormatter, DateTimeFormatter timeFormatter) {
-        if (cell == null || cell.getCellType() == CellType.BLANK) {
-            return "";
-        }
-
-        DataFormatter dataFormatter = new DataFormatter();
-        String formattedValue = dataFormatter.formatCellValue(cell).trim();
-
-        switch (cell.getCellType()) {
-            case NUMERIC:
-                if (DateUtil.isCellDateFormatted(cell)) {
-                    try {
-                        String formatString = cell.getCellStyle().getDataFormatString().toLowerCase();
-                        // 시간 형식(h:mm, h:mm:ss, h:mm:ss AM/PM 등) 감지
-                        if (formatString.matches(".*(h:mm|hh:mm|h:m|hh:m|AM/PM|am/pm).*")) {
-                            // 엑셀의 소수점 시간 값 직접 처리
-                            double numericValue = cell.getNumericCellValue();
-                            long totalSeconds = Math.round(numericValue * 24 * 60 * 60); // 소수점 → 초
-                            int hours = (int) (totalSeconds / 3600);
-                            int minutes = (int) ((totalSeconds % 3600) / 60);
-                            int seconds = (int) (totalSeconds % 60);
-                            LocalTime time = LocalTime.of(hours % 24, minutes, seconds);
-                            return time.format(timeFormatter); // HH:mm:ss (e.g., 11:00:02, 12:05:00)
-                        }
-                        // 날짜 형식
-                        java.util.Date utilDate = cell.getDateCellValue();
-                        LocalDateTime dateTime = utilDate.toInstant()
-                                .atZone(java.time.ZoneId.systemDefault())
-                                .toLocalDateTime();
-                        return dateTime.toLocalDate().format(dateFormatter); // yyyy-MM-dd
-                    } catch (Exception e) {
-                        logger.error("날짜/시간 형식 변환 실패: 셀={}, 값={}, 형식={}",
-                                cell, formattedValue, cell.getCellStyle().getDataFormatString(), e);
-                        return formattedValue;
-                    }
-                } else {
-                    // NUMERIC 셀이지만 날짜 형식이 아닌 경우 (e.g., 20250603, 123456)
-                    if (formattedValue.matches("\\d{8}")) {
-                        try {
-                            LocalDate date = LocalDate.parse(formattedValue, DateTimeFormatter.ofPattern("yyyyMMdd"));
-                            return formattedValue; // 20250603
-                            // Optionally convert to yyyy-MM-dd:
-                            // return date.format(dateFormatter); // 2025-06-03
-                        } catch (DateTimeParseException e) {
-                            return formattedValue; // Non-date number (e.g., 123456)
-                        }
-                    }
-                    return formattedValue; // 123456 등 그대로 반환
-                }
-            case STRING:
-                String strVal = cell.getStringCellValue().trim();
-                if (strVal.isEmpty()) {
-                    return "";
-                }
-                // 맨 앞 single quote 처리
-                String processedVal = strVal.startsWith("'") && strVal.length() > 1 ? strVal.substring(1) : strVal;
-
-                // 숫자형 (yyyyMMdd)
-                if (processedVal.matches("\\d{8}")) {
-                    try {
-                        LocalDate date = LocalDate.parse(processedVal, DateTimeFormatter.ofPattern("yyyyMMdd"));
-                        return processedVal; // 20250603
-                        // Optionally convert to yyyy-MM-dd:
-                        // return date.format(dateFormatter); // 2025-06-03
-                    } catch (DateTimeParseException e) {
-                        return processedVal; // Non-date number
-                    }
-                }
-                // 날짜 형식 (yyyy/MM/dd)
-                if (processedVal.matches("\\d{4}/\\d{2}/\\d{2}")) {
-                    try {
-                        LocalDate date = LocalDate.parse(processedVal, DateTimeFormatter.ofPattern("yyyy/MM/dd"));
-                        return date.format(dateFormatter); // yyyy-MM-dd
-                    } catch (DateTimeParseException e) {
-                        return processedVal;
-                    }
-                }
-                // 시간 형식 (H:mm, H:mm:ss, H:mm:ss AM/PM)
-                if (processedVal.matches("\\d{1,2}:\\d{2}(:\\d{2})?(\\s*(AM|PM|am|pm))?")) {
-                    String cleanedTime = processedVal.replaceAll("\\s*(AM|PM|am|pm)", "").trim();
-                    try {
-                        DateTimeFormatter timeParseFormatter = cleanedTime.matches("\\d{1,2}:\\d{2}:\\d{2}")
-                                ? DateTimeFormatter.ofPattern("H:mm:ss")
-                                : DateTimeFormatter.ofPattern("H:mm");
-                        LocalTime time = LocalTime.parse(cleanedTime, timeParseFormatter);
-                        return time.format(timeFormatter); // HH:mm:ss
-                    } catch (DateTimeParseException e) {
-                        return cleanedTime;
-                    }
-                }
-                // 비숫자형 (e.g., 이철수2)
-                return processedVal.equals("-") ? "0" : processedVal;
-            default:
-                return formattedValue.isEmpty() ? "" : formattedValue;
-        }
-    }
-
     /**
      * 업로드 이력 삽입
+     * @param job 업로드 작업
      * @param rptCd 업로드 키코드
      * @param resultYn 결과 여부 (Y/N)
      * @param message 메시지
      */
-    private void insertExcelUploadHist(String rptCd, String resultYn, String message) {
+    private void insertExcelUploadHist(ExcelUploadJob job, String rptCd, String resultYn, String message) {
         Connection conn = null;
         PreparedStatement stmt = null;
+        String query = null;
 
         try {
             conn = dataSource.getConnection();
-            String sql = "INSERT INTO tb_exceluploadhist (RPTCD, UPLOADDT, RESULTYN, MESSAGE) VALUES (?, NOW(), ?, ?)"; // 로컬 변수명 query와 충돌 방지를 위해 sql로 변경
+            String sql = "INSERT INTO tb_exceluploadhist (RPTCD, UPLOADDT, RESULTYN, MESSAGE) VALUES (?, NOW(), ?, ?)"; // 로그용 query 와 구분
             query = sql
                     .replaceFirst("\\?", "'" + escapeUtil.escape(rptCd) + "'")
                     .replaceFirst("\\?", "'" + escapeUtil.escape(resultYn) + "'")
@@ -451,7 +573,7 @@ public class ExcelUploadService {
             stmt.setString(3, message);
             stmt.executeUpdate();
         } catch (SQLException e) {
-            logger.error("tb_exceluploadhist 삽입 실패: rptCd={}, query={}, error={}", rptCd, query, e.getMessage(), e);
+            logger.error("tb_exceluploadhist 삽입 실패: rptCd={}, uploadKey={}, query={}, error={}", rptCd, job.getUploadKey(), query, e.getMessage(), e);
         } finally {
             try {
                 if (stmt != null) stmt.close();
@@ -463,39 +585,46 @@ public class ExcelUploadService {
     }
 
     /**
-     * 업로드 결과 삽입
-     * @param rptCd 업로드 키코드
-     * @param uploadKey 업로드 키
+     * 업로드 결과 저장 (업로드 키/월/일자, 사용자, 업로드 키코드는 작업 기준)
+     * 작업 상태 RESULTYN: W(대기), R(처리 중), Y(성공), N(실패), C(취소) - 같은 작업은 한 행을 갱신한다.
+     * @param job 업로드 작업
      * @param uploadRow 업로드 행
      * @param resultYn 결과 여부 (Y/N)
      * @param totCnt 총 개수
      * @param message 메시지
-     * @param empNo 사원 번호
-     * @param empNm 사원 이름
      */
-    private void insertExcelUploadResult(String rptCd, String uploadKey, String uploadRow, String resultYn, String totCnt, String message, String empNo, String empNm) {
+    void saveExcelUploadResult(ExcelUploadJob job, String uploadRow, String resultYn, String totCnt, String message) {
         Connection conn = null;
         PreparedStatement stmt = null;
+        String query = null;
+        String rptCd = job.getRptCd();
+        String uploadKey = job.getUploadKey();
+        String empNo = job.getEmpNo();
+        String empNm = job.getEmpNm();
         try {
             conn = dataSource.getConnection();
             String sql = "INSERT INTO tb_exceluploadresult (UPLOAD_KEY, UPLOAD_ROW, UPLOAD_MON, UPLOADDT, EMPNO, EMPNM, RPTCD, RESULTYN, TOT_CNT, MESSAGE) " +
-                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)"; // 로컬 변수명 query와 충돌 방지를 위해 sql로 변경
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)"; // 로그용 query 와 구분
             query = sql
                     .replaceFirst("\\?", "'" + escapeUtil.escape(uploadKey) + "'")
                     .replaceFirst("\\?", "'" + escapeUtil.escape(uploadRow) + "'")
-                    .replaceFirst("\\?", "'" + escapeUtil.escape(CURRENT_DATE_TIME.format(YEAR_MONTH_FORMATTER)) + "'")
-                    .replaceFirst("\\?", "'" + escapeUtil.escape(CURRENT_DATE_TIME.format(DATE_FORMATTER_DB)) + "'")
+                    .replaceFirst("\\?", "'" + escapeUtil.escape(job.getUploadMon()) + "'")
+                    .replaceFirst("\\?", "'" + escapeUtil.escape(job.getUploadDt()) + "'")
                     .replaceFirst("\\?", "'" + escapeUtil.escape(empNo) + "'")
                     .replaceFirst("\\?", "'" + escapeUtil.escape(empNm != null ? empNm : "") + "'")
                     .replaceFirst("\\?", "'" + escapeUtil.escape(rptCd) + "'")
                     .replaceFirst("\\?", "'" + escapeUtil.escape(resultYn) + "'")
                     .replaceFirst("\\?", "'" + escapeUtil.escape(totCnt) + "'")
                     .replaceFirst("\\?", "'" + escapeUtil.escape(message) + "'");
+            // 같은 작업의 행이 이미 있으면(대기/처리 중 상태) 갱신
+            if (job.isResultSaved() && updateExcelUploadResult(conn, job, uploadRow, resultYn, totCnt, message) > 0) {
+                return;
+            }
             stmt = conn.prepareStatement(sql);
             stmt.setString(1, uploadKey);
             stmt.setString(2, uploadRow);
-            stmt.setString(3, CURRENT_DATE_TIME.format(YEAR_MONTH_FORMATTER));
-            stmt.setString(4, CURRENT_DATE_TIME.format(DATE_FORMATTER_DB));
+            stmt.setString(3, job.getUploadMon());
+            stmt.setString(4, job.getUploadDt());
             stmt.setString(5, empNo);
             stmt.setString(6, empNm != null ? empNm : "");
             stmt.setString(7, rptCd);
@@ -503,8 +632,9 @@ public class ExcelUploadService {
             stmt.setString(9, totCnt);
             stmt.setString(10, message);
             stmt.executeUpdate();
+            job.setResultSaved(true);
         } catch (SQLException e) {
-            logger.error("tb_exceluploadresult 삽입 실패: rptCd={}, query={}, error={}", rptCd, query, e.getMessage(), e);
+            logger.error("tb_exceluploadresult 저장 실패: rptCd={}, query={}, error={}", rptCd, query, e.getMessage(), e);
         } finally {
             try {
                 if (stmt != null) stmt.close();
@@ -516,10 +646,20 @@ public class ExcelUploadService {
     }
 
     /**
-     * 업로드 키 생성
-     * @return 생성된 업로드 키
+     * 업로드 결과 갱신 (작업 상태 변경)
+     * @return 갱신된 행 수
      */
-    private String generateUploadKey() {
-        return CURRENT_DATE_TIME.format(UPLOAD_KEY_FORMATTER);
+    private int updateExcelUploadResult(Connection conn, ExcelUploadJob job, String uploadRow, String resultYn, String totCnt, String message) throws SQLException {
+        String sql = "UPDATE tb_exceluploadresult SET UPLOAD_ROW = ?, RESULTYN = ?, TOT_CNT = ?, MESSAGE = ? " +
+                "WHERE UPLOAD_KEY = ? AND RPTCD = ?";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, uploadRow);
+            stmt.setString(2, resultYn);
+            stmt.setString(3, totCnt);
+            stmt.setString(4, message);
+            stmt.setString(5, job.getUploadKey());
+            stmt.setString(6, job.getRptCd());
+            return stmt.executeUpdate();
+        }
     }
-}
\ No newline at end of file
+}
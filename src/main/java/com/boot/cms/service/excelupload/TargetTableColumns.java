@@ -0,0 +1,119 @@
+package com.boot.cms.service.excelupload;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.regex.Pattern;
+
+/**
+ * 엑셀 업로드 대상 테이블 컬럼 정보 (첫 컬럼은 자동 증가 키, 이후 COLCNT 개가 엑셀 열)
+ * 행 없이 SELECT 해서 메타정보만 읽는다.
+ */
+public class TargetTableColumns {
+
+    // 문장에 그대로 넣는 테이블명 허용 형식 (스키마.테이블 포함)
+    private static final Pattern TABLE_NAME_PATTERN = Pattern.compile("[A-Za-z0-9_.]+");
+
+    private final String targetTable;
+    private final String[] names;
+    private final int[] types;
+    private final boolean[] nullable;
+
+    TargetTableColumns(String targetTable, String[] names, int[] types, boolean[] nullable) {
+        this.targetTable = targetTable;
+        this.names = names;
+        this.types = types;
+        this.nullable = nullable;
+    }
+
+    /**
+     * SQL/DDL 에 그대로 넣을 테이블명 확인 (영문/숫자/_/. 외의 문자가 있으면 IllegalArgumentException)
+     */
+    public static void checkTableName(String targetTable) {
+        if (targetTable == null || !TABLE_NAME_PATTERN.matcher(targetTable).matches()) {
+            throw new IllegalArgumentException("Invalid target table: " + targetTable);
+        }
+    }
+
+    public static TargetTableColumns read(Connection conn, String targetTable, int colCnt) throws SQLException {
+        checkTableName(targetTable);
+
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT * FROM " + targetTable + " WHERE 1 = 0")) {
+            ResultSetMetaData metaData = rs.getMetaData();
+            if (metaData.getColumnCount() != colCnt + 1) {
+                throw new IllegalArgumentException("[DB: " + (metaData.getColumnCount() - 1) + ", 설정: " + colCnt + "] "
+                        + "대상 테이블 컬럼 수가 일치하지 않습니다: " + targetTable);
+            }
+
+            String[] names = new String[colCnt];
+            int[] types = new int[colCnt];
+            boolean[] nullable = new boolean[colCnt];
+            for (int i = 0; i < colCnt; i++) {
+                names[i] = metaData.getColumnName(i + 2);
+                types[i] = metaData.getColumnType(i + 2);
+                nullable[i] = metaData.isNullable(i + 2) != ResultSetMetaData.columnNoNulls;
+            }
+            return new TargetTableColumns(targetTable, names, types, nullable);
+        }
+    }
+
+    public String getTargetTable() {
+        return targetTable;
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    public String getName(int column) {
+        return names[column];
+    }
+
+    public int getType(int column) {
+        return types[column];
+    }
+
+    /**
+     * 빈 값을 NULL 로 넣을 수 있는 컬럼인지 (NULL 허용 숫자/날짜/시간 컬럼, 배치 적재기는 EXCEL_UPLOAD_EMPTY_AS_NULL 사용 시에만 적용)
+     */
+    public boolean isNullOnEmpty(int column) {
+        return !isCharacter(column) && nullable[column];
+    }
+
+    public boolean isCharacter(int column) {
+        switch (types[column]) {
+            case Types.CHAR:
+            case Types.VARCHAR:
+            case Types.LONGVARCHAR:
+            case Types.NCHAR:
+            case Types.NVARCHAR:
+            case Types.LONGNVARCHAR:
+            case Types.CLOB:
+            case Types.NCLOB:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    public boolean isNumeric(int column) {
+        switch (types[column]) {
+            case Types.TINYINT:
+            case Types.SMALLINT:
+            case Types.INTEGER:
+            case Types.BIGINT:
+            case Types.DECIMAL:
+            case Types.NUMERIC:
+            case Types.FLOAT:
+            case Types.REAL:
+            case Types.DOUBLE:
+                return true;
+            default:
+                return false;
+        }
+    }
+}
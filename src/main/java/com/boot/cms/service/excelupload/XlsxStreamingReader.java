@@ -0,0 +1,181 @@
+package com.boot.cms.service.excelupload;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.UnaryOperator;
+import java.util.regex.Pattern;
+
+/**
+ * XLSX 이벤트(SAX) 방식 읽기
+ * 임시 파일에서 첫 번째 시트 XML 을 한 행씩 파싱하고 공유 문자열은 읽기 전용 테이블로 조회하므로
+ * 행 수와 관계없이 한 행만큼의 메모리만 사용한다. (XSSFWorkbook 처럼 시트 전체를 DOM 으로 만들지 않음)
+ * 날짜/시간 서식 숫자 셀은 DOM 방식 변환과 같이 yyyy-MM-dd / HH:mm:ss 로 만든다.
+ */
+@Component
+public class XlsxStreamingReader {
+
+    private static final Logger logger = LoggerFactory.getLogger(XlsxStreamingReader.class);
+
+    private final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm:ss");
+    // 셀 서식 문자열의 시간 형식(h:mm, h:mm:ss, h:mm:ss AM/PM 등) 감지
+    private static final Pattern TIME_FORMAT_PATTERN = Pattern.compile("h:mm|hh:mm|h:m|hh:m|am/pm", Pattern.CASE_INSENSITIVE);
+
+    /**
+     * 파일을 열어 XLSX 구조(시트 존재)만 확인, 유효하지 않으면 IllegalArgumentException
+     */
+    public void validate(Path file) {
+        try (OPCPackage pkg = OPCPackage.open(file.toFile(), PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            if (!reader.getSheetsData().hasNext()) {
+                throw new IllegalArgumentException("엑셀 시트가 없습니다.");
+            }
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (IOException | OpenXML4JException | RuntimeException e) {
+            logger.error("XLSX 형식 확인 실패: {}", e.getMessage());
+            throw new IllegalArgumentException("유효하지 않은 엑셀 파일 형식입니다.", e);
+        }
+    }
+
+    /**
+     * 첫 번째 시트의 행을 순서대로 handler 에 전달
+     * @param converter 셀 서식 문자열 후처리 (업로드 변환 규칙)
+     */
+    public void readFirstSheet(Path file, ExcelRowHandler handler, UnaryOperator<String> converter) throws IOException {
+        try (OPCPackage pkg = OPCPackage.open(file.toFile(), PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+            StylesTable styles = reader.getStylesTable();
+
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+            if (!sheets.hasNext()) {
+                throw new IllegalArgumentException("엑셀 시트가 없습니다.");
+            }
+
+            try (InputStream sheet = sheets.next()) {
+                XMLReader parser = XMLHelper.newXMLReader();
+                // 수식 셀은 수식 대신 저장된 결과 값을 읽는다
+                parser.setContentHandler(new DimensionAwareSheetHandler(styles, strings,
+                        new RowCollector(handler, converter), new UploadDataFormatter(), handler));
+                parser.parse(new InputSource(sheet));
+            }
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            logger.error("XLSX 시트 읽기 실패: {}", e.getMessage(), e);
+            throw new IllegalArgumentException("유효하지 않은 엑셀 파일 형식입니다.", e);
+        }
+    }
+
+    /**
+     * 시트 XML 앞부분의 dimension(예: A1:K50000) 으로 행 수를 먼저 전달 (진행률/ETA 용)
+     */
+    private static class DimensionAwareSheetHandler extends XSSFSheetXMLHandler {
+
+        private final ExcelRowHandler handler;
+
+        DimensionAwareSheetHandler(StylesTable styles, ReadOnlySharedStringsTable strings,
+                                   SheetContentsHandler contentsHandler, DataFormatter formatter, ExcelRowHandler handler) {
+            super(styles, strings, contentsHandler, formatter, false);
+            this.handler = handler;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) throws SAXException {
+            if ("dimension".equals(localName)) {
+                String ref = attributes.getValue("ref");
+                if (ref != null) {
+                    try {
+                        String lastCell = ref.contains(":") ? ref.substring(ref.indexOf(':') + 1) : ref;
+                        handler.onSheetSize(new CellReference(lastCell).getRow() + 1);
+                    } catch (RuntimeException e) {
+                        logger.debug("XLSX dimension 해석 실패: {}", ref);
+                    }
+                }
+            }
+            super.startElement(uri, localName, qName, attributes);
+        }
+    }
+
+    /**
+     * 행 단위로 셀 값을 모아 전달 (빈 셀은 "" 로 채움)
+     */
+    private static class RowCollector implements XSSFSheetXMLHandler.SheetContentsHandler {
+
+        private final ExcelRowHandler handler;
+        private final UnaryOperator<String> converter;
+        private List<String> values;
+
+        RowCollector(ExcelRowHandler handler, UnaryOperator<String> converter) {
+            this.handler = handler;
+            this.converter = converter;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            values = new ArrayList<>();
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            handler.onRow(rowNum, values);
+            values = null;
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int col = cellReference == null ? values.size() : new CellReference(cellReference).getCol();
+            while (values.size() < col) {
+                values.add("");
+            }
+            values.add(converter.apply(formattedValue == null ? "" : formattedValue.trim()));
+        }
+    }
+
+    /**
+     * 날짜/시간 서식 숫자를 yyyy-MM-dd / HH:mm:ss 로 변환 (그 외 숫자는 엑셀 서식 그대로)
+     */
+    private class UploadDataFormatter extends DataFormatter {
+
+        @Override
+        public String formatRawCellContents(double value, int formatIndex, String formatString, boolean use1904Windowing) {
+            if (formatString != null && DateUtil.isADateFormat(formatIndex, formatString) && DateUtil.isValidExcelDate(value)) {
+                // 시간 형식(h:mm, h:mm:ss, h:mm:ss AM/PM 등) 감지
+                if (TIME_FORMAT_PATTERN.matcher(formatString).find()) {
+                    long totalSeconds = Math.round(value * 24 * 60 * 60); // 소수점 → 초
+                    int hours = (int) (totalSeconds / 3600);
+                    int minutes = (int) ((totalSeconds % 3600) / 60);
+                    int seconds = (int) (totalSeconds % 60);
+                    return LocalTime.of(hours % 24, minutes, seconds).format(TIME_FORMATTER);
+                }
+                return DateUtil.getLocalDateTime(value, use1904Windowing).toLocalDate().format(DATE_FORMATTER);
+            }
+            return super.formatRawCellContents(value, formatIndex, formatString, use1904Windowing);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.boot.cms.service.mapview;
+
+import com.boot.cms.config.AppConfig;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * 첨부파일 압축 정책과 Deflater(zlib) 스트림
+ * 압축은 첨부파일 저장소(AttachmentStore)에 쓰는 파일에만 적용하고, 압축 여부(codec)는 저장소 메타정보(파일 확장자)로 구분한다.
+ * FILEDATA 내용을 보고 압축 여부를 추측하지 않으므로 DB 에는 원본 또는 저장소 참조만 저장된다.
+ * 이미 압축된 형식(zip, xlsx, png, jpg 등)과 작은 파일은 정책에 따라 원본 그대로 저장한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class AttachmentCodec {
+
+    public static final String CODEC_NONE = "none";
+    public static final String CODEC_DEFLATE = "deflate";
+
+    private final AppConfig.AttachmentCompressionConfig attachmentCompressionConfig;
+
+    private final AtomicLong compressedCount = new AtomicLong();
+    private final AtomicLong skippedCount = new AtomicLong();
+    private final AtomicLong bytesIn = new AtomicLong();
+    private final AtomicLong bytesOut = new AtomicLong();
+
+    public boolean isEnabled() {
+        return attachmentCompressionConfig.isEnabled();
+    }
+
+    /**
+     * 저장할 파일의 codec 결정 (압축 사용 시 최소 크기 이상이고 확장자가 제외 목록에 없으면 deflate)
+     * @param length 원본 바이트 수 (모르면 -1, 크기 조건은 보지 않는다)
+     */
+    public String selectCodec(String fileName, long length) {
+        if (!isEnabled()) {
+            return CODEC_NONE;
+        }
+        if (!shouldCompress(fileName, length)) {
+            skippedCount.incrementAndGet();
+            return CODEC_NONE;
+        }
+        return CODEC_DEFLATE;
+    }
+
+    /**
+     * 압축 정책: 최소 크기 이상이고 확장자가 제외 목록에 없으면 압축
+     */
+    public boolean shouldCompress(String fileName, long length) {
+        if (length >= 0 && length < attachmentCompressionConfig.getMinSize()) {
+            return false;
+        }
+        if (fileName == null || fileName.lastIndexOf('.') < 0) {
+            return true;
+        }
+        String type = fileName.substring(fileName.lastIndexOf('.') + 1).trim().toLowerCase();
+        return !attachmentCompressionConfig.getSkipTypes().contains(type);
+    }
+
+    /**
+     * out 에 압축해서 쓰는 스트림 (닫을 때 Deflater 를 해제하고 압축 전/후 바이트 수를 집계)
+     */
+    public OutputStream compress(OutputStream out) {
+        compressedCount.incrementAndGet();
+        return new CountingDeflaterOutputStream(out, new Deflater(attachmentCompressionConfig.getLevel()));
+    }
+
+    /**
+     * deflate 로 저장한 내용을 읽는 대로 해제하는 스트림 (호출자가 닫는다)
+     */
+    public static InputStream decompress(InputStream in) {
+        Inflater inflater = new Inflater();
+        return new InflaterInputStream(in, inflater) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    inflater.end();
+                }
+            }
+        };
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", isEnabled());
+        stats.put("compressedCount", compressedCount.get());
+        stats.put("skippedCount", skippedCount.get());
+        stats.put("bytesIn", bytesIn.get());
+        stats.put("bytesOut", bytesOut.get());
+        long in = bytesIn.get();
+        stats.put("ratio", in == 0 ? 0.0 : (double) bytesOut.get() / in);
+        return stats;
+    }
+
+    /**
+     * 닫을 때 Deflater 네이티브 메모리를 해제하고 압축 전/후 바이트 수를 집계
+     * (생성자에 Deflater 를 넘기면 DeflaterOutputStream.close 는 end() 를 호출하지 않음)
+     */
+    private class CountingDeflaterOutputStream extends DeflaterOutputStream {
+
+        private final Deflater deflater;
+        private boolean closed;
+
+        CountingDeflaterOutputStream(OutputStream out, Deflater deflater) {
+            super(out, deflater);
+            this.deflater = deflater;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                super.close();
+                bytesIn.addAndGet(deflater.getBytesRead());
+                bytesOut.addAndGet(deflater.getBytesWritten());
+            } finally {
+                deflater.end();
+            }
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.boot.cms.service.mapview;
+
+import com.boot.cms.config.AppConfig;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 기존 LONGBLOB 첨부파일을 첨부파일 저장소로 1회 이관 (ATTACHMENT_MIGRATION_ENABLED=true 인 경우만 기동 시 실행)
+ * 설정된 테이블을 키 순서로 batchSize 건씩 훑으며 참조가 아닌 FILEDATA 를 저장소에 쓰고 참조로 교체한다.
+ * 참조 모양이어도 저장소에 없는 해시이면 원본 내용으로 보고 이관한다.
+ * 한 행씩 읽고 바로 갱신하므로 중단 후 다시 실행하면 남은 행부터 이어서 처리한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class AttachmentMigrationRunner implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttachmentMigrationRunner.class);
+
+    private static final int READ_CHUNK_SIZE = 4 * 1024 * 1024;   // FILEDATA 를 나눠 읽는 크기
+
+    private final DataSource dataSource;
+    private final AttachmentStore attachmentStore;
+    private final AppConfig.AttachmentStoreConfig attachmentStoreConfig;
+
+    private final AtomicLong migratedCount = new AtomicLong();
+    private final AtomicLong deduplicatedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong bytesMigrated = new AtomicLong();
+
+    @Setter
+    @Getter
+    String errorMessage;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!attachmentStoreConfig.isMigrationEnabled()) {
+            return;
+        }
+
+        Thread thread = new Thread(this::migrateAll, "attachment-migration");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("migratedCount", migratedCount.get());
+        stats.put("deduplicatedCount", deduplicatedCount.get());
+        stats.put("failedCount", failedCount.get());
+        stats.put("bytesMigrated", bytesMigrated.get());
+        return stats;
+    }
+
+    private void migrateAll() {
+        long startedAt = System.currentTimeMillis();
+        attachmentStoreConfig.getMigrationTables().forEach((table, keyColumn) -> {
+            if (!table.matches("[A-Za-z0-9_]+") || !keyColumn.matches("[A-Za-z0-9_]+")) {
+                errorMessage = "Invalid attachment migration table: {}:{}";
+                logger.error(this.getErrorMessage(), table, keyColumn);
+                return;
+            }
+            migrateTable(table, keyColumn);
+        });
+        logger.info("Attachment migration finished: {}, elapsed={}ms", getStats(), System.currentTimeMillis() - startedAt);
+    }
+
+    private void migrateTable(String table, String keyColumn) {
+        // 첫 페이지는 커서 없이, 이후는 마지막 키를 컬럼 타입 그대로(getObject/setObject) 바인딩
+        String selectKeys = "SELECT " + keyColumn + " FROM " + table + " WHERE FILEDATA IS NOT NULL AND LENGTH(FILEDATA) > 0";
+        String firstKeysSql = selectKeys + " ORDER BY " + keyColumn + " LIMIT ?";
+        String nextKeysSql = selectKeys + " AND " + keyColumn + " > ? ORDER BY " + keyColumn + " LIMIT ?";
+
+        Object lastKey = null;
+        while (true) {
+            List<Object> keys = new ArrayList<>();
+            try (Connection conn = dataSource.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(lastKey == null ? firstKeysSql : nextKeysSql)) {
+                int index = 1;
+                if (lastKey != null) {
+                    stmt.setObject(index++, lastKey);
+                }
+                stmt.setInt(index, attachmentStoreConfig.getMigrationBatchSize());
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        keys.add(rs.getObject(1));
+                    }
+                }
+            } catch (SQLException e) {
+                errorMessage = "Attachment migration key scan failed: table={}, error={}";
+                logger.error(this.getErrorMessage(), table, e.getMessage(), e);
+                return;
+            }
+
+            if (keys.isEmpty()) {
+                logger.info("Attachment migration done for table: {}", table);
+                return;
+            }
+
+            // 행마다 커넥션을 잡고 놓아 요청 처리와 풀을 나눠 쓴다
+            for (Object key : keys) {
+                migrateRow(table, keyColumn, key);
+            }
+            lastKey = keys.get(keys.size() - 1);
+        }
+    }
+
+    /**
+     * 한 행 이관: 행을 잠근 트랜잭션 안에서 저장소에 쓰고 참조로 갱신한 뒤 커밋한다.
+     * 저장소 쓰기는 같은 내용이면 같은 파일이 되므로, 커밋 전에 중단되어 참조 없는 파일이 남아도
+     * 다시 실행하면 그 행이 같은 파일을 재사용(중복 제거)해 참조하게 된다. (그 사이 행이 삭제/변경된 경우만 저장소에 남는다)
+     */
+    private void migrateRow(String table, String keyColumn, Object key) {
+        try (Connection conn = dataSource.getConnection()) {
+            boolean previousAutoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try {
+                AttachmentStore.StoredAttachment stored = storeLocked(conn, table, keyColumn, key);
+                if (stored == null) {
+                    conn.commit();
+                    return;
+                }
+                try (PreparedStatement update = conn.prepareStatement(
+                        "UPDATE " + table + " SET FILEDATA = ? WHERE " + keyColumn + " = ?")) {
+                    update.setBytes(1, AttachmentStore.toReference(stored.getSha256()));
+                    update.setObject(2, key);
+                    update.executeUpdate();
+                }
+                conn.commit();
+
+                migratedCount.incrementAndGet();
+                bytesMigrated.addAndGet(stored.getSize());
+                if (stored.isDeduplicated()) {
+                    deduplicatedCount.incrementAndGet();
+                }
+            } catch (Exception e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(previousAutoCommit);
+            }
+        } catch (Exception e) {
+            failedCount.incrementAndGet();
+            errorMessage = "Attachment migration failed: table={}, key={}, error={}";
+            logger.error(this.getErrorMessage(), table, key, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 행을 잠그고 FILEDATA 를 READ_CHUNK_SIZE 씩 나눠 읽어 저장소에 쓴다. (이미 저장소 참조이면 null)
+     * 드라이버는 행 값을 통째로 메모리에 올리므로 SUBSTRING 으로 구간만 조회해 힙 사용량을 청크 크기로 제한한다.
+     */
+    private AttachmentStore.StoredAttachment storeLocked(Connection conn, String table, String keyColumn, Object key)
+            throws SQLException, IOException {
+        long length;
+        try (PreparedStatement lock = conn.prepareStatement(
+                "SELECT LENGTH(FILEDATA) FROM " + table + " WHERE " + keyColumn + " = ? FOR UPDATE")) {
+            lock.setObject(1, key);
+            try (ResultSet rs = lock.executeQuery()) {
+                if (!rs.next()) {
+                    return null;
+                }
+                length = rs.getLong(1);
+                if (rs.wasNull() || length == 0) {
+                    return null;
+                }
+            }
+        }
+
+        String chunkSql = "SELECT SUBSTRING(FILEDATA, ?, ?) FROM " + table + " WHERE " + keyColumn + " = ?";
+        try (PreparedStatement chunk = conn.prepareStatement(chunkSql)) {
+            if (length == AttachmentStore.REFERENCE_LENGTH) {
+                byte[] data = readChunk(chunk, key, 1, AttachmentStore.REFERENCE_LENGTH);
+                String sha256 = AttachmentStore.parseReference(data);
+                if (sha256 != null && attachmentStore.contains(sha256)) {
+                    return null;
+                }
+            }
+            try (InputStream in = new ChunkedColumnInputStream(chunk, key, length)) {
+                return attachmentStore.store(in, length);
+            }
+        }
+    }
+
+    private static byte[] readChunk(PreparedStatement chunk, Object key, long position, int size) throws SQLException {
+        chunk.setLong(1, position);
+        chunk.setInt(2, size);
+        chunk.setObject(3, key);
+        try (ResultSet rs = chunk.executeQuery()) {
+            byte[] data = rs.next() ? rs.getBytes(1) : null;
+            return data == null ? new byte[0] : data;
+        }
+    }
+
+    /**
+     * SUBSTRING 조회를 이어 붙여 컬럼 값을 앞에서부터 읽는 스트림 (위치는 1부터)
+     */
+    private static class ChunkedColumnInputStream extends InputStream {
+        private final PreparedStatement chunk;
+        private final Object key;
+        private final long length;
+        private long position = 1;
+        private byte[] buffer = new byte[0];
+        private int offset = 0;
+
+        ChunkedColumnInputStream(PreparedStatement chunk, Object key, long length) {
+            this.chunk = chunk;
+            this.key = key;
+            this.length = length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) < 0 ? -1 : one[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (offset == buffer.length) {
+                if (position > length) {
+                    return -1;
+                }
+                try {
+                    buffer = readChunk(chunk, key, position, (int) Math.min(READ_CHUNK_SIZE, length - position + 1));
+                } catch (SQLException e) {
+                    throw new IOException(e);
+                }
+                if (buffer.length == 0) {
+                    throw new IOException("FILEDATA changed while reading: position " + position + " of " + length);
+                }
+                position += buffer.length;
+                offset = 0;
+            }
+            int count = Math.min(len, buffer.length - offset);
+            System.arraycopy(buffer, offset, b, off, count);
+            offset += count;
+            return count;
+        }
+    }
+}
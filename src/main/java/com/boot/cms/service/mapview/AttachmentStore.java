@@ -0,0 +1,132 @@
+package com.boot.cms.service.mapview;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Blob;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * 첨부파일 내용 저장소 (원본 내용의 SHA-256 으로 주소 지정)
+ * DB 의 FILEDATA 에는 파일 대신 참조 문자열(cas:sha256:<hex>)만 저장한다.
+ * 압축 여부(codec)는 저장소가 파일별 메타정보로 관리하며 참조 문자열에는 넣지 않는다.
+ */
+public interface AttachmentStore {
+
+    String REFERENCE_PREFIX = "cas:sha256:";
+    int REFERENCE_LENGTH = REFERENCE_PREFIX.length() + 64;
+
+    boolean isEnabled();
+
+    /**
+     * 스트림을 저장하고 해시를 반환, 같은 내용이 이미 있으면 새로 쓰지 않는다.
+     * @param length 기대 바이트 수 (모르면 -1)
+     * @param fileName 원본 파일명 (확장자로 압축 여부를 정한다, 모르면 null)
+     */
+    StoredAttachment store(InputStream in, long length, String fileName) throws IOException;
+
+    default StoredAttachment store(InputStream in, long length) throws IOException {
+        return store(in, length, null);
+    }
+
+    /**
+     * 저장된 파일 (없으면 IllegalArgumentException)
+     */
+    StoredFile resolve(String sha256);
+
+    /**
+     * 해시에 해당하는 파일이 저장소에 있는지 여부
+     */
+    boolean contains(String sha256);
+
+    Map<String, Object> getStats();
+
+    /**
+     * FILEDATA 가 이 저장소에 있는 파일의 참조이면 해시, 아니면 null
+     * 참조 모양(cas:sha256:<hex>)이어도 저장소에 없는 해시이면 원본 내용으로 본다. (참조 길이일 때만 내용을 읽는다)
+     */
+    default String findReference(Blob fileData) throws SQLException {
+        if (fileData == null || fileData.length() != REFERENCE_LENGTH) {
+            return null;
+        }
+        String sha256 = parseReference(fileData.getBytes(1, REFERENCE_LENGTH));
+        return sha256 != null && contains(sha256) ? sha256 : null;
+    }
+
+    static byte[] toReference(String sha256) {
+        return (REFERENCE_PREFIX + sha256).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * FILEDATA 값이 참조 모양이면 해시, 아니면 null (저장소에 있는지는 보지 않는다)
+     */
+    static String parseReference(byte[] data) {
+        if (data == null || data.length != REFERENCE_LENGTH) {
+            return null;
+        }
+        String value = new String(data, StandardCharsets.US_ASCII);
+        if (!value.startsWith(REFERENCE_PREFIX)) {
+            return null;
+        }
+        String sha256 = value.substring(REFERENCE_PREFIX.length());
+        return sha256.matches("[0-9a-f]{64}") ? sha256 : null;
+    }
+
+    /**
+     * 저장된 파일과 메타정보 (codec, 원본 크기)
+     */
+    @Getter
+    class StoredFile {
+        private final Path path;
+        private final String codec;
+        private final long length;      // 원본 바이트 수
+        private final long dataOffset;  // 파일에서 codec 데이터가 시작하는 위치
+
+        public StoredFile(Path path, String codec, long length, long dataOffset) {
+            this.path = path;
+            this.codec = codec;
+            this.length = length;
+            this.dataOffset = dataOffset;
+        }
+
+        public boolean isCompressed() {
+            return AttachmentCodec.CODEC_DEFLATE.equals(codec);
+        }
+
+        /**
+         * 원본 내용을 start 바이트부터 읽는 스트림, 압축 파일이면 읽는 대로 해제한다. (호출자가 닫는다)
+         */
+        public InputStream open(long start) throws IOException {
+            InputStream in = Files.newInputStream(path);
+            try {
+                in.skipNBytes(dataOffset);
+                if (isCompressed()) {
+                    in = AttachmentCodec.decompress(in);
+                }
+                in.skipNBytes(start);
+                return in;
+            } catch (IOException | RuntimeException e) {
+                in.close();
+                throw e;
+            }
+        }
+    }
+
+    @Getter
+    class StoredAttachment {
+        private final String sha256;
+        private final long size;
+        private final boolean deduplicated;
+
+        public StoredAttachment(String sha256, long size, boolean deduplicated) {
+            this.sha256 = sha256;
+            this.size = size;
+            this.deduplicated = deduplicated;
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.boot.cms.service.mapview;
 
 import com.boot.cms.config.AppConfig;
+import com.boot.cms.dto.mapview.ProcedureArgument;
+import com.boot.cms.dto.mapview.ProcedureInvocation;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
@@ -10,7 +12,7 @@ import org.springframework.jdbc.datasource.DataSourceUtils;
 import org.springframework.stereotype.Service;
 
 import javax.sql.DataSource;
-import java.io.ByteArrayInputStream;
+import javax.sql.rowset.serial.SerialBlob;
 import java.io.IOException;
 import java.io.InputStream;
 import java.sql.*;
@@ -24,27 +26,26 @@ public class DynamicQueryFileService {
 
     private final DataSource dataSource;
     private final AppConfig.FileConfig fileConfig;
+    private final AttachmentStore attachmentStore;
 
     @Setter
     @Getter
     String errorMessage;
 
-    private String createCallString(String procedureName, int paramCount) {
-        String placeholders = String.join(",", Collections.nCopies(paramCount, "?"));
-        return "{call " + procedureName + "(" + placeholders + ")}";
-    }
-
-    public List<Map<String, Object>> executeDynamicFileQuery(String procedureCall, List<Object> originalParams) {
+    public List<Map<String, Object>> executeDynamicFileQuery(ProcedureInvocation invocation) {
         List<Map<String, Object>> mappedResult = new ArrayList<>();
         Connection connection = null;
         CallableStatement stmt = null;
         ResultSet rs = null;
 
         try {
-            String procedureName = procedureCall.substring(0, procedureCall.indexOf('(')).trim();
-            String paramString = procedureTAB("(", ")", procedureCall).trim();
-            List<Object> params = parseParameters(paramString, originalParams);
-            String callString = createCallString(procedureName, params.size());
+            for (ProcedureArgument argument : invocation.getArguments()) {
+                if (argument.getLength() > fileConfig.getMaxFileSize()) {
+                    errorMessage = "executeDynamicFileQuery failed: File size exceeds " + (fileConfig.getMaxFileSize() / (1024 * 1024)) + "MB limit for procedure: " + invocation.getProcedureName();
+                    logger.error(this.getErrorMessage());
+                    throw new IllegalArgumentException("File size exceeds " + (fileConfig.getMaxFileSize() / (1024 * 1024)) + "MB limit");
+                }
+            }
 
             connection = DataSourceUtils.getConnection(dataSource);
             if (connection == null) {
@@ -53,24 +54,8 @@ public class DynamicQueryFileService {
                 throw new IllegalStateException("Unable to obtain JDBC Connection from DataSource");
             }
 
-            stmt = connection.prepareCall(callString);
-
-            for (int i = 0; i < params.size(); i++) {
-                Object param = params.get(i);
-                if (param instanceof String) {
-                    stmt.setString(i + 1, (String) param);
-                } else if (param instanceof byte[]) {
-                    byte[] data = (byte[]) param;
-                    if (data.length > fileConfig.getMaxFileSize()) {
-                        errorMessage = "executeDynamicFileQuery failed: File size exceeds " + (fileConfig.getMaxFileSize() / (1024 * 1024)) + "MB limit for procedureCall: " + procedureCall;
-                        logger.error(this.getErrorMessage());
-                        throw new IllegalArgumentException("File size exceeds " + (fileConfig.getMaxFileSize() / (1024 * 1024)) + "MB limit");
-                    }
-                    stmt.setBinaryStream(i + 1, new ByteArrayInputStream(data), data.length);
-                } else {
-                    stmt.setObject(i + 1, param);
-                }
-            }
+            stmt = connection.prepareCall(invocation.getCallString());
+            invocation.bind(stmt);
 
             boolean hasResultSet = stmt.execute();
             if (!hasResultSet) {
@@ -89,8 +74,9 @@ public class DynamicQueryFileService {
                 for (int i = 0; i < columnNames.size(); i++) {
                     Object value = rs.getObject(i + 1);
                     if ("FILEDATA".equalsIgnoreCase(columnNames.get(i)) && value instanceof Blob) {
+                        // ResultSet 을 닫은 뒤에는 Blob 스트림을 읽을 수 없으므로 크기만 반환 (내용은 streamFileData 로 조회)
                         Blob blob = (Blob) value;
-                        rowMap.put(columnNames.get(i), blob.getBinaryStream());
+                        rowMap.put(columnNames.get(i), blob.length());
                     } else {
                         rowMap.put(columnNames.get(i), value == null ? "" : value);
                     }
@@ -103,7 +89,7 @@ public class DynamicQueryFileService {
             }
 
         } catch (Exception e) {
-            errorMessage = "executeDynamicFileQuery failed for procedureCall: " + procedureCall;
+            errorMessage = "executeDynamicFileQuery failed for procedure: " + invocation.getProcedureName();
             logger.error(this.getErrorMessage(), e.getMessage(), e);
             throw new IllegalArgumentException("데이터베이스 오류: " + e.getMessage());
         } finally {
@@ -112,7 +98,7 @@ public class DynamicQueryFileService {
                 if (stmt != null) stmt.close();
                 DataSourceUtils.releaseConnection(connection, dataSource);
             } catch (Exception e) {
-                errorMessage = "executeDynamicFileQuery failed: Error closing resources for procedureCall: " + procedureCall;
+                errorMessage = "executeDynamicFileQuery failed: Error closing resources for procedure: " + invocation.getProcedureName();
                 logger.error(this.getErrorMessage(), e.getMessage(), e);
             }
         }
@@ -120,18 +106,21 @@ public class DynamicQueryFileService {
         return mappedResult;
     }
 
-    public List<Map<String, Object>> executeDynamicQuery(String procedureCall) {
+    public List<Map<String, Object>> executeDynamicQuery(ProcedureInvocation invocation) {
+        return executeDynamicQuery(invocation, true);
+    }
+
+    /**
+     * @param includeFileData false 이면 FILEDATA 를 Base64 로 바꾸지 않고 메타정보(FILESIZE, 저장소 참조이면 FILEHASH)만 넣는다.
+     *                        (내용은 다운로드 API 로 조회, DB 전송을 줄이려면 FILEDATA 를 조회하지 않는 메타정보 전용 프로시저를 호출)
+     */
+    public List<Map<String, Object>> executeDynamicQuery(ProcedureInvocation invocation, boolean includeFileData) {
         List<Map<String, Object>> mappedResult = new ArrayList<>();
         Connection connection = null;
         CallableStatement stmt = null;
         ResultSet rs = null;
 
         try {
-            String procedureName = procedureCall.substring(0, procedureCall.indexOf('(')).trim();
-            String paramString = procedureTAB("(", ")", procedureCall).trim();
-            List<Object> params = parseParameters(paramString, Collections.emptyList());
-            String callString = createCallString(procedureName, params.size());
-
             connection = DataSourceUtils.getConnection(dataSource);
             if (connection == null) {
                 errorMessage = "executeDynamicQuery failed: Unable to obtain JDBC Connection from DataSource";
@@ -139,16 +128,8 @@ public class DynamicQueryFileService {
                 throw new IllegalStateException("Unable to obtain JDBC Connection from DataSource");
             }
 
-            stmt = connection.prepareCall(callString);
-
-            for (int i = 0; i < params.size(); i++) {
-                Object param = params.get(i);
-                if (param instanceof String) {
-                    stmt.setString(i + 1, (String) param);
-                } else {
-                    stmt.setObject(i + 1, param);
-                }
-            }
+            stmt = connection.prepareCall(invocation.getCallString());
+            invocation.bind(stmt);
 
             boolean hasResultSet = stmt.execute();
             if (!hasResultSet) {
@@ -166,9 +147,11 @@ public class DynamicQueryFileService {
                 Map<String, Object> rowMap = new LinkedHashMap<>();
                 for (int i = 0; i < columnNames.size(); i++) {
                     Object value = rs.getObject(i + 1);
-                    if ("FILEDATA".equalsIgnoreCase(columnNames.get(i)) && value instanceof Blob) {
+                    if (!includeFileData && "FILEDATA".equalsIgnoreCase(columnNames.get(i))) {
+                        putFileMetadata(rowMap, value);
+                    } else if ("FILEDATA".equalsIgnoreCase(columnNames.get(i)) && value instanceof Blob) {
                         Blob blob = (Blob) value;
-                        try (InputStream inputStream = blob.getBinaryStream()) {
+                        try (InputStream inputStream = openFileData(blob)) {
                             byte[] bytes = inputStream.readAllBytes();
                             if (bytes.length > fileConfig.getMaxFileSize()) {
                                 logger.warn("Retrieved file size exceeds {}MB limit: {}", fileConfig.getMaxFileSize() / (1024 * 1024), bytes.length);
@@ -191,7 +174,7 @@ public class DynamicQueryFileService {
             }
 
         } catch (Exception e) {
-            errorMessage = "executeDynamicQuery failed for procedureCall: " + procedureCall;
+            errorMessage = "executeDynamicQuery failed for procedure: " + invocation.getProcedureName();
             logger.error(this.getErrorMessage(), e.getMessage(), e);
             throw new IllegalArgumentException("데이터베이스 오류: " + e.getMessage());
         } finally {
@@ -200,7 +183,7 @@ public class DynamicQueryFileService {
                 if (stmt != null) stmt.close();
                 DataSourceUtils.releaseConnection(connection, dataSource);
             } catch (Exception e) {
-                errorMessage = "executeDynamicQuery failed: Error closing resources for procedureCall: " + procedureCall;
+                errorMessage = "executeDynamicQuery failed: Error closing resources for procedure: " + invocation.getProcedureName();
                 logger.error(this.getErrorMessage(), e.getMessage(), e);
             }
         }
@@ -208,6 +191,222 @@ public class DynamicQueryFileService {
         return mappedResult;
     }
 
+    /**
+     * 같은 프로시저를 여러 번 한 커넥션/트랜잭션에서 실행 (다중 파일 업로드)
+     * CallableStatement 하나를 재사용하고 호출마다 첫 결과 행(ERRCD/ERRMSG)을 읽는다.
+     * executeBatch 는 프로시저 결과셋을 돌려주지 않으므로 호출별 결과를 받기 위해 execute 를 반복한다.
+     * ERRCD 가 00 이 아닌 호출이 있으면 그 지점에서 멈추고 롤백한다. (Spring 트랜잭션 안이면 트랜잭션 관리는 호출자에 맡긴다)
+     * @return 실행한 호출 순서대로 첫 결과 행 (실패 시 실패한 호출까지)
+     */
+    public List<Map<String, Object>> executeFileBatch(List<ProcedureInvocation> invocations) {
+        List<Map<String, Object>> results = new ArrayList<>(invocations.size());
+        if (invocations.isEmpty()) {
+            return results;
+        }
+
+        String callString = invocations.get(0).getCallString();
+        String procedureName = invocations.get(0).getProcedureName();
+        Connection connection = null;
+        CallableStatement stmt = null;
+        boolean manageTransaction = false;
+        boolean previousAutoCommit = true;
+
+        try {
+            for (ProcedureInvocation invocation : invocations) {
+                if (!callString.equals(invocation.getCallString())) {
+                    throw new IllegalArgumentException("All batch calls must use the same procedure: " + procedureName);
+                }
+                for (ProcedureArgument argument : invocation.getArguments()) {
+                    if (argument.getLength() > fileConfig.getMaxFileSize()) {
+                        throw new IllegalArgumentException("File size exceeds " + (fileConfig.getMaxFileSize() / (1024 * 1024)) + "MB limit");
+                    }
+                }
+            }
+
+            connection = DataSourceUtils.getConnection(dataSource);
+            if (connection == null) {
+                errorMessage = "executeFileBatch failed: Unable to obtain JDBC Connection from DataSource";
+                logger.error(this.getErrorMessage());
+                throw new IllegalStateException("Unable to obtain JDBC Connection from DataSource");
+            }
+
+            manageTransaction = !DataSourceUtils.isConnectionTransactional(connection, dataSource);
+            if (manageTransaction) {
+                previousAutoCommit = connection.getAutoCommit();
+                connection.setAutoCommit(false);
+            }
+
+            stmt = connection.prepareCall(callString);
+            boolean failed = false;
+            for (ProcedureInvocation invocation : invocations) {
+                stmt.clearParameters();
+                invocation.bind(stmt);
+
+                Map<String, Object> row = new LinkedHashMap<>();
+                if (stmt.execute()) {
+                    try (ResultSet rs = stmt.getResultSet()) {
+                        List<String> columnNames = getColumnNames(rs);
+                        if (rs.next()) {
+                            for (int i = 0; i < columnNames.size(); i++) {
+                                Object value = rs.getObject(i + 1);
+                                row.put(columnNames.get(i), value instanceof Blob ? ((Blob) value).length() : value == null ? "" : value);
+                            }
+                        }
+                    }
+                }
+                results.add(row);
+
+                if (!"00".equals(String.valueOf(row.getOrDefault("ERRCD", "00")))) {
+                    failed = true;
+                    break;
+                }
+            }
+
+            if (manageTransaction) {
+                if (failed) {
+                    connection.rollback();
+                    logger.warn("executeFileBatch rolled back: procedure={}, executed={}/{}", procedureName, results.size(), invocations.size());
+                } else {
+                    connection.commit();
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            rollbackQuietly(connection, manageTransaction);
+            throw e;
+        } catch (Exception e) {
+            rollbackQuietly(connection, manageTransaction);
+            errorMessage = "executeFileBatch failed for procedure: " + procedureName;
+            logger.error(this.getErrorMessage(), e.getMessage(), e);
+            throw new IllegalArgumentException("데이터베이스 오류: " + e.getMessage());
+        } finally {
+            try {
+                if (stmt != null) stmt.close();
+                if (manageTransaction && connection != null) connection.setAutoCommit(previousAutoCommit);
+            } catch (Exception e) {
+                errorMessage = "executeFileBatch failed: Error closing resources for procedure: " + procedureName;
+                logger.error(this.getErrorMessage(), e.getMessage(), e);
+            } finally {
+                DataSourceUtils.releaseConnection(connection, dataSource);
+            }
+        }
+
+        return results;
+    }
+
+    private void rollbackQuietly(Connection connection, boolean manageTransaction) {
+        if (!manageTransaction || connection == null) {
+            return;
+        }
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            logger.error("executeFileBatch rollback failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 파일 조회 프로시저를 실행하고 첫 행의 메타정보와 FILEDATA 를 ResultSet 이 열려 있는 동안 handler 로 전달
+     * FILEDATA 를 byte[]/Base64 로 변환하지 않으므로 다운로드 시 응답으로 바로 복사할 수 있다.
+     * 단, CallableStatement 결과의 LONGBLOB 은 드라이버가 행을 받을 때 전체를 읽어 두므로 Blob 은 이미 메모리에 있다.
+     * @return 결과 행이 있으면 true
+     */
+    public boolean streamFileData(ProcedureInvocation invocation, FileDataHandler handler) throws IOException {
+        Connection connection = null;
+        CallableStatement stmt = null;
+        ResultSet rs = null;
+
+        try {
+            connection = DataSourceUtils.getConnection(dataSource);
+            if (connection == null) {
+                errorMessage = "streamFileData failed: Unable to obtain JDBC Connection from DataSource";
+                logger.error(this.getErrorMessage());
+                throw new IllegalStateException("Unable to obtain JDBC Connection from DataSource");
+            }
+
+            stmt = connection.prepareCall(invocation.getCallString());
+            invocation.bind(stmt);
+
+            boolean hasResultSet = stmt.execute();
+            rs = hasResultSet ? stmt.getResultSet() : null;
+            if (rs == null || !rs.next()) {
+                return false;
+            }
+
+            List<String> columnNames = getColumnNames(rs);
+            Map<String, Object> metadata = new LinkedHashMap<>();
+            Blob fileData = null;
+            for (int i = 0; i < columnNames.size(); i++) {
+                Object value = rs.getObject(i + 1);
+                if ("FILEDATA".equalsIgnoreCase(columnNames.get(i))) {
+                    if (value instanceof Blob) {
+                        fileData = (Blob) value;
+                    } else if (value instanceof byte[]) {
+                        fileData = new SerialBlob((byte[]) value);
+                    }
+                } else {
+                    metadata.put(columnNames.get(i), value == null ? "" : value);
+                }
+            }
+
+            try {
+                handler.onFile(metadata, fileData);
+            } finally {
+                if (fileData != null) {
+                    fileData.free();
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            // 클라이언트 연결 종료 등 출력 오류는 호출자가 처리
+            throw e;
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (Exception e) {
+            errorMessage = "streamFileData failed for procedure: " + invocation.getProcedureName();
+            logger.error(this.getErrorMessage(), e.getMessage(), e);
+            throw new IllegalArgumentException("데이터베이스 오류: " + e.getMessage());
+        } finally {
+            try {
+                if (rs != null) rs.close();
+                if (stmt != null) stmt.close();
+                DataSourceUtils.releaseConnection(connection, dataSource);
+            } catch (Exception e) {
+                errorMessage = "streamFileData failed: Error closing resources for procedure: " + invocation.getProcedureName();
+                logger.error(this.getErrorMessage(), e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * FILEDATA 내용 스트림, 저장소 참조이면 저장소 파일 내용 (압축 저장 파일은 해제)
+     */
+    private InputStream openFileData(Blob blob) throws SQLException, IOException {
+        String sha256 = attachmentStore.findReference(blob);
+        return sha256 == null ? blob.getBinaryStream() : attachmentStore.resolve(sha256).open(0);
+    }
+
+    /**
+     * 목록용 FILEDATA 대체 값: 저장소 참조이면 FILEHASH 와 저장소 파일의 원본 크기(FILESIZE)
+     * DB 에 내용이 있는 행은 해시를 계산하지 않아 FILEHASH 를 넣지 않고, 프로시저가 FILESIZE 를 주지 않으면 Blob 크기를 넣는다.
+     * 메타정보 전용 프로시저는 참조가 아닌 행의 FILEDATA 를 NULL 로 돌려준다. (resources/sql/file_list_metadata.sql)
+     */
+    private void putFileMetadata(Map<String, Object> rowMap, Object value) throws SQLException {
+        Blob blob = value instanceof Blob ? (Blob) value : value instanceof byte[] ? new SerialBlob((byte[]) value) : null;
+        if (blob == null) {
+            return;
+        }
+        String sha256 = attachmentStore.findReference(blob);
+        if (sha256 != null) {
+            rowMap.put("FILEHASH", sha256);
+            rowMap.put("FILESIZE", attachmentStore.resolve(sha256).getLength());
+            return;
+        }
+        Object fileSize = rowMap.get("FILESIZE");
+        if (fileSize == null || "".equals(fileSize)) {
+            rowMap.put("FILESIZE", blob.length());
+        }
+    }
+
     private List<String> getColumnNames(ResultSet rs) {
         List<String> columnNames = new ArrayList<>();
         try {
@@ -230,56 +429,4 @@ public class DynamicQueryFileService {
         }
         return columnNames;
     }
-
-    private List<Object> parseParameters(String paramString, List<Object> originalParams) {
-        List<Object> params = new ArrayList<>();
-        if (paramString.isEmpty()) {
-            return params;
-        }
-
-        String[] paramArray = paramString.split(",\\s*");
-        int originalParamIndex = 0;
-
-        for (String param : paramArray) {
-            param = param.trim();
-            if (param.startsWith("'") && param.endsWith("'")) {
-                String value = param.substring(1, param.length() - 1).replace("''", "'");
-                if ("DATA".equals(value) && originalParamIndex < originalParams.size() && originalParams.get(originalParamIndex) instanceof byte[]) {
-                    params.add(originalParams.get(originalParamIndex));
-                } else {
-                    params.add(value);
-                }
-                originalParamIndex++;
-            } else if (param.startsWith("[") && param.endsWith("]")) {
-                try {
-                    String base64 = param.substring(1, param.length() - 1);
-                    byte[] decoded = Base64.getDecoder().decode(base64);
-                    if (decoded.length > fileConfig.getMaxFileSize()) {
-                        errorMessage = "parseParameters failed: Base64 data exceeds " + (fileConfig.getMaxFileSize() / (1024 * 1024)) + "MB limit for param: " + param;
-                        logger.error(this.getErrorMessage());
-                        throw new IllegalArgumentException("Base64 data exceeds " + (fileConfig.getMaxFileSize() / (1024 * 1024)) + "MB limit");
-                    }
-                    params.add(decoded);
-                    originalParamIndex++;
-                } catch (IllegalArgumentException e) {
-                    errorMessage = "parseParameters failed: Failed to decode Base64 for param: " + param;
-                    logger.error(this.getErrorMessage(), e.getMessage(), e);
-                    params.add(null);
-                }
-            } else {
-                logger.warn("Invalid parameter format: {}", param);
-                params.add(null);
-            }
-        }
-        return params;
-    }
-
-    private String procedureTAB(String open, String close, String procedureCall) {
-        int start = procedureCall.indexOf(open) + 1;
-        int end = procedureCall.lastIndexOf(close);
-        if (start < 0 || end < 0 || start >= end) {
-            return "";
-        }
-        return procedureCall.substring(start, end);
-    }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.boot.cms.service.mapview;
 
+import com.boot.cms.dto.mapview.ProcedureInvocation;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
@@ -9,13 +10,12 @@ import org.springframework.jdbc.datasource.DataSourceUtils;
 import org.springframework.stereotype.Service;
 
 import javax.sql.DataSource;
+import java.io.IOException;
 import java.sql.CallableStatement;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 @Service
 @RequiredArgsConstructor
@@ -29,34 +29,20 @@ public class DynamicQueryService {
     @Getter
     String errorMessage;
 
-    private String createCallString(String procedureName, int paramCount) {
-        String placeholders = String.join(",", Collections.nCopies(paramCount, "?"));
-        return "{call " + procedureName + "(" + placeholders + ")}";
-    }
-
-    public List<Map<String, Object>> executeDynamicQuery(String procedureCall) {
+    public List<Map<String, Object>> executeDynamicQuery(ProcedureInvocation invocation) {
         List<Map<String, Object>> mappedResult = new ArrayList<>();
         Connection connection = null;
         CallableStatement stmt = null;
         ResultSet rs = null;
 
         try {
-            String procedureName = procedureCall.substring(0, procedureCall.indexOf('(')).trim();
-            String paramString = procedureTAB("(", ")", procedureCall).trim();
-            List<String> params = parseParameters(paramString);
-            String callString = createCallString(procedureName, params.size());
-
             connection = DataSourceUtils.getConnection(dataSource);
             if (connection == null) {
                 throw new IllegalStateException("Unable to obtain JDBC Connection from DataSource");
             }
 
-            stmt = connection.prepareCall(callString);
-
-            for (int i = 0; i < params.size(); i++) {
-                String param = params.get(i);
-                stmt.setString(i + 1, param);
-            }
+            stmt = connection.prepareCall(invocation.getCallString());
+            invocation.bind(stmt);
 
             boolean hasResultSet = stmt.execute();
             if (!hasResultSet) {
@@ -80,7 +66,7 @@ public class DynamicQueryService {
 
         } catch (Exception e) {
             errorMessage = "Error executing stored procedure: {}, Error: {}";
-            logger.error(this.getErrorMessage(), procedureCall, e.getMessage(), e);
+            logger.error(this.getErrorMessage(), invocation, e.getMessage(), e);
             throw new IllegalArgumentException("데이터베이스 오류: " + e.getMessage());
         } finally {
             try {
@@ -96,6 +82,68 @@ public class DynamicQueryService {
         return mappedResult;
     }
 
+    /**
+     * 결과를 List 로 모으지 않고 fetchSize 단위로 읽으며 행마다 handler 로 전달
+     * @return 전달한 행 수
+     */
+    public long streamDynamicQuery(ProcedureInvocation invocation, int fetchSize, ResultRowHandler handler) throws IOException {
+        long rowCount = 0;
+        Connection connection = null;
+        CallableStatement stmt = null;
+        ResultSet rs = null;
+
+        try {
+            connection = DataSourceUtils.getConnection(dataSource);
+            if (connection == null) {
+                throw new IllegalStateException("Unable to obtain JDBC Connection from DataSource");
+            }
+
+            stmt = connection.prepareCall(invocation.getCallString());
+            stmt.setFetchSize(fetchSize);
+            invocation.bind(stmt);
+
+            boolean hasResultSet = stmt.execute();
+            rs = hasResultSet ? stmt.getResultSet() : null;
+            if (rs == null) {
+                handler.onColumns(Collections.emptyList());
+                return 0;
+            }
+
+            rs.setFetchSize(fetchSize);
+            List<String> columnNames = getColumnNames(rs);
+            handler.onColumns(columnNames);
+
+            int columnCount = columnNames.size();
+            while (rs.next()) {
+                Object[] values = new Object[columnCount];
+                for (int i = 0; i < columnCount; i++) {
+                    Object value = rs.getObject(i + 1);
+                    values[i] = value == null ? "" : value;
+                }
+                handler.onRow(values);
+                rowCount++;
+            }
+        } catch (IOException e) {
+            // 클라이언트 연결 종료 등 출력 오류는 호출자가 처리
+            throw e;
+        } catch (Exception e) {
+            errorMessage = "Error streaming stored procedure: {}, Error: {}";
+            logger.error(this.getErrorMessage(), invocation, e.getMessage(), e);
+            throw new IllegalArgumentException("데이터베이스 오류: " + e.getMessage());
+        } finally {
+            try {
+                if (rs != null) rs.close();
+                if (stmt != null) stmt.close();
+                DataSourceUtils.releaseConnection(connection, dataSource);
+            } catch (Exception e) {
+                errorMessage = "Error closing resources: {}";
+                logger.error(this.getErrorMessage(), e.getMessage(), e);
+            }
+        }
+
+        return rowCount;
+    }
+
     private List<String> getColumnNames(ResultSet rs) {
         List<String> columnNames = new ArrayList<>();
         try {
@@ -118,31 +166,4 @@ public class DynamicQueryService {
         }
         return columnNames;
     }
-
-    private List<String> parseParameters(String paramString) {
-        List<String> params = new ArrayList<>();
-        if (paramString.isEmpty()) {
-            return params;
-        }
-
-        Pattern pattern = Pattern.compile("'([^']*)'");
-        Matcher matcher = pattern.matcher(paramString);
-        while (matcher.find()) {
-            String param = matcher.group(1);
-            if (param.contains("(") || param.contains(")")) {
-                param = param.replaceAll("[()]", "");
-            }
-            params.add(param);
-        }
-        return params;
-    }
-
-    private String procedureTAB(String open, String close, String procedureCall) {
-        int start = procedureCall.indexOf(open) + 1;
-        int end = procedureCall.lastIndexOf(close);
-        if (start < 0 || end < 0 || start >= end) {
-            return "";
-        }
-        return procedureCall.substring(start, end);
-    }
 }
\ No newline at end of file
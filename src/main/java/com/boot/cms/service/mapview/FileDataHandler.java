@@ -0,0 +1,19 @@
+package com.boot.cms.service.mapview;
+
+import java.io.IOException;
+import java.sql.Blob;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * 파일 조회 프로시저의 첫 행을 ResultSet 이 열려 있는 동안 전달받는 콜백
+ * fileData 는 콜백이 끝나면 닫히므로 밖으로 넘기지 않는다.
+ */
+public interface FileDataHandler {
+
+    /**
+     * @param metadata FILEDATA 를 제외한 컬럼 값 (null 은 "")
+     * @param fileData FILEDATA 컬럼 (없으면 null)
+     */
+    void onFile(Map<String, Object> metadata, Blob fileData) throws IOException, SQLException;
+}
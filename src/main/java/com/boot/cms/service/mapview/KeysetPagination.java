@@ -0,0 +1,178 @@
+package com.boot.cms.service.mapview;
+
+import com.boot.cms.config.AppConfig;
+import com.boot.cms.dto.common.ColumnarResult;
+import com.boot.cms.dto.common.PageInfoDto;
+import com.boot.cms.dto.mapview.ProcedureArgument;
+import com.boot.cms.dto.mapview.ProcedureInvocation;
+import com.boot.cms.util.EscapeUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * mapview 키셋 페이지 처리
+ * UP_MAPVIEW_SELECT 의 JOBTYPE 이 MAPVIEW_PAGE_JOBTYPE 인 프로시저는 UI 파라미터(PARAMCNT) 뒤에
+ * (커서키, 조회건수) 두 인자를 더 받아 커서키 다음 행부터 조회건수만큼 정렬 순서대로 반환하고,
+ * 각 행에 커서 컬럼(MAPVIEW_PAGE_CURSOR_COLUMN)을 포함한다. 첫 페이지의 커서키는 빈 문자열이다.
+ * 다음 페이지 존재 여부는 pageSize + 1 건을 요청해 판단하며, 커서는 rptCd 를 포함한 Base64 토큰으로 전달한다.
+ * 커서키는 unescape 된 결과 행에서 꺼내므로, 바인딩할 때는 다른 UI 파라미터와 같이 escape 해 저장 형식과 비교되게 한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class KeysetPagination {
+
+    private static final char TOKEN_SEPARATOR = '\n';
+
+    private final AppConfig.MapViewPageConfig pageConfig;
+    private final EscapeUtil escapeUtil;
+
+    /**
+     * @param jobType UP_MAPVIEW_SELECT / UP_MAPVIEWFILES_SELECT 의 JOBTYPE
+     */
+    public boolean isPaged(String jobType) {
+        return jobType != null && pageConfig.getJobType().equalsIgnoreCase(jobType.trim());
+    }
+
+    public KeysetPage open(String rptCd, MapViewPageRequest pageRequest) {
+        return open(rptCd, pageRequest, pageConfig.getMaxPageSize());
+    }
+
+    /**
+     * @param maxPageSize 호출 경로별 상한 (파일 조회는 MAX_RESULT_SIZE)
+     */
+    public KeysetPage open(String rptCd, MapViewPageRequest pageRequest, int maxPageSize) {
+        MapViewPageRequest request = pageRequest != null ? pageRequest : MapViewPageRequest.firstPage();
+        int limit = Math.max(1, Math.min(maxPageSize, pageConfig.getMaxPageSize()));
+
+        int pageSize = request.getPageSize() == null || request.getPageSize() <= 0
+                ? Math.min(pageConfig.getDefaultPageSize(), limit)
+                : Math.min(request.getPageSize(), limit);
+        String cursorKey = request.getCursor() == null ? "" : decode(rptCd, request.getCursor());
+        return new KeysetPage(rptCd, pageSize, cursorKey);
+    }
+
+    private String encode(String rptCd, String cursorKey) {
+        String token = rptCd.toUpperCase() + TOKEN_SEPARATOR + cursorKey;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String decode(String rptCd, String cursor) {
+        String token;
+        try {
+            token = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("잘못된 cursor 입니다.");
+        }
+        String prefix = rptCd.toUpperCase() + TOKEN_SEPARATOR;
+        if (!token.startsWith(prefix)) {
+            throw new IllegalArgumentException("잘못된 cursor 입니다.");
+        }
+        return token.substring(prefix.length());
+    }
+
+    /**
+     * 한 번의 페이지 조회 상태
+     */
+    public final class KeysetPage {
+        private final String rptCd;
+        private final int pageSize;
+        private final String cursorKey;
+
+        // 스트리밍 조회 시 limit() 으로 기록
+        private boolean streamHasNext;
+        private String streamLastCursorKey;
+
+        private KeysetPage(String rptCd, int pageSize, String cursorKey) {
+            this.rptCd = rptCd;
+            this.pageSize = pageSize;
+            this.cursorKey = cursorKey;
+        }
+
+        public ProcedureInvocation apply(ProcedureInvocation invocation) {
+            return invocation.withAppendedArguments(List.of(
+                    ProcedureArgument.string(escapeUtil.escape(cursorKey)),
+                    ProcedureArgument.string(String.valueOf(pageSize + 1))));
+        }
+
+        /**
+         * 결과 캐시 키용 파라미터 (UI 파라미터 + 커서키 + 페이지 크기)
+         */
+        public List<String> cacheKeyParams(List<String> params) {
+            List<String> keyParams = new ArrayList<>(params);
+            keyParams.add(cursorKey);
+            keyParams.add(String.valueOf(pageSize));
+            return keyParams;
+        }
+
+        /**
+         * pageSize + 1 건 조회 결과를 pageSize 건으로 자르고 다음 커서 생성
+         */
+        public MapViewPage close(List<Map<String, Object>> rows) {
+            if (rows.size() <= pageSize) {
+                return new MapViewPage(rows, new PageInfoDto(pageSize, false, null));
+            }
+
+            List<Map<String, Object>> pageRows = new ArrayList<>(rows.subList(0, pageSize));
+            Object lastKey = pageRows.get(pageSize - 1).get(pageConfig.getCursorColumn());
+            return new MapViewPage(pageRows, new PageInfoDto(pageSize, true, encode(rptCd, requireCursorKey(lastKey))));
+        }
+
+        /**
+         * 컬럼형 결과용 close (컬럼과 행 배열은 원래 결과와 공유)
+         */
+        public MapViewPage close(ColumnarResult result) {
+            if (result.size() <= pageSize) {
+                return new MapViewPage(result, new PageInfoDto(pageSize, false, null));
+            }
+
+            Object lastKey = result.getValue(pageSize - 1, pageConfig.getCursorColumn());
+            return new MapViewPage(result.slice(0, pageSize), new PageInfoDto(pageSize, true, encode(rptCd, requireCursorKey(lastKey))));
+        }
+
+        /**
+         * 스트리밍 조회에서 pageSize 건까지만 전달하고 마지막 커서키를 기록하는 handler
+         */
+        public ResultRowHandler limit(ResultRowHandler handler) {
+            return new ResultRowHandler() {
+                private int cursorIndex = -1;
+                private long passed;
+
+                @Override
+                public void onColumns(List<String> columnNames) throws IOException {
+                    cursorIndex = columnNames.indexOf(pageConfig.getCursorColumn());
+                    handler.onColumns(columnNames);
+                }
+
+                @Override
+                public void onRow(Object[] values) throws IOException {
+                    if (passed >= pageSize) {
+                        streamHasNext = true;
+                        return;
+                    }
+                    streamLastCursorKey = cursorIndex < 0 ? null : String.valueOf(values[cursorIndex]);
+                    handler.onRow(values);
+                    passed++;
+                }
+            };
+        }
+
+        public PageInfoDto streamPageInfo() {
+            return new PageInfoDto(pageSize, streamHasNext,
+                    streamHasNext ? encode(rptCd, requireCursorKey(streamLastCursorKey)) : null);
+        }
+
+        private String requireCursorKey(Object value) {
+            if (value == null) {
+                throw new IllegalArgumentException("페이지 조회 결과에 " + pageConfig.getCursorColumn() + " 컬럼이 없습니다.");
+            }
+            return value.toString();
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.boot.cms.service.mapview;
+
+import com.boot.cms.config.AppConfig;
+import jakarta.annotation.PostConstruct;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 로컬 디렉터리 첨부파일 저장소
+ * {root}/ab/cd/abcd...(64자리 해시) 에 저장하며, 임시 파일에 쓰면서 해시를 계산한 뒤 원자적으로 이동한다.
+ * 압축한 파일은 파일명 뒤에 codec(.deflate)을 붙여 구분하고, 해시는 압축 전 원본 내용으로 계산한다.
+ * 같은 해시 파일이 있으면 임시 파일만 지운다. (중복 제거)
+ */
+@Component
+@RequiredArgsConstructor
+public class LocalAttachmentStore implements AttachmentStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalAttachmentStore.class);
+
+    private final AppConfig.AttachmentStoreConfig attachmentStoreConfig;
+    private final AttachmentCodec attachmentCodec;
+
+    private Path root;
+    private Path tempDir;
+
+    private final AtomicLong storedCount = new AtomicLong();
+    private final AtomicLong deduplicatedCount = new AtomicLong();
+    private final AtomicLong bytesWritten = new AtomicLong();
+
+    @Setter
+    @Getter
+    String errorMessage;
+
+    @PostConstruct
+    public void start() throws IOException {
+        root = Paths.get(attachmentStoreConfig.getRootDir()).toAbsolutePath().normalize();
+        tempDir = root.resolve("tmp");
+        if (isEnabled() || attachmentStoreConfig.isMigrationEnabled()) {
+            Files.createDirectories(tempDir);
+            logger.info("Attachment store directory: {}", root);
+        }
+        if (attachmentCodec.isEnabled() && !isEnabled()) {
+            logger.warn("ATTACHMENT_COMPRESSION_ENABLED is ignored: compression applies only to the attachment store");
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return attachmentStoreConfig.isEnabled();
+    }
+
+    @Override
+    public StoredAttachment store(InputStream in, long length, String fileName) throws IOException {
+        String codec = attachmentCodec.selectCodec(fileName, length);
+        Path temp = Files.createTempFile(tempDir, "upload-", ".part");
+        try {
+            MessageDigest digest = newDigest();
+            long size;
+            try (DigestInputStream digestIn = new DigestInputStream(in, digest)) {
+                size = AttachmentCodec.CODEC_DEFLATE.equals(codec)
+                        ? writeCompressed(digestIn, temp)
+                        : Files.copy(digestIn, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            if (length >= 0 && size != length) {
+                throw new IllegalArgumentException("File size mismatch: expected " + length + ", read " + size);
+            }
+
+            // 같은 원본 내용은 codec 과 상관없이 한 번만 저장
+            String sha256 = HexFormat.of().formatHex(digest.digest());
+            if (find(sha256) != null) {
+                deduplicatedCount.incrementAndGet();
+                return new StoredAttachment(sha256, size, true);
+            }
+
+            Path target = pathOf(sha256, codec);
+            Files.createDirectories(target.getParent());
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                // 같은 내용을 동시에 저장한 경우
+                deduplicatedCount.incrementAndGet();
+                return new StoredAttachment(sha256, size, true);
+            }
+            storedCount.incrementAndGet();
+            bytesWritten.addAndGet(Files.size(target));
+            return new StoredAttachment(sha256, size, false);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public StoredFile resolve(String sha256) {
+        if (sha256 == null || !sha256.matches("[0-9a-f]{64}")) {
+            throw new IllegalArgumentException("Invalid attachment hash: " + sha256);
+        }
+        StoredFile stored;
+        try {
+            stored = find(sha256);
+        } catch (IOException e) {
+            errorMessage = "Attachment file read failed: {}";
+            logger.error(this.getErrorMessage(), sha256, e);
+            throw new IllegalArgumentException("첨부파일을 읽을 수 없습니다.");
+        }
+        if (stored == null) {
+            errorMessage = "Attachment file not found: {}";
+            logger.error(this.getErrorMessage(), pathOf(sha256, AttachmentCodec.CODEC_NONE));
+            throw new IllegalArgumentException("첨부파일을 찾을 수 없습니다.");
+        }
+        return stored;
+    }
+
+    @Override
+    public boolean contains(String sha256) {
+        if (sha256 == null || !sha256.matches("[0-9a-f]{64}")) {
+            return false;
+        }
+        return Files.isRegularFile(pathOf(sha256, AttachmentCodec.CODEC_NONE))
+                || Files.isRegularFile(pathOf(sha256, AttachmentCodec.CODEC_DEFLATE));
+    }
+
+    /**
+     * 해시에 해당하는 저장 파일 (원본 또는 .deflate, 없으면 null)
+     * .deflate 파일은 원본 크기(8바이트) 뒤에 zlib 데이터가 온다.
+     */
+    private StoredFile find(String sha256) throws IOException {
+        Path raw = pathOf(sha256, AttachmentCodec.CODEC_NONE);
+        if (Files.isRegularFile(raw)) {
+            return new StoredFile(raw, AttachmentCodec.CODEC_NONE, Files.size(raw), 0);
+        }
+        Path compressed = pathOf(sha256, AttachmentCodec.CODEC_DEFLATE);
+        if (Files.isRegularFile(compressed)) {
+            try (InputStream in = Files.newInputStream(compressed)) {
+                byte[] header = in.readNBytes(Long.BYTES);
+                if (header.length < Long.BYTES) {
+                    throw new IOException("Invalid compressed attachment: " + compressed);
+                }
+                return new StoredFile(compressed, AttachmentCodec.CODEC_DEFLATE, ByteBuffer.wrap(header).getLong(), Long.BYTES);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 원본 크기 자리를 비워 두고 압축해서 쓴 뒤 읽은 원본 바이트 수를 채운다.
+     */
+    private long writeCompressed(InputStream in, Path temp) throws IOException {
+        long size;
+        try (OutputStream file = Files.newOutputStream(temp)) {
+            file.write(new byte[Long.BYTES]);
+            try (OutputStream out = attachmentCodec.compress(file)) {
+                size = in.transferTo(out);
+            }
+        }
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(Long.BYTES).putLong(size).flip(), 0);
+        }
+        return size;
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", isEnabled());
+        stats.put("rootDir", root == null ? "" : root.toString());
+        stats.put("storedCount", storedCount.get());
+        stats.put("deduplicatedCount", deduplicatedCount.get());
+        stats.put("bytesWritten", bytesWritten.get());
+        return stats;
+    }
+
+    private Path pathOf(String sha256, String codec) {
+        String name = AttachmentCodec.CODEC_NONE.equals(codec) ? sha256 : sha256 + "." + codec;
+        return root.resolve(sha256.substring(0, 2)).resolve(sha256.substring(2, 4)).resolve(name);
+    }
+
+    private MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.boot.cms.service.mapview;
+
+import com.boot.cms.config.AppConfig;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 메타정보 캐시 적중으로 UP_MAPVIEW_SELECT / UP_MAPVIEWFILES_SELECT 를 호출하지 않은 요청의 감사 이력 기록
+ * (사번, IP, 파라미터, 접속구분, UserAgent, 테이블 정의는 resources/sql/tb_mapviewhist.sql)
+ * 요청 스레드는 제한된 큐에 넣기만 하고, 별도 스레드가 건수/시간 기준으로 JDBC 배치 INSERT 한다.
+ * 큐가 가득 차면 요청을 지연시키지 않고 해당 건을 버리며 droppedCount 로 집계한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class MapViewAuditService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MapViewAuditService.class);
+
+    private final DataSource dataSource;
+    private final AppConfig.AuditConfig auditConfig;
+
+    private BlockingQueue<AuditRecord> queue;
+    private Thread flushThread;
+    private volatile boolean running;
+    private String insertSql;
+
+    private final AtomicLong enqueuedCount = new AtomicLong();
+    private final AtomicLong writtenCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong flushCount = new AtomicLong();
+    private final AtomicLong highWaterMark = new AtomicLong();
+
+    @Setter
+    @Getter
+    String errorMessage;
+
+    @PostConstruct
+    public void start() {
+        String auditTable = auditConfig.getAuditTable();
+        if (!auditTable.matches("[A-Za-z0-9_]+")) {
+            throw new IllegalStateException("Invalid audit table name: " + auditTable);
+        }
+        insertSql = "INSERT INTO " + auditTable + " (EMPNO, IP, RPTCD, JOBGB, PARAMS, USERCONGB, USERAGENT, REGDT) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+        queue = new ArrayBlockingQueue<>(auditConfig.getQueueCapacity());
+        running = true;
+        flushThread = new Thread(this::flushLoop, "mapview-audit-writer");
+        flushThread.setDaemon(true);
+        flushThread.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        flushThread.interrupt();
+        try {
+            flushThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // 종료 시점에 남아 있는 이력은 호출 스레드에서 모두 기록
+        List<AuditRecord> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        for (int from = 0; from < remaining.size(); from += auditConfig.getBatchSize()) {
+            flush(remaining.subList(from, Math.min(from + auditConfig.getBatchSize(), remaining.size())));
+        }
+    }
+
+    /**
+     * 감사 이력 적재 요청 (비차단)
+     */
+    public void record(String empNo, String ip, String rptCd, String jobGb, String params, String userCongb, String userAgent) {
+        AuditRecord record = new AuditRecord(empNo, ip, rptCd, jobGb, params, userCongb, userAgent, new Timestamp(System.currentTimeMillis()));
+        if (!queue.offer(record)) {
+            long dropped = droppedCount.incrementAndGet();
+            if (dropped == 1 || dropped % 1000 == 0) {
+                logger.warn("Audit queue overflow: capacity={}, dropped={}", auditConfig.getQueueCapacity(), dropped);
+            }
+            return;
+        }
+
+        enqueuedCount.incrementAndGet();
+        highWaterMark.accumulateAndGet(queue.size(), Math::max);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("queueSize", queue.size());
+        stats.put("queueCapacity", auditConfig.getQueueCapacity());
+        stats.put("highWaterMark", highWaterMark.get());
+        stats.put("enqueuedCount", enqueuedCount.get());
+        stats.put("writtenCount", writtenCount.get());
+        stats.put("droppedCount", droppedCount.get());
+        stats.put("failedCount", failedCount.get());
+        stats.put("flushCount", flushCount.get());
+        return stats;
+    }
+
+    private void flushLoop() {
+        int batchSize = auditConfig.getBatchSize();
+        long flushIntervalMillis = auditConfig.getFlushIntervalMillis();
+        List<AuditRecord> batch = new ArrayList<>(batchSize);
+        long deadline = System.currentTimeMillis() + flushIntervalMillis;
+
+        while (running) {
+            try {
+                long waitMillis = deadline - System.currentTimeMillis();
+                AuditRecord first = waitMillis > 0 ? queue.poll(waitMillis, TimeUnit.MILLISECONDS) : null;
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - batch.size());
+                }
+            } catch (InterruptedException e) {
+                if (!running) {
+                    break;
+                }
+            }
+
+            if (batch.size() >= batchSize || System.currentTimeMillis() >= deadline) {
+                if (!batch.isEmpty()) {
+                    flush(batch);
+                    batch.clear();
+                }
+                deadline = System.currentTimeMillis() + flushIntervalMillis;
+            }
+        }
+
+        // 루프 종료 시 들고 있던 배치 기록 (큐에 남은 건은 stop() 에서 기록)
+        if (!batch.isEmpty()) {
+            flush(batch);
+        }
+    }
+
+    private void flush(List<AuditRecord> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(insertSql)) {
+            for (AuditRecord record : batch) {
+                stmt.setString(1, record.empNo);
+                stmt.setString(2, record.ip);
+                stmt.setString(3, record.rptCd);
+                stmt.setString(4, record.jobGb);
+                stmt.setString(5, record.params);
+                stmt.setString(6, record.userCongb);
+                stmt.setString(7, record.userAgent);
+                stmt.setTimestamp(8, record.regDt);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+            writtenCount.addAndGet(batch.size());
+            flushCount.incrementAndGet();
+        } catch (SQLException e) {
+            // 감사 기록 실패가 업무 요청을 실패시키지 않도록 로그만 남긴다
+            failedCount.addAndGet(batch.size());
+            errorMessage = "Audit batch insert failed: size={}, error={}";
+            logger.error(this.getErrorMessage(), batch.size(), e.getMessage(), e);
+        }
+    }
+
+    private static final class AuditRecord {
+        private final String empNo;
+        private final String ip;
+        private final String rptCd;
+        private final String jobGb;
+        private final String params;
+        private final String userCongb;
+        private final String userAgent;
+        private final Timestamp regDt;
+
+        private AuditRecord(String empNo, String ip, String rptCd, String jobGb, String params, String userCongb, String userAgent, Timestamp regDt) {
+            this.empNo = empNo;
+            this.ip = ip;
+            this.rptCd = rptCd;
+            this.jobGb = jobGb;
+            this.params = params;
+            this.userCongb = userCongb;
+            this.userAgent = userAgent;
+            this.regDt = regDt;
+        }
+    }
+}
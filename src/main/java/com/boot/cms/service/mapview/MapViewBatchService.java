@@ -0,0 +1,175 @@
+package com.boot.cms.service.mapview;
+
+import com.boot.cms.config.AppConfig;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 여러 조회(GET) rptCd 를 제한된 스레드풀에서 동시에 실행하고 호출별 결과/오류를 모아 반환
+ * 작업 스레드에는 요청의 RequestAttributes 를 전달해 IP/UserAgent 감사 정보가 원 요청과 같게 기록된다.
+ * 풀과 큐가 가득 차면 요청 스레드에서 직접 실행한다. (CallerRunsPolicy)
+ */
+@Service
+@RequiredArgsConstructor
+public class MapViewBatchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MapViewBatchService.class);
+
+    private static final String EMPTY_RESULT_MESSAGE = "조회 결과가 없습니다.";
+    private static final String TIMEOUT_MESSAGE = "처리 시간이 초과되었습니다.";
+
+    private final MapViewProcessor mapViewProcessor;
+    private final AppConfig.MapViewBatchConfig batchConfig;
+
+    private ThreadPoolExecutor executor;
+
+    @Setter
+    @Getter
+    String errorMessage;
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(
+                batchConfig.getThreads(), batchConfig.getThreads(),
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(batchConfig.getQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "mapview-batch-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * @return 호출 순서대로 {index, rptCd, jobGb, errCd, errMsg, data[, page]}
+     */
+    public List<Map<String, Object>> executeBatch(List<BatchCall> calls, String empNo) {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+
+        List<Future<MapViewPage>> futures = new ArrayList<>(calls.size());
+        for (BatchCall call : calls) {
+            if (!"GET".equalsIgnoreCase(call.getJobGb())) {
+                futures.add(null);
+                continue;
+            }
+            futures.add(executor.submit(withRequestAttributes(requestAttributes,
+                    () -> mapViewProcessor.processDynamicViewPage(call.getRptCd(), call.getParams(), empNo, call.getJobGb(),
+                            false, call.getPageRequest()))));
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(batchConfig.getTimeoutMillis());
+        List<Map<String, Object>> results = new ArrayList<>(calls.size());
+        for (int i = 0; i < calls.size(); i++) {
+            BatchCall call = calls.get(i);
+            Future<MapViewPage> future = futures.get(i);
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("index", i);
+            result.put("rptCd", call.getRptCd());
+            result.put("jobGb", call.getJobGb());
+
+            if (future == null) {
+                putResult(result, null, "01", "일괄 호출은 조회(GET)만 가능합니다.");
+                results.add(result);
+                continue;
+            }
+
+            try {
+                MapViewPage resultPage = future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                if (resultPage.isEmpty()) {
+                    putResult(result, null, "01", EMPTY_RESULT_MESSAGE);
+                } else {
+                    putResult(result, resultPage.getRows(), "00", "");
+                    if (resultPage.getPage() != null) {
+                        result.put("page", resultPage.getPage());
+                    }
+                }
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                errorMessage = "Batch call timed out: rptCd={}";
+                logger.warn(this.getErrorMessage(), call.getRptCd());
+                putResult(result, null, "01", TIMEOUT_MESSAGE);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                errorMessage = "Batch call failed: rptCd={}, error={}";
+                logger.error(this.getErrorMessage(), call.getRptCd(), cause.getMessage(), cause);
+                putResult(result, null, "01", cause.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                future.cancel(true);
+                putResult(result, null, "01", TIMEOUT_MESSAGE);
+            }
+            results.add(result);
+        }
+        return results;
+    }
+
+    private void putResult(Map<String, Object> result, List<Map<String, Object>> data, String errCd, String errMsg) {
+        result.put("errCd", errCd);
+        result.put("errMsg", errMsg);
+        result.put("data", data);
+    }
+
+    /**
+     * 작업 스레드에 요청 속성을 설정하고, 끝나면 원래 값으로 되돌린다. (CallerRunsPolicy 로 요청 스레드에서 실행되는 경우 포함)
+     */
+    private <T> Callable<T> withRequestAttributes(RequestAttributes requestAttributes, Callable<T> task) {
+        return () -> {
+            RequestAttributes previous = RequestContextHolder.getRequestAttributes();
+            RequestContextHolder.setRequestAttributes(requestAttributes);
+            try {
+                return task.call();
+            } finally {
+                if (previous == null) {
+                    RequestContextHolder.resetRequestAttributes();
+                } else {
+                    RequestContextHolder.setRequestAttributes(previous);
+                }
+            }
+        };
+    }
+
+    @Getter
+    public static class BatchCall {
+        private final String rptCd;
+        private final String jobGb;
+        private final List<String> params;
+        private final MapViewPageRequest pageRequest;
+
+        public BatchCall(String rptCd, String jobGb, List<String> params, MapViewPageRequest pageRequest) {
+            this.rptCd = rptCd;
+            this.jobGb = jobGb;
+            this.params = params;
+            this.pageRequest = pageRequest;
+        }
+    }
+}
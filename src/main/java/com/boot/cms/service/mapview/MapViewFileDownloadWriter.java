@@ -0,0 +1,276 @@
+package com.boot.cms.service.mapview;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Blob;
+import java.sql.SQLException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 첨부파일 FILEDATA 를 Base64/JSON 변환 없이 application/octet-stream 으로 응답에 바로 복사
+ * ETag(If-None-Match → 304), 단일 Range(bytes=a-b, 206/416), If-Range 를 지원한다.
+ * ETag 는 FILEDATA 를 읽지 않고 메타정보 컬럼(FILEID, FILESIZE, 수정일 등)과 길이로 만든다.
+ * FILEDATA 가 첨부파일 저장소 참조이면 파일을 Tomcat sendfile 또는 FileChannel.transferTo 로 전송하고 ETag 는 해시를 쓴다.
+ * 저장소에 압축 저장된 파일은 원본 크기 기준으로 응답하고 해제하면서 전송한다. (Range 는 해제 스트림에서 앞부분을 건너뛴다)
+ * LONGBLOB 에 내용이 있는 파일은 프로시저 결과 행을 받을 때 드라이버가 FILEDATA 전체를 메모리에 올린다.
+ * 이 경로는 Base64/JSON 복사본만 없애며 파일 크기만큼의 힙 사용은 남는다. (큰 첨부파일은 저장소 사용)
+ */
+@Component
+@RequiredArgsConstructor
+public class MapViewFileDownloadWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(MapViewFileDownloadWriter.class);
+
+    private static final String FILE_NAME_COLUMN = "FILENM";
+
+    // Tomcat sendfile 요청 속성 (커넥터가 지원하는 경우 응답 스레드 대신 커넥터가 파일을 전송)
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final MapViewFileProcessor mapViewFileProcessor;
+    private final AttachmentStore attachmentStore;
+
+    @Setter
+    @Getter
+    String errorMessage;
+
+    /**
+     * 조회 결과가 있으면 응답을 기록하고 true, 없으면 응답을 건드리지 않고 false
+     * 응답 기록 전 오류는 IllegalArgumentException 으로 던지며 호출자가 JSON 오류로 응답한다.
+     */
+    public boolean write(HttpServletRequest httpRequest, HttpServletResponse response,
+                         String rptCd, List<String> params, String empNo) {
+        try {
+            return mapViewFileProcessor.streamFileData(rptCd, params, empNo, "GET",
+                    (metadata, fileData) -> writeFile(httpRequest, response, metadata, fileData));
+        } catch (IOException e) {
+            // 클라이언트가 연결을 끊은 경우 등, 더 기록할 수 없으므로 로그만 남긴다
+            errorMessage = "File download aborted for rptCd: {}, error: {}";
+            logger.warn(this.getErrorMessage(), rptCd, e.getMessage());
+            return true;
+        }
+    }
+
+    private void writeFile(HttpServletRequest httpRequest, HttpServletResponse response,
+                           Map<String, Object> metadata, Blob fileData) throws IOException, SQLException {
+        String errCd = String.valueOf(metadata.getOrDefault("ERRCD", "00"));
+        if (!errCd.isEmpty() && !"00".equals(errCd)) {
+            throw new IllegalArgumentException(String.valueOf(metadata.getOrDefault("ERRMSG", "파일을 찾을 수 없습니다.")));
+        }
+        if (fileData == null) {
+            throw new IllegalArgumentException("파일 데이터가 없습니다.");
+        }
+
+        String sha256 = attachmentStore.findReference(fileData);
+        AttachmentStore.StoredFile storedFile = sha256 == null ? null : attachmentStore.resolve(sha256);
+
+        long length = storedFile != null ? storedFile.getLength() : fileData.length();
+        String etag = sha256 == null ? buildETag(metadata, length) : "\"" + sha256 + "\"";
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        if (matchesETag(httpRequest.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        String fileName = String.valueOf(metadata.getOrDefault(FILE_NAME_COLUMN, "download"));
+        response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(fileName, StandardCharsets.UTF_8).build().toString());
+
+        // If-Range 가 현재 ETag 와 다르면 Range 를 무시하고 전체 전송
+        String range = httpRequest.getHeader(HttpHeaders.RANGE);
+        String ifRange = httpRequest.getHeader(HttpHeaders.IF_RANGE);
+        if (range != null && ifRange != null && !ifRange.equals(etag)) {
+            range = null;
+        }
+
+        long start = 0;
+        long end = length - 1;
+        if (range != null) {
+            long[] bounds = parseRange(range, length);
+            if (bounds == null) {
+                // 여러 구간 또는 형식 오류: 전체 전송
+                range = null;
+            } else if (bounds.length == 0) {
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                return;
+            } else {
+                start = bounds[0];
+                end = bounds[1];
+            }
+        }
+
+        long contentLength = length == 0 ? 0 : end - start + 1;
+        if (range != null) {
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        } else {
+            response.setStatus(HttpServletResponse.SC_OK);
+        }
+        response.setContentLengthLong(contentLength);
+
+        if (contentLength == 0 || "HEAD".equalsIgnoreCase(httpRequest.getMethod())) {
+            return;
+        }
+
+        if (storedFile != null && !storedFile.isCompressed()) {
+            sendFile(httpRequest, response, storedFile.getPath(), start, contentLength);
+            return;
+        }
+
+        OutputStream out = response.getOutputStream();
+        if (storedFile != null) {
+            // 압축 저장 파일은 해제하면서 요청 구간만 전송
+            try (InputStream in = storedFile.open(start)) {
+                copy(in, out, contentLength);
+            }
+            out.flush();
+            return;
+        }
+
+        // Blob 위치는 1부터 시작
+        try (InputStream in = fileData.getBinaryStream(start + 1, contentLength)) {
+            in.transferTo(out);
+        }
+        out.flush();
+    }
+
+    private void copy(InputStream in, OutputStream out, long count) throws IOException {
+        byte[] buffer = new byte[8192];
+        long remaining = count;
+        while (remaining > 0) {
+            int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+            if (read < 0) {
+                throw new IOException("Unexpected end of compressed file data: remaining " + remaining);
+            }
+            out.write(buffer, 0, read);
+            remaining -= read;
+        }
+    }
+
+    private void sendFile(HttpServletRequest httpRequest, HttpServletResponse response,
+                          Path file, long start, long count) throws IOException {
+        if (Boolean.TRUE.equals(httpRequest.getAttribute(SENDFILE_SUPPORT))) {
+            httpRequest.setAttribute(SENDFILE_FILENAME, file.toString());
+            httpRequest.setAttribute(SENDFILE_START, start);
+            httpRequest.setAttribute(SENDFILE_END, start + count);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long transferred = channel.transferTo(position, remaining, target);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+                remaining -= transferred;
+            }
+        }
+        response.flushBuffer();
+    }
+
+    /**
+     * "bytes=a-b", "bytes=a-", "bytes=-n" 단일 구간만 처리
+     * @return {start, end}, 만족할 수 없는 구간이면 빈 배열, 처리하지 않는 형식이면 null
+     */
+    private long[] parseRange(String range, long length) {
+        if (!range.startsWith("bytes=") || range.indexOf(',') >= 0) {
+            return null;
+        }
+        String spec = range.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            long start;
+            long end;
+            if (first.isEmpty()) {
+                // 마지막 n 바이트
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0) {
+                    return new long[0];
+                }
+                start = Math.max(0, length - suffix);
+                end = length - 1;
+            } else {
+                start = Long.parseLong(first);
+                end = last.isEmpty() ? length - 1 : Math.min(Long.parseLong(last), length - 1);
+            }
+            if (start >= length || start > end) {
+                return new long[0];
+            }
+            return new long[]{start, end};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private boolean matchesETag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if ("*".equals(value) || etag.equals(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String buildETag(Map<String, Object> metadata, long length) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            metadata.forEach((key, value) -> {
+                digest.update(key.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) '=');
+                digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) '\n');
+            });
+            digest.update(Long.toString(length).getBytes(StandardCharsets.UTF_8));
+            return "\"" + HexFormat.of().formatHex(digest.digest(), 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.boot.cms.service.mapview;
 
 import com.boot.cms.aspect.ClientIPAspect;
 import com.boot.cms.config.AppConfig;
+import com.boot.cms.dto.mapview.ProcedureArgument;
+import com.boot.cms.dto.mapview.ProcedureInvocation;
 import com.boot.cms.entity.mapview.MapViewFileEntity;
 import com.boot.cms.repository.mapview.MapViewFileRepository;
 import com.boot.cms.util.EscapeUtil;
@@ -13,8 +15,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
 import java.util.*;
-import java.util.Base64;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,22 +31,36 @@ public class MapViewFileProcessor {
     private final UserAgentUtil userAgentUtil;
     private final EscapeUtil escapeUtil;
     private final AppConfig.FileConfig fileConfig;
+    private final ProcedureMetadataCache procedureMetadataCache;
+    private final MapViewAuditService mapViewAuditService;
+    private final KeysetPagination keysetPagination;
+    private final AttachmentStore attachmentStore;
+    private final AppConfig.FileListConfig fileListConfig;
 
     @Setter
     @Getter
     String errorMessage;
 
     public MapViewFileEntity validateAndBuildFileCall(String rptCd, List<Object> params, String empNo, String jobGb) {
+        MapViewFileEntity procInfo = lookupFileCall(rptCd, params, empNo, jobGb);
+        procInfo.setInvocation(new ProcedureInvocation(procInfo.getJobNm(), buildFileArguments(params)));
+        return procInfo;
+    }
+
+    // UP_MAPVIEWFILES_SELECT(또는 캐시)로 프로시저 메타정보 조회 및 인자 개수 확인
+    private MapViewFileEntity lookupFileCall(String rptCd, List<Object> params, String empNo, String jobGb) {
         String ip = clientIPAspect.getClientIP();
         String userAgent = userAgentUtil.getUserAgent();
         String userCongb = userAgentUtil.getUserCongb();
 
-        // Replace longblob-related parameters (byte[]) with "DATA" for UP_MAPVIEWFILES_SELECT
+        // Replace longblob-related parameters (byte[], stream) with "DATA" for UP_MAPVIEWFILES_SELECT
         String pParams = params.stream()
-                .map(param -> param instanceof byte[] ? "DATA" : param.toString())
+                .map(param -> param instanceof byte[] ? "DATA"
+                        : param instanceof ProcedureArgument ? ((ProcedureArgument) param).toDisplayValue()
+                        : param.toString())
                 .collect(Collectors.joining("│"));
 
-        MapViewFileEntity procInfo = mapViewFileRepository.findFileInfoByCriteria(empNo, ip, rptCd, jobGb, pParams, userCongb, userAgent);
+        MapViewFileEntity procInfo = findFileInfo(empNo, ip, rptCd, jobGb, pParams, userCongb, userAgent);
         if (procInfo == null) {
             logger.error("No file information found for rptCd: {}", rptCd);
             throw new IllegalArgumentException("No file information found for rptCd: " + rptCd);
@@ -61,23 +77,78 @@ public class MapViewFileProcessor {
             throw new IllegalArgumentException("파라미터 개수가 일치하지 않습니다.");
         }
 
-        String procedureName = procInfo.getJobNm();
-        // Store original params for dynamic call
-        String joinedParams = params.stream()
-                .map(param -> {
-                    if (param instanceof byte[]) {
-                        byte[] data = (byte[]) param;
-                        if (data.length > fileConfig.getMaxFileSize()) {
-                            throw new IllegalArgumentException("File size exceeds " + (fileConfig.getMaxFileSize() / (1024 * 1024)) + "MB limit");
-                        }
-                        return "[" + Base64.getEncoder().encodeToString(data) + "]";
-                    } else {
-                        return "'" + param.toString().replace("'", "''") + "'";
-                    }
-                })
-                .collect(Collectors.joining(", "));
+        return procInfo;
+    }
+
+    private List<ProcedureArgument> buildFileArguments(List<Object> params) {
+        List<ProcedureArgument> arguments = new ArrayList<>(params.size());
+        for (Object param : params) {
+            if (param instanceof byte[]) {
+                byte[] data = (byte[]) param;
+                if (data.length > fileConfig.getMaxFileSize()) {
+                    throw new IllegalArgumentException("File size exceeds " + (fileConfig.getMaxFileSize() / (1024 * 1024)) + "MB limit");
+                }
+                rejectReferenceShaped(data);
+                arguments.add(ProcedureArgument.binary(data));
+            } else if (param instanceof ProcedureArgument) {
+                // 업로드 스트림 등 이미 만들어진 인자는 그대로 바인딩 (byte[] 복사 없음)
+                ProcedureArgument argument = (ProcedureArgument) param;
+                if (argument.getLength() > fileConfig.getMaxFileSize()) {
+                    throw new IllegalArgumentException("File size exceeds " + (fileConfig.getMaxFileSize() / (1024 * 1024)) + "MB limit");
+                }
+                arguments.add(toStoredArgument(argument));
+            } else {
+                arguments.add(ProcedureArgument.string(param.toString()));
+            }
+        }
+        return arguments;
+    }
+
+    // 첨부파일 저장소 사용 시 업로드 스트림은 저장소에 쓰고 FILEDATA 에는 참조(cas:sha256:...)만 바인딩
+    private ProcedureArgument toStoredArgument(ProcedureArgument argument) {
+        if (argument.getType() == ProcedureArgument.Type.BINARY) {
+            rejectReferenceShaped(argument.getBinaryValue());
+            return argument;
+        }
+        if (argument.getType() != ProcedureArgument.Type.STREAM) {
+            return argument;
+        }
+        try {
+            if (!attachmentStore.isEnabled()) {
+                if (argument.getLength() != AttachmentStore.REFERENCE_LENGTH) {
+                    return argument;
+                }
+                // 참조 길이와 같은 작은 파일만 내용을 읽어 확인
+                byte[] data = argument.getStreamValue().readNBytes(AttachmentStore.REFERENCE_LENGTH);
+                rejectReferenceShaped(data);
+                return ProcedureArgument.binary(data);
+            }
+            AttachmentStore.StoredAttachment stored = attachmentStore.store(argument.getStreamValue(), argument.getLength(), argument.getFileName());
+            return ProcedureArgument.binary(AttachmentStore.toReference(stored.getSha256()));
+        } catch (IOException e) {
+            errorMessage = "Attachment store failed: {}";
+            logger.error(this.getErrorMessage(), e.getMessage(), e);
+            throw new IllegalArgumentException("첨부파일 저장 오류: " + e.getMessage());
+        }
+    }
+
+    // 저장소 참조와 같은 모양의 내용을 원본으로 저장하면 나중에 참조로 읽힐 수 있으므로 받지 않는다
+    private void rejectReferenceShaped(byte[] data) {
+        if (AttachmentStore.parseReference(data) != null) {
+            throw new IllegalArgumentException("첨부파일 저장소 참조와 같은 형식의 파일은 업로드할 수 없습니다.");
+        }
+    }
+
+    // 캐시 적중 시 UP_MAPVIEWFILES_SELECT 호출을 생략하고 감사 이력만 기록
+    private MapViewFileEntity findFileInfo(String empNo, String ip, String rptCd, String jobGb, String pParams, String userCongb, String userAgent) {
+        MapViewFileEntity procInfo = procedureMetadataCache.getFile(rptCd, jobGb, empNo);
+        if (procInfo != null) {
+            mapViewAuditService.record(empNo, ip, rptCd, jobGb, pParams, userCongb, userAgent);
+            return procInfo;
+        }
 
-        procInfo.setDynamicCall(procedureName + "(" + joinedParams + ")");
+        procInfo = mapViewFileRepository.findFileInfoByCriteria(empNo, ip, rptCd, jobGb, pParams, userCongb, userAgent);
+        procedureMetadataCache.putFile(rptCd, jobGb, empNo, procInfo);
         return procInfo;
     }
 
@@ -94,7 +165,7 @@ public class MapViewFileProcessor {
 
         List<MapViewFileEntity> result = new ArrayList<>();
         try {
-            List<Map<String, Object>> rawResult = dynamicQueryFileService.executeDynamicFileQuery(procInfo.getDynamicCall(), params);
+            List<Map<String, Object>> rawResult = dynamicQueryFileService.executeDynamicFileQuery(procInfo.getInvocation());
             if (rawResult.size() > fileConfig.getMaxResultSize()) {
                 logger.warn("Result size exceeds limit: {}", rawResult.size());
                 rawResult = rawResult.subList(0, fileConfig.getMaxResultSize());
@@ -114,6 +185,67 @@ public class MapViewFileProcessor {
         return result;
     }
 
+    /**
+     * 여러 파일을 한 단위로 업로드
+     * 프로시저 메타정보는 한 번만 조회하고, 파일별 인자를 순서대로 준비한 뒤 한 커넥션/트랜잭션에서 같은 CallableStatement 로 실행한다.
+     * 한 파일이라도 실패하면 전체를 롤백하므로 요청 전체가 실패(errCd 01)하고 어떤 파일도 저장되지 않는다.
+     * (파일별로 호출하던 이전 방식은 실패한 파일 앞의 파일은 저장된 채로 01 을 반환했다)
+     * 첨부파일 저장소 사용 시 롤백된 파일의 저장소 내용은 지우지 않는다. (내용 주소라 같은 파일을 다시 올리면 그대로 재사용)
+     * @param paramsList 파일별 인자 목록 (모두 같은 rptCd 의 인자 형식)
+     * @return 파일 순서대로 ERRCD/ERRMSG (실패한 파일 외에는 "다른 파일 처리 실패로 취소되었습니다.")
+     */
+    public List<MapViewFileEntity> processFileUploadBatch(String rptCd, List<List<Object>> paramsList, String empNo, String jobGb) {
+        if (paramsList == null || paramsList.isEmpty()) {
+            throw new IllegalArgumentException("Parameters are required.");
+        }
+
+        MapViewFileEntity procInfo = lookupFileCall(rptCd, paramsList.get(0), empNo, jobGb);
+        for (List<Object> params : paramsList) {
+            if (params.size() != procInfo.getParamCnt()) {
+                throw new IllegalArgumentException("파라미터 개수가 일치하지 않습니다.");
+            }
+        }
+
+        List<ProcedureInvocation> invocations = new ArrayList<>(paramsList.size());
+        try {
+            for (List<Object> params : paramsList) {
+                invocations.add(new ProcedureInvocation(procInfo.getJobNm(), buildFileArguments(params)));
+            }
+        } catch (IllegalArgumentException e) {
+            errorMessage = "processFileUploadBatch: preparing files failed for rptCd: " + rptCd;
+            logger.error(this.getErrorMessage(), e.getMessage(), e);
+            throw e;
+        }
+
+        List<Map<String, Object>> rawResult;
+        try {
+            rawResult = dynamicQueryFileService.executeFileBatch(invocations);
+        } catch (IllegalArgumentException e) {
+            errorMessage = "processFileUploadBatch: executeFileBatch failed for rptCd: " + rptCd;
+            logger.error(this.getErrorMessage(), e.getMessage(), e);
+            throw e;
+        }
+
+        boolean failed = rawResult.size() < invocations.size()
+                || rawResult.stream().anyMatch(row -> !"00".equals(row.getOrDefault("ERRCD", "00")));
+        List<MapViewFileEntity> result = new ArrayList<>(invocations.size());
+        for (int i = 0; i < invocations.size(); i++) {
+            MapViewFileEntity entity = new MapViewFileEntity();
+            Map<String, Object> row = i < rawResult.size() ? rawResult.get(i) : null;
+            String errCd = row == null ? "01" : (String) row.getOrDefault("ERRCD", "00");
+            if (row == null || (failed && "00".equals(errCd))) {
+                // 다른 파일 실패로 함께 롤백되었거나 실행하지 않은 파일
+                entity.setErrCd("01");
+                entity.setErrMsg("다른 파일 처리 실패로 취소되었습니다.");
+            } else {
+                entity.setErrCd(errCd);
+                entity.setErrMsg(row == null ? "" : (String) row.getOrDefault("ERRMSG", ""));
+            }
+            result.add(entity);
+        }
+        return result;
+    }
+
     public List<MapViewFileEntity> processFileDelete(String rptCd, List<Object> params, String empNo, String jobGb) {
         if (params == null || params.isEmpty()) {
             throw new IllegalArgumentException("Parameters are required.");
@@ -127,7 +259,7 @@ public class MapViewFileProcessor {
 
         List<MapViewFileEntity> result = new ArrayList<>();
         try {
-            List<Map<String, Object>> rawResult = dynamicQueryFileService.executeDynamicFileQuery(procInfo.getDynamicCall(), params);
+            List<Map<String, Object>> rawResult = dynamicQueryFileService.executeDynamicFileQuery(procInfo.getInvocation());
             if (rawResult.size() > fileConfig.getMaxResultSize()) {
                 logger.warn("Result size exceeds limit: {}", rawResult.size());
                 rawResult = rawResult.subList(0, fileConfig.getMaxResultSize());
@@ -152,7 +284,7 @@ public class MapViewFileProcessor {
         List<MapViewFileEntity> result = new ArrayList<>();
 
         try {
-            List<Map<String, Object>> rawResult = dynamicQueryFileService.executeDynamicFileQuery(procInfo.getDynamicCall(), params);
+            List<Map<String, Object>> rawResult = dynamicQueryFileService.executeDynamicFileQuery(procInfo.getInvocation());
             if (rawResult.size() > fileConfig.getMaxResultSize()) {
                 logger.warn("Result size exceeds limit: {}", rawResult.size());
                 rawResult = rawResult.subList(0, fileConfig.getMaxResultSize());
@@ -173,6 +305,82 @@ public class MapViewFileProcessor {
     }
 
     public List<Map<String, Object>> processDynamicView(String rptCd, List<String> params, String empNo, String jobGb) {
+        return processDynamicViewPage(rptCd, params, empNo, jobGb, MapViewPageRequest.firstPage()).getRows();
+    }
+
+    /**
+     * 파일 목록 조회, 키셋 페이지 프로시저(JOBTYPE)이면 MAX_RESULT_SIZE 이하 페이지 단위로 조회
+     */
+    public MapViewPage processDynamicViewPage(String rptCd, List<String> params, String empNo, String jobGb, MapViewPageRequest pageRequest) {
+        return processFileListPage(rptCd, params, empNo, jobGb, pageRequest, true);
+    }
+
+    /**
+     * 파일 목록 조회
+     * includeFileData 가 false 이면 FILEDATA 대신 메타정보(FILESIZE, 저장소 참조이면 FILEHASH)만 반환하며 내용은 다운로드 API 로 따로 조회한다.
+     * FILE_LIST_METADATA_RPTCD 에 등록된 메타정보 전용 rptCd 를 호출해 DB 에서도 파일 내용을 읽지 않는다.
+     * (등록되지 않은 rptCd 는 목록 프로시저가 FILEDATA 를 그대로 전송하므로 응답에서만 내용을 뺀다)
+     */
+    public MapViewPage processFileListPage(String rptCd, List<String> params, String empNo, String jobGb,
+                                           MapViewPageRequest pageRequest, boolean includeFileData) {
+        if (!includeFileData) {
+            String metadataRptCd = fileListConfig.getMetadataRptCds().get(rptCd);
+            if (metadataRptCd == null) {
+                logger.warn("No metadata-only rptCd in FILE_LIST_METADATA_RPTCD, FILEDATA is still read from the database: {}", rptCd);
+            } else {
+                rptCd = metadataRptCd;
+            }
+        }
+        MapViewFileEntity procInfo = resolveFileView(rptCd, params, empNo, jobGb);
+
+        ProcedureInvocation invocation = procInfo.getInvocation();
+        KeysetPagination.KeysetPage keysetPage = null;
+        if (keysetPagination.isPaged(procInfo.getJobType())) {
+            keysetPage = keysetPagination.open(rptCd, pageRequest, fileConfig.getMaxResultSize());
+            invocation = keysetPage.apply(invocation);
+        }
+
+        List<Map<String, Object>> resultList;
+        try {
+            resultList = dynamicQueryFileService.executeDynamicQuery(invocation, includeFileData);
+        } catch (IllegalArgumentException e) {
+            errorMessage = "Database error for rptCd: " + rptCd;
+            logger.error(this.getErrorMessage(), e.getMessage(), e);
+            throw new IllegalArgumentException(this.getErrorMessage() + ": " + e.getMessage());
+        }
+
+        List<Map<String, Object>> unescapedResultList = resultList.stream()
+                .map(row -> {
+                    Map<String, Object> unescapedRow = new LinkedHashMap<>();
+                    row.forEach((key, value) -> {
+                        if (value instanceof String) {
+                            String unescaped = escapeUtil.unescape((String) value);
+                            unescapedRow.put(key, unescaped);
+                        } else {
+                            unescapedRow.put(key, value);
+                        }
+                    });
+                    return unescapedRow;
+                })
+                .collect(Collectors.toList());
+
+        return keysetPage == null ? new MapViewPage(unescapedResultList, null) : keysetPage.close(unescapedResultList);
+    }
+
+    /**
+     * 첨부파일 다운로드용 조회, 첫 행의 메타정보(문자열은 unescape)와 FILEDATA 를 handler 로 전달
+     * @return 결과 행이 있으면 true
+     */
+    public boolean streamFileData(String rptCd, List<String> params, String empNo, String jobGb, FileDataHandler handler) throws IOException {
+        MapViewFileEntity procInfo = resolveFileView(rptCd, params, empNo, jobGb);
+
+        return dynamicQueryFileService.streamFileData(procInfo.getInvocation(), (metadata, fileData) -> {
+            metadata.replaceAll((key, value) -> value instanceof String ? escapeUtil.unescape((String) value) : value);
+            handler.onFile(metadata, fileData);
+        });
+    }
+
+    private MapViewFileEntity resolveFileView(String rptCd, List<String> params, String empNo, String jobGb) {
         if (empNo == null || empNo.trim().isEmpty()) {
             logger.error("Authentication error: empNo is null or empty");
             throw new IllegalArgumentException("인증 정보가 없습니다.");
@@ -185,7 +393,7 @@ public class MapViewFileProcessor {
         MapViewFileEntity procInfo;
         try {
             String pParams = params.stream().collect(Collectors.joining("│"));
-            procInfo = mapViewFileRepository.findFileInfoByCriteria(empNo, ip, rptCd, jobGb, pParams, userCongb, userAgent);
+            procInfo = findFileInfo(empNo, ip, rptCd, jobGb, pParams, userCongb, userAgent);
             if (procInfo == null) {
                 logger.error("No file information found for rptCd: {}", rptCd);
                 throw new IllegalArgumentException("No file information found for rptCd: " + rptCd);
@@ -202,41 +410,13 @@ public class MapViewFileProcessor {
                 throw new IllegalArgumentException("파라미터 개수가 일치하지 않습니다.");
             }
 
-            String procedureName = procInfo.getJobNm();
-            String joinedParams = params.stream()
-                    .map(param -> "'" + param.replace("'", "''") + "'")
-                    .collect(Collectors.joining(", "));
-            procInfo.setDynamicCall(procedureName + "(" + joinedParams + ")");
+            procInfo.setInvocation(ProcedureInvocation.ofStrings(procInfo.getJobNm(), params));
         } catch (IllegalArgumentException e) {
             errorMessage = "Validation error for rptCd: " + rptCd;
             logger.error(this.getErrorMessage(), e.getMessage(), e);
             throw e;
         }
 
-        List<Map<String, Object>> resultList;
-        try {
-            resultList = dynamicQueryFileService.executeDynamicQuery(procInfo.getDynamicCall());
-        } catch (IllegalArgumentException e) {
-            errorMessage = "Database error for rptCd: " + rptCd;
-            logger.error(this.getErrorMessage(), e.getMessage(), e);
-            throw new IllegalArgumentException(this.getErrorMessage() + ": " + e.getMessage());
-        }
-
-        List<Map<String, Object>> unescapedResultList = resultList.stream()
-                .map(row -> {
-                    Map<String, Object> unescapedRow = new LinkedHashMap<>();
-                    row.forEach((key, value) -> {
-                        if (value instanceof String) {
-                            String unescaped = escapeUtil.unescape((String) value);
-                            unescapedRow.put(key, unescaped);
-                        } else {
-                            unescapedRow.put(key, value);
-                        }
-                    });
-                    return unescapedRow;
-                })
-                .collect(Collectors.toList());
-
-        return unescapedResultList;
+        return procInfo;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,52 @@
+package com.boot.cms.service.mapview;
+
+import com.boot.cms.dto.common.ColumnarResult;
+import com.boot.cms.dto.common.PageInfoDto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 조회 결과와 페이지 정보 (페이지 프로시저가 아니면 page 는 null)
+ * 결과는 행 목록(List&lt;Map&gt;) 또는 컬럼형 결과(ColumnarResult) 중 하나다.
+ */
+public class MapViewPage {
+
+    private final List<Map<String, Object>> rows;
+    private final ColumnarResult columnar;
+    private final PageInfoDto page;
+
+    public MapViewPage(List<Map<String, Object>> rows, PageInfoDto page) {
+        this.rows = rows;
+        this.columnar = null;
+        this.page = page;
+    }
+
+    public MapViewPage(ColumnarResult columnar, PageInfoDto page) {
+        this.rows = null;
+        this.columnar = columnar;
+        this.page = page;
+    }
+
+    /**
+     * 응답 본문으로 내보낼 결과 (컬럼형이면 ColumnarResult, 아니면 List&lt;Map&gt;)
+     */
+    public Object getData() {
+        return columnar != null ? columnar : rows;
+    }
+
+    /**
+     * 행 목록 (컬럼형 결과이면 toRowMaps 로 행마다 Map 을 새로 만든다)
+     */
+    public List<Map<String, Object>> getRows() {
+        return columnar != null ? columnar.toRowMaps() : rows;
+    }
+
+    public boolean isEmpty() {
+        return columnar != null ? columnar.isEmpty() : rows.isEmpty();
+    }
+
+    public PageInfoDto getPage() {
+        return page;
+    }
+}
@@ -0,0 +1,50 @@
+package com.boot.cms.service.mapview;
+
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * 요청 본문의 예약 키 pageSize / cursor 로 전달된 키셋 페이지 요청
+ * 값이 없거나 숫자가 아니면 기본 페이지 크기를 사용한다.
+ */
+@Getter
+public class MapViewPageRequest {
+
+    public static final String PAGE_SIZE_KEY = "pageSize";
+    public static final String CURSOR_KEY = "cursor";
+
+    private static final MapViewPageRequest FIRST_PAGE = new MapViewPageRequest(null, null);
+
+    private final Integer pageSize;
+    private final String cursor;
+
+    public MapViewPageRequest(Integer pageSize, String cursor) {
+        this.pageSize = pageSize;
+        this.cursor = cursor;
+    }
+
+    public static MapViewPageRequest firstPage() {
+        return FIRST_PAGE;
+    }
+
+    public static MapViewPageRequest from(Map<String, ?> request) {
+        if (request == null) {
+            return FIRST_PAGE;
+        }
+
+        Integer pageSize = null;
+        Object rawPageSize = request.get(PAGE_SIZE_KEY);
+        if (rawPageSize != null) {
+            try {
+                pageSize = Integer.valueOf(rawPageSize.toString().trim());
+            } catch (NumberFormatException e) {
+                pageSize = null;
+            }
+        }
+
+        Object rawCursor = request.get(CURSOR_KEY);
+        String cursor = rawCursor == null || rawCursor.toString().isEmpty() ? null : rawCursor.toString();
+        return new MapViewPageRequest(pageSize, cursor);
+    }
+}
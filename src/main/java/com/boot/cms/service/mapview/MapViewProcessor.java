@@ -2,6 +2,9 @@
 package com.boot.cms.service.mapview;
 
 import com.boot.cms.aspect.ClientIPAspect;
+import com.boot.cms.dto.common.ColumnarResult;
+import com.boot.cms.dto.common.PageInfoDto;
+import com.boot.cms.dto.mapview.ProcedureInvocation;
 import com.boot.cms.entity.mapview.MapViewEntity;
 import com.boot.cms.util.EscapeUtil;
 import com.boot.cms.util.UserAgentUtil;
@@ -12,6 +15,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -25,6 +29,8 @@ public class MapViewProcessor {
 
     private final MapViewService mapViewService;
     private final DynamicQueryService dynamicQueryService;
+    private final MapViewResultCache mapViewResultCache;
+    private final KeysetPagination keysetPagination;
     private final EscapeUtil escapeUtil;
     private final ClientIPAspect clientIPAspect;
     private final UserAgentUtil userAgentUtil;
@@ -34,36 +40,81 @@ public class MapViewProcessor {
     String errorMessage;
 
     public List<Map<String, Object>> processDynamicView(String rptCd, List<String> params, String empNo, String jobGb) {
-        // 1. 인증 정보 검증
-        if (empNo == null || empNo.trim().isEmpty()) {
-            logger.error("Authentication error: empNo is null or empty");
-            throw new IllegalArgumentException("인증 정보가 없습니다.");
+        return processDynamicViewPage(rptCd, params, empNo, jobGb, false, MapViewPageRequest.firstPage()).getRows();
+    }
+
+    /**
+     * 조회 결과와 페이지 정보 반환 (키셋 페이지 프로시저가 아니면 page 는 null)
+     * columnar 가 true 이면 행마다 Map 을 만들지 않고 ColumnarResult(공유 컬럼 + Object[] 행)로 반환
+     * 결과 캐시 대상 rptCd 는 캐시를 먼저 조회하고, *TRAN 저장 후에는 대응하는 조회 캐시를 삭제한다.
+     */
+    public MapViewPage processDynamicViewPage(String rptCd, List<String> params, String empNo, String jobGb,
+                                              boolean columnar, MapViewPageRequest pageRequest) {
+        // 인증/파라미터 검증과 감사 이력은 캐시 적중 여부와 관계없이 수행
+        MapViewEntity procInfo = resolveProcedure(rptCd, params, empNo, jobGb);
+        ProcedureInvocation invocation = procInfo.getInvocation();
+
+        KeysetPagination.KeysetPage keysetPage = null;
+        List<String> cacheParams = params;
+        if (keysetPagination.isPaged(procInfo.getJobType())) {
+            keysetPage = keysetPagination.open(rptCd, pageRequest);
+            invocation = keysetPage.apply(invocation);
+            cacheParams = keysetPage.cacheKeyParams(params);
         }
 
-        // Get IP, UserAgent, and UserCongb
-        String ip = clientIPAspect.getClientIP();
-        String userAgent = userAgentUtil.getUserAgent();
-        String userCongb = userAgentUtil.getUserCongb();
+        ColumnarResult columnarResult = null;
+        boolean cacheable = mapViewResultCache.isCacheable(rptCd, jobGb);
+        if (cacheable) {
+            columnarResult = mapViewResultCache.get(rptCd, cacheParams);
+        }
 
-        // 2. Validate and build dynamic call for the procedure
-        MapViewEntity procInfo;
-        try {
-            procInfo = mapViewService.validateAndBuildCall(rptCd, params, empNo, ip, jobGb, userCongb, userAgent);
-        } catch (IllegalArgumentException e) {
-            errorMessage = "Validation error for rptCd: {}, error: {}";
-            logger.error(this.getErrorMessage(), rptCd, e.getMessage());
-            throw e;
+        if (columnarResult == null) {
+            if (!columnar && !cacheable) {
+                List<Map<String, Object>> resultList = executeAndUnescape(invocation);
+                mapViewResultCache.onTransaction(rptCd, jobGb);
+                return keysetPage == null ? new MapViewPage(resultList, null) : keysetPage.close(resultList);
+            }
+            columnarResult = collectColumnar(invocation);
+            if (cacheable) {
+                mapViewResultCache.put(rptCd, cacheParams, columnarResult);
+            }
+            mapViewResultCache.onTransaction(rptCd, jobGb);
+        }
+
+        if (!columnar) {
+            List<Map<String, Object>> resultList = columnarResult.toRowMaps();
+            return keysetPage == null ? new MapViewPage(resultList, null) : keysetPage.close(resultList);
+        }
+        return keysetPage == null ? new MapViewPage(columnarResult, null) : keysetPage.close(columnarResult);
+    }
+
+    /**
+     * processDynamicView 와 동일한 검증/호출을 하되 결과를 모으지 않고 한 행씩 handler 로 전달
+     * 문자열 값은 전달 전에 unescape 한다.
+     * @return 키셋 페이지 프로시저이면 페이지 정보, 아니면 null
+     */
+    public PageInfoDto streamDynamicView(String rptCd, List<String> params, String empNo, String jobGb,
+                                         int fetchSize, ResultRowHandler handler, MapViewPageRequest pageRequest) throws IOException {
+        MapViewEntity procInfo = resolveProcedure(rptCd, params, empNo, jobGb);
+
+        if (!keysetPagination.isPaged(procInfo.getJobType())) {
+            streamInvocation(procInfo.getInvocation(), fetchSize, handler);
+            return null;
         }
 
-        String procedureCall = procInfo.getDynamicCall();
+        KeysetPagination.KeysetPage keysetPage = keysetPagination.open(rptCd, pageRequest);
+        streamInvocation(keysetPage.apply(procInfo.getInvocation()), fetchSize, keysetPage.limit(handler));
+        return keysetPage.streamPageInfo();
+    }
 
+    private List<Map<String, Object>> executeAndUnescape(ProcedureInvocation invocation) {
         // 3. Execute the dynamic query
         List<Map<String, Object>> resultList;
         try {
-            resultList = dynamicQueryService.executeDynamicQuery(procedureCall);
+            resultList = dynamicQueryService.executeDynamicQuery(invocation);
         } catch (IllegalArgumentException e) {
             errorMessage = "데이터베이스 오류: ";
-            logger.error(this.getErrorMessage(), procedureCall, e.getMessage(), e);
+            logger.error(this.getErrorMessage(), invocation, e.getMessage(), e);
             throw new IllegalArgumentException(this.getErrorMessage() + e.getMessage());
         }
 
@@ -86,4 +137,78 @@ public class MapViewProcessor {
 
         return unescapedResultList;
     }
-}
\ No newline at end of file
+
+    private ColumnarResult collectColumnar(ProcedureInvocation invocation) {
+        ColumnarResult result = new ColumnarResult();
+        try {
+            // 전체를 모으므로 fetchSize 0 (드라이버 기본값)
+            streamInvocation(invocation, 0, new ResultRowHandler() {
+                @Override
+                public void onColumns(List<String> columnNames) {
+                    result.setColumns(columnNames);
+                }
+
+                @Override
+                public void onRow(Object[] values) {
+                    result.addRow(values);
+                }
+            });
+        } catch (IOException e) {
+            // 수집용 handler 는 IOException 을 던지지 않는다
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+        return result;
+    }
+
+    private long streamInvocation(ProcedureInvocation invocation, int fetchSize, ResultRowHandler handler) throws IOException {
+        ResultRowHandler unescapingHandler = new ResultRowHandler() {
+            @Override
+            public void onColumns(List<String> columnNames) throws IOException {
+                handler.onColumns(columnNames);
+            }
+
+            @Override
+            public void onRow(Object[] values) throws IOException {
+                for (int i = 0; i < values.length; i++) {
+                    if (values[i] instanceof String) {
+                        values[i] = escapeUtil.unescape((String) values[i]);
+                    }
+                }
+                handler.onRow(values);
+            }
+        };
+
+        try {
+            return dynamicQueryService.streamDynamicQuery(invocation, fetchSize, unescapingHandler);
+        } catch (IllegalArgumentException e) {
+            errorMessage = "데이터베이스 오류: ";
+            logger.error(this.getErrorMessage(), invocation, e.getMessage(), e);
+            throw new IllegalArgumentException(this.getErrorMessage() + e.getMessage());
+        }
+    }
+
+    private MapViewEntity resolveProcedure(String rptCd, List<String> params, String empNo, String jobGb) {
+        // 1. 인증 정보 검증
+        if (empNo == null || empNo.trim().isEmpty()) {
+            logger.error("Authentication error: empNo is null or empty");
+            throw new IllegalArgumentException("인증 정보가 없습니다.");
+        }
+
+        // Get IP, UserAgent, and UserCongb
+        String ip = clientIPAspect.getClientIP();
+        String userAgent = userAgentUtil.getUserAgent();
+        String userCongb = userAgentUtil.getUserCongb();
+
+        // 2. Validate and build dynamic call for the procedure
+        MapViewEntity procInfo;
+        try {
+            procInfo = mapViewService.validateAndBuildCall(rptCd, params, empNo, ip, jobGb, userCongb, userAgent);
+        } catch (IllegalArgumentException e) {
+            errorMessage = "Validation error for rptCd: {}, error: {}";
+            logger.error(this.getErrorMessage(), rptCd, e.getMessage());
+            throw e;
+        }
+
+        return procInfo;
+    }
+}
@@ -0,0 +1,217 @@
+package com.boot.cms.service.mapview;
+
+import com.boot.cms.config.AppConfig;
+import com.boot.cms.dto.common.ColumnarResult;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 조회(GET) rptCd 결과 캐시
+ * MAPVIEW_RESULT_CACHE_RPTCDS 에 등록된 rptCd 만 (rptCd, 파라미터) 기준으로 보관하며
+ * rptCd 별 TTL, 전체 건수/추정 바이트(LRU)로 제한한다.
+ * 같은 업무의 *TRAN rptCd 가 SET 을 실행하면 해당 rptCd 항목을 모두 삭제한다. (예: OPERMENUMNGTRAN -> OPERMENUMNG)
+ * 캐시된 결과는 여러 요청이 공유하므로 읽기 전용 ColumnarResult 로 보관한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class MapViewResultCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(MapViewResultCache.class);
+
+    private static final String TRAN_SUFFIX = "TRAN";
+    private static final char KEY_SEPARATOR = '\u0000';
+    private static final char PARAM_SEPARATOR = '\u0001';
+
+    private final AppConfig.MapViewResultCacheConfig resultCacheConfig;
+
+    // access-order LinkedHashMap 으로 LRU 유지, 모든 접근은 this 로 동기화
+    private final LinkedHashMap<String, CachedResult> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long totalBytes;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+    private final AtomicLong expiredCount = new AtomicLong();
+    private final AtomicLong invalidationCount = new AtomicLong();
+
+    /**
+     * 캐시 대상 여부: 활성화 + GET + 등록된 rptCd
+     */
+    public boolean isCacheable(String rptCd, String jobGb) {
+        return resultCacheConfig.isEnabled()
+                && "GET".equalsIgnoreCase(jobGb)
+                && rptCd != null
+                && resultCacheConfig.getTtlMillisByRptCd().containsKey(rptCd.toUpperCase());
+    }
+
+    /**
+     * @return 캐시 적중 시 공유 결과(수정 금지), 없거나 만료되었으면 null
+     */
+    public ColumnarResult get(String rptCd, List<String> params) {
+        String key = key(rptCd, params);
+        CachedResult cached;
+        synchronized (this) {
+            cached = entries.get(key);
+            if (cached != null && System.currentTimeMillis() >= cached.expiresAt) {
+                remove(key);
+                expiredCount.incrementAndGet();
+                cached = null;
+            }
+        }
+
+        if (cached == null) {
+            missCount.incrementAndGet();
+            return null;
+        }
+
+        hitCount.incrementAndGet();
+        return cached.result;
+    }
+
+    public void put(String rptCd, List<String> params, ColumnarResult result) {
+        long ttlMillis = resultCacheConfig.getTtlMillisByRptCd().getOrDefault(rptCd.toUpperCase(), 0L);
+        long bytes = estimateBytes(result);
+        if (ttlMillis <= 0 || bytes > resultCacheConfig.getMaxBytes()) {
+            return;
+        }
+
+        String key = key(rptCd, params);
+        CachedResult cached = new CachedResult(result, bytes, System.currentTimeMillis() + ttlMillis);
+
+        synchronized (this) {
+            remove(key);
+            entries.put(key, cached);
+            totalBytes += bytes;
+
+            Iterator<Map.Entry<String, CachedResult>> iterator = entries.entrySet().iterator();
+            while ((entries.size() > resultCacheConfig.getMaxEntries() || totalBytes > resultCacheConfig.getMaxBytes())
+                    && iterator.hasNext()) {
+                totalBytes -= iterator.next().getValue().bytes;
+                iterator.remove();
+                evictionCount.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * SET 실행 후 호출, *TRAN rptCd 이면 대응하는 조회 rptCd 의 결과를 삭제
+     */
+    public void onTransaction(String rptCd, String jobGb) {
+        if (!resultCacheConfig.isEnabled() || rptCd == null || "GET".equalsIgnoreCase(jobGb)) {
+            return;
+        }
+        String upper = rptCd.toUpperCase();
+        if (upper.endsWith(TRAN_SUFFIX)) {
+            invalidate(upper.substring(0, upper.length() - TRAN_SUFFIX.length()));
+        }
+    }
+
+    /**
+     * @return 제거된 건수
+     */
+    public synchronized int invalidate(String rptCd) {
+        String prefix = rptCd.toUpperCase() + KEY_SEPARATOR;
+        int removed = 0;
+        Iterator<Map.Entry<String, CachedResult>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, CachedResult> entry = iterator.next();
+            if (entry.getKey().startsWith(prefix)) {
+                totalBytes -= entry.getValue().bytes;
+                iterator.remove();
+                removed++;
+            }
+        }
+        if (removed > 0) {
+            invalidationCount.addAndGet(removed);
+            logger.info("Result cache invalidated: rptCd={}, removed={}", rptCd, removed);
+        }
+        return removed;
+    }
+
+    public synchronized int invalidateAll() {
+        int removed = entries.size();
+        entries.clear();
+        totalBytes = 0;
+        invalidationCount.addAndGet(removed);
+        logger.info("Result cache cleared: removed={}", removed);
+        return removed;
+    }
+
+    public Map<String, Object> getStats() {
+        long hits = hitCount.get();
+        long misses = missCount.get();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", resultCacheConfig.isEnabled());
+        Map<String, Long> ttlSecondsByRptCd = new LinkedHashMap<>();
+        resultCacheConfig.getTtlMillisByRptCd().forEach((rptCd, ttlMillis) -> ttlSecondsByRptCd.put(rptCd, ttlMillis / 1000));
+        stats.put("rptCds", ttlSecondsByRptCd);
+        synchronized (this) {
+            stats.put("size", entries.size());
+            stats.put("bytes", totalBytes);
+        }
+        stats.put("maxEntries", resultCacheConfig.getMaxEntries());
+        stats.put("maxBytes", resultCacheConfig.getMaxBytes());
+        stats.put("hitCount", hits);
+        stats.put("missCount", misses);
+        stats.put("hitRate", hits + misses == 0 ? 0.0 : (double) hits / (hits + misses));
+        stats.put("evictionCount", evictionCount.get());
+        stats.put("expiredCount", expiredCount.get());
+        stats.put("invalidationCount", invalidationCount.get());
+        return stats;
+    }
+
+    private void remove(String key) {
+        CachedResult removed = entries.remove(key);
+        if (removed != null) {
+            totalBytes -= removed.bytes;
+        }
+    }
+
+    private String key(String rptCd, List<String> params) {
+        StringBuilder key = new StringBuilder(rptCd.toUpperCase()).append(KEY_SEPARATOR);
+        if (params != null) {
+            for (String param : params) {
+                key.append(param == null ? "" : param).append(PARAM_SEPARATOR);
+            }
+        }
+        return key.toString();
+    }
+
+    /**
+     * 대략적인 힙 사용량 추정 (문자열 2바이트/문자 + 객체 헤더)
+     */
+    private long estimateBytes(ColumnarResult result) {
+        long bytes = 64;
+        int columnCount = result.getColumns().size();
+        for (String column : result.getColumns()) {
+            bytes += 40 + column.length() * 2L;
+        }
+        for (Object[] row : result.getRows()) {
+            bytes += 16 + 8L * columnCount;
+            for (Object value : row) {
+                bytes += value instanceof CharSequence ? 40 + ((CharSequence) value).length() * 2L : 24;
+            }
+        }
+        return bytes;
+    }
+
+    private static final class CachedResult {
+        private final ColumnarResult result;
+        private final long bytes;
+        private final long expiresAt;
+
+        private CachedResult(ColumnarResult result, long bytes, long expiresAt) {
+            this.result = result;
+            this.bytes = bytes;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
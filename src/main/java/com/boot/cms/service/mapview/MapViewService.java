@@ -1,5 +1,6 @@
 package com.boot.cms.service.mapview;
 
+import com.boot.cms.dto.mapview.ProcedureInvocation;
 import com.boot.cms.entity.mapview.MapViewEntity;
 import com.boot.cms.repository.mapview.MapViewRepository;
 import lombok.RequiredArgsConstructor;
@@ -17,6 +18,8 @@ public class MapViewService {
     private static final Logger logger = LoggerFactory.getLogger(MapViewService.class);
 
     private final MapViewRepository mapViewRepository;
+    private final ProcedureMetadataCache procedureMetadataCache;
+    private final MapViewAuditService mapViewAuditService;
 
     public MapViewEntity validateAndBuildCall(String rptCd, List<String> uiParams, String empNo, String ip, String jobGb, String userCongb, String userAgent) {
         String pParams = "";
@@ -28,7 +31,15 @@ public class MapViewService {
             pParams = uiParams.get(0);
         }
 
-        MapViewEntity procInfo = mapViewRepository.findMapViewInfoByRptCd(empNo, ip, rptCd, jobGb, pParams, userCongb, userAgent);
+        // 캐시 적중 시 UP_MAPVIEW_SELECT 호출을 생략하고 감사 이력만 기록
+        MapViewEntity procInfo = procedureMetadataCache.get(rptCd, jobGb, empNo);
+        if (procInfo != null) {
+            mapViewAuditService.record(empNo, ip, rptCd, jobGb, pParams, userCongb, userAgent);
+        } else {
+            procInfo = mapViewRepository.findMapViewInfoByRptCd(empNo, ip, rptCd, jobGb, pParams, userCongb, userAgent);
+            procedureMetadataCache.put(rptCd, jobGb, empNo, procInfo);
+        }
+
         if (procInfo == null) {
             logger.error("No procedure information found for rptCd: {}", rptCd);
             throw new IllegalArgumentException("No procedure information found for rptCd: " + rptCd);
@@ -45,12 +56,7 @@ public class MapViewService {
             throw new IllegalArgumentException("파라미터 개수가 일치하지 않습니다.");
         }
 
-        String procedureName = procInfo.getJobNm();
-        String joinedParams = uiParams.stream()
-                .map(p -> "'" + p.replace("'", "''") + "'")
-                .collect(Collectors.joining(", "));
-
-        procInfo.setDynamicCall(procedureName + "(" + joinedParams + ")");
+        procInfo.setInvocation(ProcedureInvocation.ofStrings(procInfo.getJobNm(), uiParams));
         return procInfo;
     }
 }
\ No newline at end of file
@@ -0,0 +1,175 @@
+package com.boot.cms.service.mapview;
+
+import com.boot.cms.config.AppConfig;
+import com.boot.cms.dto.common.PageInfoDto;
+import com.boot.cms.util.ResponseEntityUtil;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * 조회(GET) 결과를 List 로 모으지 않고 ResultSet 에서 읽는 즉시 응답으로 기록
+ * 응답 형식은 ApiResponseDto 와 동일하다: {"success":true,"data":[...],"errCd":"00","errMsg":""}
+ * 컬럼형 요청이면 data 는 {"columns":[...],"rows":[[...],...]} 로 기록한다.
+ * 첫 행 이후 오류가 나면 이미 보낸 data 는 유지하고 errCd/errMsg 로 오류를 알린다.
+ */
+@Component
+@RequiredArgsConstructor
+public class MapViewStreamWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(MapViewStreamWriter.class);
+
+    private static final String STREAM_PARAM = "stream";
+    private static final String EMPTY_RESULT_MESSAGE = "조회 결과가 없습니다.";
+
+    private final MapViewProcessor mapViewProcessor;
+    private final ObjectMapper objectMapper;
+    private final AppConfig.MapViewStreamConfig mapViewStreamConfig;
+    private final ResponseEntityUtil responseEntityUtil;
+
+    @Setter
+    @Getter
+    String errorMessage;
+
+    /**
+     * 조회(GET) 이면서 쿼리스트링 stream=Y 로 요청한 경우만 스트리밍
+     */
+    public boolean isStreamRequested(HttpServletRequest httpRequest, String jobGb) {
+        if (httpRequest == null || !"GET".equalsIgnoreCase(jobGb)) {
+            return false;
+        }
+        String stream = httpRequest.getParameter(STREAM_PARAM);
+        return "Y".equalsIgnoreCase(stream) || "true".equalsIgnoreCase(stream);
+    }
+
+    public void write(HttpServletRequest httpRequest, HttpServletResponse response,
+                      String rptCd, List<String> params, String empNo, String jobGb, MapViewPageRequest pageRequest) {
+        boolean columnar = responseEntityUtil.isColumnarRequested(httpRequest);
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+
+        JsonGenerator generator = null;
+        try {
+            generator = objectMapper.createGenerator(response.getOutputStream(), JsonEncoding.UTF8);
+            JsonRowWriter rowWriter = new JsonRowWriter(generator, columnar);
+            try {
+                PageInfoDto page = mapViewProcessor.streamDynamicView(rptCd, params, empNo, jobGb,
+                        mapViewStreamConfig.getFetchSize(), rowWriter, pageRequest);
+                boolean empty = rowWriter.rowCount == 0;
+                rowWriter.finish(empty ? "01" : "00", empty ? EMPTY_RESULT_MESSAGE : "", empty ? null : page);
+            } catch (IllegalArgumentException e) {
+                errorMessage = "Streaming error for rptCd: {}, rows written: {}, error: {}";
+                logger.error(this.getErrorMessage(), rptCd, rowWriter.rowCount, e.getMessage(), e);
+                rowWriter.finish("01", e.getMessage(), null);
+            }
+        } catch (IOException e) {
+            // 클라이언트가 연결을 끊은 경우 등, 더 기록할 수 없으므로 로그만 남긴다
+            errorMessage = "Streaming response aborted for rptCd: {}, error: {}";
+            logger.warn(this.getErrorMessage(), rptCd, e.getMessage());
+        } finally {
+            if (generator != null) {
+                try {
+                    generator.close();
+                } catch (IOException e) {
+                    logger.debug("Error closing stream generator: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * ApiResponseDto 형식으로 행을 기록, 봉투(success/data)는 첫 행을 받을 때 연다
+     */
+    private static final class JsonRowWriter implements ResultRowHandler {
+        private final JsonGenerator generator;
+        private final boolean columnar;
+        private List<String> columnNames;
+        private boolean started;
+        private long rowCount;
+
+        private JsonRowWriter(JsonGenerator generator, boolean columnar) {
+            this.generator = generator;
+            this.columnar = columnar;
+        }
+
+        @Override
+        public void onColumns(List<String> columnNames) throws IOException {
+            this.columnNames = columnNames;
+        }
+
+        @Override
+        public void onRow(Object[] values) throws IOException {
+            start();
+            if (columnar) {
+                generator.writeStartArray();
+                for (Object value : values) {
+                    generator.writeObject(value);
+                }
+                generator.writeEndArray();
+            } else {
+                generator.writeStartObject();
+                for (int i = 0; i < values.length; i++) {
+                    generator.writeFieldName(columnNames.get(i));
+                    generator.writeObject(values[i]);
+                }
+                generator.writeEndObject();
+            }
+            rowCount++;
+        }
+
+        private void start() throws IOException {
+            if (started) {
+                return;
+            }
+            started = true;
+            generator.writeStartObject();
+            generator.writeBooleanField("success", true);
+            generator.writeFieldName("data");
+            if (columnar) {
+                generator.writeStartObject();
+                generator.writeArrayFieldStart("columns");
+                for (String columnName : columnNames) {
+                    generator.writeString(columnName);
+                }
+                generator.writeEndArray();
+                generator.writeArrayFieldStart("rows");
+            } else {
+                generator.writeStartArray();
+            }
+        }
+
+        private void finish(String errCd, String errMsg, PageInfoDto page) throws IOException {
+            if (!started) {
+                // 결과 없음 또는 첫 행 전 오류: 기존 응답과 같이 data 를 null 로 기록
+                generator.writeStartObject();
+                generator.writeBooleanField("success", true);
+                generator.writeNullField("data");
+            } else {
+                generator.writeEndArray();
+                if (columnar) {
+                    generator.writeEndObject();
+                }
+            }
+            generator.writeStringField("errCd", errCd);
+            generator.writeStringField("errMsg", errMsg);
+            if (page != null) {
+                generator.writeObjectField("page", page);
+            }
+            generator.writeEndObject();
+            generator.flush();
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.boot.cms.service.mapview;
+
+import com.boot.cms.config.AppConfig;
+import com.boot.cms.entity.mapview.MapViewEntity;
+import com.boot.cms.entity.mapview.MapViewFileEntity;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * UP_MAPVIEW_SELECT / UP_MAPVIEWFILES_SELECT 로 조회한 프로시저 메타정보(JOBNM, JOBTYPE, PARAMCNT) 캐시
+ * (조회 프로시저, rptCd, jobGb, empNo) 기준으로 보관하며 TTL 과 최대 건수(LRU)로 제한한다.
+ * 조회 프로시저는 사번별 권한을 확인하므로 한 사용자의 정상 조회 결과를 다른 사용자에게 쓰지 않도록 empNo 를 키에 포함한다.
+ * 정상 조회(ERRCD = 00) 결과만 저장한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProcedureMetadataCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProcedureMetadataCache.class);
+
+    // 키 구분자: UP_MAPVIEW_SELECT(V), UP_MAPVIEWFILES_SELECT(F)
+    private static final String VIEW = "V";
+    private static final String FILE = "F";
+
+    private final AppConfig.MapViewCacheConfig mapViewCacheConfig;
+
+    // access-order LinkedHashMap 으로 LRU 유지, 모든 접근은 this 로 동기화
+    private final LinkedHashMap<String, CachedProcedure> entries = new LinkedHashMap<>(64, 0.75f, true);
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+    private final AtomicLong expiredCount = new AtomicLong();
+
+    public boolean isEnabled() {
+        return mapViewCacheConfig.isMetaCacheEnabled();
+    }
+
+    /**
+     * 캐시된 메타정보 조회 (UP_MAPVIEW_SELECT)
+     * @return 캐시 적중 시 새 MapViewEntity, 없거나 만료되었으면 null
+     */
+    public MapViewEntity get(String rptCd, String jobGb, String empNo) {
+        CachedProcedure cached = lookup(key(VIEW, rptCd, jobGb, empNo));
+        return cached == null ? null : cached.toEntity();
+    }
+
+    /**
+     * 캐시된 메타정보 조회 (UP_MAPVIEWFILES_SELECT)
+     * @return 캐시 적중 시 새 MapViewFileEntity, 없거나 만료되었으면 null
+     */
+    public MapViewFileEntity getFile(String rptCd, String jobGb, String empNo) {
+        CachedProcedure cached = lookup(key(FILE, rptCd, jobGb, empNo));
+        return cached == null ? null : cached.toFileEntity();
+    }
+
+    /**
+     * 메타정보 저장 (ERRCD 가 00 인 경우만)
+     */
+    public void put(String rptCd, String jobGb, String empNo, MapViewEntity procInfo) {
+        if (procInfo == null || !"00".equals(procInfo.getErrCd())) {
+            return;
+        }
+        store(key(VIEW, rptCd, jobGb, empNo), procInfo.getJobNm(), procInfo.getJobType(), procInfo.getParamCnt());
+    }
+
+    public void putFile(String rptCd, String jobGb, String empNo, MapViewFileEntity procInfo) {
+        if (procInfo == null || !"00".equals(procInfo.getErrCd())) {
+            return;
+        }
+        store(key(FILE, rptCd, jobGb, empNo), procInfo.getJobNm(), procInfo.getJobType(), procInfo.getParamCnt());
+    }
+
+    private CachedProcedure lookup(String key) {
+        if (!isEnabled()) {
+            return null;
+        }
+
+        CachedProcedure cached;
+        synchronized (this) {
+            cached = entries.get(key);
+            if (cached != null && cached.isExpired(System.currentTimeMillis())) {
+                entries.remove(key);
+                expiredCount.incrementAndGet();
+                cached = null;
+            }
+        }
+
+        if (cached == null) {
+            missCount.incrementAndGet();
+            return null;
+        }
+
+        hitCount.incrementAndGet();
+        return cached;
+    }
+
+    private void store(String key, String jobNm, String jobType, int paramCnt) {
+        if (!isEnabled()) {
+            return;
+        }
+
+        CachedProcedure cached = new CachedProcedure(jobNm, jobType, paramCnt,
+                System.currentTimeMillis() + mapViewCacheConfig.getMetaCacheTtlMillis());
+
+        synchronized (this) {
+            entries.put(key, cached);
+            Iterator<Map.Entry<String, CachedProcedure>> iterator = entries.entrySet().iterator();
+            while (entries.size() > mapViewCacheConfig.getMetaCacheMaxEntries() && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+                evictionCount.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * rptCd 에 해당하는 모든 조회 프로시저/jobGb/사번 항목 무효화
+     * @return 제거된 건수
+     */
+    public synchronized int invalidate(String rptCd) {
+        String viewPrefix = VIEW + "|" + rptCd + "|";
+        String filePrefix = FILE + "|" + rptCd + "|";
+        int before = entries.size();
+        entries.keySet().removeIf(key -> key.startsWith(viewPrefix) || key.startsWith(filePrefix));
+        int removed = before - entries.size();
+        logger.info("Procedure metadata cache invalidated: rptCd={}, removed={}", rptCd, removed);
+        return removed;
+    }
+
+    public synchronized int invalidateAll() {
+        int removed = entries.size();
+        entries.clear();
+        logger.info("Procedure metadata cache cleared: removed={}", removed);
+        return removed;
+    }
+
+    public Map<String, Object> getStats() {
+        long hits = hitCount.get();
+        long misses = missCount.get();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", isEnabled());
+        synchronized (this) {
+            stats.put("size", entries.size());
+        }
+        stats.put("maxEntries", mapViewCacheConfig.getMetaCacheMaxEntries());
+        stats.put("ttlSeconds", mapViewCacheConfig.getMetaCacheTtlMillis() / 1000);
+        stats.put("hitCount", hits);
+        stats.put("missCount", misses);
+        stats.put("hitRate", hits + misses == 0 ? 0.0 : (double) hits / (hits + misses));
+        stats.put("evictionCount", evictionCount.get());
+        stats.put("expiredCount", expiredCount.get());
+        return stats;
+    }
+
+    private String key(String source, String rptCd, String jobGb, String empNo) {
+        return source + "|" + rptCd + "|" + (jobGb == null ? "" : jobGb.toUpperCase()) + "|" + (empNo == null ? "" : empNo);
+    }
+
+    private static final class CachedProcedure {
+        private final String jobNm;
+        private final String jobType;
+        private final int paramCnt;
+        private final long expiresAt;
+
+        private CachedProcedure(String jobNm, String jobType, int paramCnt, long expiresAt) {
+            this.jobNm = jobNm;
+            this.jobType = jobType;
+            this.paramCnt = paramCnt;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+
+        private MapViewEntity toEntity() {
+            MapViewEntity entity = new MapViewEntity();
+            entity.setErrCd("00");
+            entity.setErrMsg("");
+            entity.setJobNm(jobNm);
+            entity.setJobType(jobType);
+            entity.setParamCnt(paramCnt);
+            return entity;
+        }
+
+        private MapViewFileEntity toFileEntity() {
+            MapViewFileEntity entity = new MapViewFileEntity();
+            entity.setErrCd("00");
+            entity.setErrMsg("");
+            entity.setJobNm(jobNm);
+            entity.setJobType(jobType);
+            entity.setParamCnt(paramCnt);
+            return entity;
+        }
+    }
+}
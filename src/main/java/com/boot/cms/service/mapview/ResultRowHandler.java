@@ -0,0 +1,20 @@
+package com.boot.cms.service.mapview;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * ResultSet 을 메모리에 모으지 않고 한 행씩 전달받는 콜백
+ */
+public interface ResultRowHandler {
+
+    /**
+     * 첫 행 전에 한 번 호출 (결과셋이 없으면 빈 목록)
+     */
+    void onColumns(List<String> columnNames) throws IOException;
+
+    /**
+     * 행 단위 호출, values 배열은 호출 후 재사용하지 않는다
+     */
+    void onRow(Object[] values) throws IOException;
+}
@@ -0,0 +1,316 @@
+package com.boot.cms.service.upload;
+
+import com.boot.cms.config.AppConfig;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 분할(청크) 업로드 세션 관리
+ * init 으로 전체 크기만큼의 임시 파일을 만들고, 청크 N 은 N * chunkSize 위치에 바로 기록하므로 순서와 무관하게 병렬로 받을 수 있다.
+ * 요청 본문은 메모리에 모으지 않고 소켓에서 임시 파일로 전송하며, 실패한 청크만 다시 보내면 된다.
+ * 마지막 접근 후 chunkedUploadTtl 이 지난 세션은 주기 작업(sweepExpired)이 임시 파일과 함께 정리하며, 청크 기록/완료 처리 중인 세션은 건너뛴다.
+ * 세션은 메모리에만 있으므로 시작 시 이전 실행이 남긴 임시 파일을 모두 지운다.
+ */
+@Service
+@RequiredArgsConstructor
+public class ChunkedUploadService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChunkedUploadService.class);
+
+    private static final long SWEEP_INTERVAL_MILLIS = 60_000L;
+
+    private final AppConfig.FileConfig fileConfig;
+
+    private final Map<String, UploadSession> sessions = new ConcurrentHashMap<>();
+    private Path tempDir;
+
+    @Setter
+    @Getter
+    String errorMessage;
+
+    @PostConstruct
+    public void start() throws IOException {
+        tempDir = Paths.get(System.getProperty("java.io.tmpdir"), "cms-chunked");
+        Files.createDirectories(tempDir);
+
+        // 재시작 전 세션의 임시 파일은 이어 받을 수 없으므로 삭제
+        int deleted = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(tempDir, "*.part")) {
+            for (Path file : files) {
+                try {
+                    Files.deleteIfExists(file);
+                    deleted++;
+                } catch (IOException e) {
+                    logger.warn("Failed to delete chunked upload file: {}, error: {}", file, e.getMessage());
+                }
+            }
+        }
+        if (deleted > 0) {
+            logger.info("Chunked upload files left from previous run deleted: {}", deleted);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        sessions.values().forEach(UploadSession::delete);
+        sessions.clear();
+    }
+
+    /**
+     * 업로드 세션 생성
+     * @param attributes 완료 시 대상 처리기에 넘길 값 (target, gubun, fileId 등)
+     */
+    public UploadSession init(String empNo, String fileName, long totalSize, Map<String, String> attributes) throws IOException {
+        if (fileName == null || fileName.trim().isEmpty()) {
+            throw new IllegalArgumentException("파일명(fileName)이 필요합니다.");
+        }
+        if (totalSize <= 0 || totalSize > fileConfig.getMaxChunkedUploadSize()) {
+            throw new IllegalArgumentException("파일 크기가 " + (fileConfig.getMaxChunkedUploadSize() / (1024 * 1024)) + "MB 제한을 초과했거나 올바르지 않습니다.");
+        }
+
+        String uploadId = UUID.randomUUID().toString().replace("-", "");
+        Path file = tempDir.resolve(uploadId + ".part");
+        // 전체 크기로 미리 늘려 둔다 (transferFrom 은 파일 끝을 넘는 위치에는 기록하지 않음)
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(1), totalSize - 1);
+        }
+
+        UploadSession session = new UploadSession(uploadId, empNo, fileName, totalSize, fileConfig.getChunkSize(), file, attributes);
+        sessions.put(uploadId, session);
+        logger.info("Chunked upload started: uploadId={}, fileName={}, totalSize={}, chunkCount={}",
+                uploadId, fileName, totalSize, session.getChunkCount());
+        return session;
+    }
+
+    /**
+     * 청크 기록, 같은 청크를 다시 보내면 덮어쓴다.
+     */
+    public UploadSession putChunk(String uploadId, String empNo, int index, InputStream body) throws IOException {
+        UploadSession session = acquireSession(uploadId, empNo);
+        try {
+            writeChunk(session, index, body);
+        } finally {
+            session.release();
+        }
+        return session;
+    }
+
+    private void writeChunk(UploadSession session, int index, InputStream body) throws IOException {
+        if (index < 0 || index >= session.getChunkCount()) {
+            throw new IllegalArgumentException("청크 번호가 올바르지 않습니다: " + index);
+        }
+
+        long position = (long) index * session.getChunkSize();
+        long expected = Math.min(session.getChunkSize(), session.getTotalSize() - position);
+
+        // 청크마다 별도 채널로 위치 지정 기록 (다른 청크와 동시에 기록 가능)
+        long written = 0;
+        try (FileChannel channel = FileChannel.open(session.getFile(), StandardOpenOption.WRITE);
+             ReadableByteChannel source = Channels.newChannel(body)) {
+            while (written < expected) {
+                long transferred = channel.transferFrom(source, position + written, expected - written);
+                if (transferred <= 0) {
+                    break;
+                }
+                written += transferred;
+            }
+            if (written == expected && body.read() != -1) {
+                throw new IllegalArgumentException("청크 크기가 올바르지 않습니다: expected " + expected);
+            }
+        }
+
+        if (written != expected) {
+            throw new IllegalArgumentException("청크 크기가 올바르지 않습니다: expected " + expected + ", received " + written);
+        }
+
+        session.markReceived(index);
+    }
+
+    public UploadSession getSession(String uploadId, String empNo) {
+        UploadSession session = findSession(uploadId, empNo);
+        session.touch();
+        return session;
+    }
+
+    /**
+     * 사용 중으로 표시한 세션 (만료 정리 대상에서 제외, 호출자가 release() 로 해제)
+     */
+    private UploadSession acquireSession(String uploadId, String empNo) {
+        UploadSession session = findSession(uploadId, empNo);
+        if (!session.acquire()) {
+            throw new IllegalArgumentException("업로드 정보를 찾을 수 없습니다: " + uploadId);
+        }
+        return session;
+    }
+
+    private UploadSession findSession(String uploadId, String empNo) {
+        UploadSession session = uploadId == null ? null : sessions.get(uploadId);
+        if (session == null || !session.isOwnedBy(empNo)) {
+            throw new IllegalArgumentException("업로드 정보를 찾을 수 없습니다: " + uploadId);
+        }
+        return session;
+    }
+
+    /**
+     * 모든 청크를 받았으면 세션을 닫고 조립된 파일을 넘긴다. (처리 후 호출자가 delete() 로 정리)
+     */
+    public UploadSession complete(String uploadId, String empNo) {
+        UploadSession session = acquireSession(uploadId, empNo);
+        try {
+            List<Integer> missing = session.getMissingChunks();
+            if (!missing.isEmpty()) {
+                throw new IllegalArgumentException("받지 못한 청크가 있습니다: " + missing);
+            }
+            if (!sessions.remove(uploadId, session)) {
+                throw new IllegalArgumentException("이미 완료된 업로드입니다: " + uploadId);
+            }
+        } finally {
+            session.release();
+        }
+        logger.info("Chunked upload completed: uploadId={}, fileName={}, totalSize={}",
+                uploadId, session.getFileName(), session.getTotalSize());
+        return session;
+    }
+
+    /**
+     * 만료 세션 정리 (청크 기록/완료 처리 중인 세션은 건너뛴다)
+     */
+    @Scheduled(fixedDelay = SWEEP_INTERVAL_MILLIS, initialDelay = SWEEP_INTERVAL_MILLIS)
+    public void sweepExpired() {
+        long now = System.currentTimeMillis();
+        sessions.values().removeIf(session -> {
+            if (!session.expireIfIdle(now, fileConfig.getChunkedUploadTtlMillis())) {
+                return false;
+            }
+            logger.info("Chunked upload expired: uploadId={}", session.getUploadId());
+            session.delete();
+            return true;
+        });
+    }
+
+    @Getter
+    public static class UploadSession {
+        private final String uploadId;
+        private final String empNo;
+        private final String fileName;
+        private final long totalSize;
+        private final int chunkSize;
+        private final int chunkCount;
+        private final Path file;
+        private final Map<String, String> attributes;
+        private final BitSet received;
+        private volatile long lastAccessMillis;
+        private int activeRequests = 0;     // 청크 기록/완료 처리 중인 요청 수
+        private boolean expired = false;
+
+        private UploadSession(String uploadId, String empNo, String fileName, long totalSize, int chunkSize,
+                              Path file, Map<String, String> attributes) {
+            this.uploadId = uploadId;
+            this.empNo = empNo;
+            this.fileName = fileName;
+            this.totalSize = totalSize;
+            this.chunkSize = chunkSize;
+            this.chunkCount = (int) ((totalSize + chunkSize - 1) / chunkSize);
+            this.file = file;
+            this.attributes = Collections.unmodifiableMap(new LinkedHashMap<>(attributes));
+            this.received = new BitSet(chunkCount);
+            this.lastAccessMillis = System.currentTimeMillis();
+        }
+
+        private boolean isOwnedBy(String empNo) {
+            return this.empNo == null ? empNo == null : this.empNo.equals(empNo);
+        }
+
+        private void touch() {
+            lastAccessMillis = System.currentTimeMillis();
+        }
+
+        private synchronized boolean acquire() {
+            if (expired) {
+                return false;
+            }
+            activeRequests++;
+            touch();
+            return true;
+        }
+
+        private synchronized void release() {
+            activeRequests--;
+            touch();
+        }
+
+        /**
+         * 처리 중인 요청이 없고 ttl 동안 접근이 없으면 만료로 표시 (이후 acquire 는 실패)
+         */
+        private synchronized boolean expireIfIdle(long now, long ttlMillis) {
+            if (activeRequests > 0 || now - lastAccessMillis < ttlMillis) {
+                return false;
+            }
+            expired = true;
+            return true;
+        }
+
+        private synchronized void markReceived(int index) {
+            received.set(index);
+        }
+
+        public synchronized int getReceivedCount() {
+            return received.cardinality();
+        }
+
+        public synchronized List<Integer> getMissingChunks() {
+            List<Integer> missing = new ArrayList<>();
+            for (int i = received.nextClearBit(0); i < chunkCount; i = received.nextClearBit(i + 1)) {
+                missing.add(i);
+            }
+            return missing;
+        }
+
+        public Map<String, Object> toStatus() {
+            Map<String, Object> status = new LinkedHashMap<>();
+            status.put("uploadId", uploadId);
+            status.put("fileName", fileName);
+            status.put("totalSize", totalSize);
+            status.put("chunkSize", chunkSize);
+            status.put("chunkCount", chunkCount);
+            status.put("receivedCount", getReceivedCount());
+            status.put("missingChunks", getMissingChunks());
+            return status;
+        }
+
+        public void delete() {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                logger.warn("Failed to delete chunked upload file: {}, error: {}", file, e.getMessage());
+            }
+        }
+    }
+}
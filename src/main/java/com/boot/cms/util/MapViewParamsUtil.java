@@ -8,9 +8,12 @@ import java.util.stream.Collectors;
 @Component
 public class MapViewParamsUtil {
 
+    // 프로시저 인자가 아닌 예약 키 (pageSize/cursor 는 키셋 페이지 요청, includeFileData 는 파일 목록 내용 포함 여부)
+    public static final List<String> RESERVED_KEYS = List.of("rptCd", "jobGb", "empNo", "pageSize", "cursor", "includeFileData");
+
     public List<String> getParams(Map<String, Object> request, EscapeUtil escapeUtil) {
         return request.entrySet().stream()
-                .filter(entry -> !List.of("rptCd", "jobGb", "empNo").contains(entry.getKey()))
+                .filter(entry -> !RESERVED_KEYS.contains(entry.getKey()))
                 .map(entry -> escapeUtil.escape(String.valueOf(entry.getValue())))
                 .collect(Collectors.toList());
     }
@@ -1,10 +1,13 @@
 package com.boot.cms.util;
 
 import com.boot.cms.dto.common.ApiResponseDto;
+import com.boot.cms.dto.common.PageInfoDto;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.Getter;
 import lombok.Setter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 
@@ -20,6 +23,11 @@ public class ResponseEntityUtil {
     private static final String DEFAULT_PARAM_ERROR_MESSAGE = "파라미터가 잘못되었습니다.";
     private static final String DEFAULT_EMPTY_RESULT_MESSAGE = "조회 결과가 없습니다.";
 
+    // 컬럼형(columns + rows 배열) 응답 요청: ?format=columnar 또는 Accept 헤더
+    public static final String COLUMNAR_MEDIA_TYPE = "application/vnd.cms.columnar+json";
+    private static final String FORMAT_PARAM = "format";
+    private static final String COLUMNAR_FORMAT = "columnar";
+
     @Setter
     @Getter
     String errorMessage;
@@ -34,6 +42,11 @@ public class ResponseEntityUtil {
         return ResponseEntity.ok(new ApiResponseDto<>(true, data, cd, msg));
     }
 
+    //정상적으로 데이터와 페이지 정보 출력 (page 가 null 이면 okBodyEntity(data) 와 동일)
+    public <T> ResponseEntity<ApiResponseDto<T>> okBodyEntity(T data, PageInfoDto page) {
+        return ResponseEntity.ok(new ApiResponseDto<>(true, data, "00", "", page));
+    }
+
     //네트워크 오류 등 비정상적일때 출력
     public <T> ResponseEntity<ApiResponseDto<T>> errBodyEntity(String msg) {
         return ResponseEntity.badRequest()
@@ -46,6 +59,18 @@ public class ResponseEntityUtil {
                 .body(new ApiResponseDto<>(false, null, "01", msg));
     }
 
+    // 컬럼형 응답(ColumnarResult) 요청 여부
+    public boolean isColumnarRequested(HttpServletRequest request) {
+        if (request == null) {
+            return false;
+        }
+        if (COLUMNAR_FORMAT.equalsIgnoreCase(request.getParameter(FORMAT_PARAM))) {
+            return true;
+        }
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        return accept != null && accept.contains(COLUMNAR_MEDIA_TYPE);
+    }
+
     // 여러 파라미터 키를 검증하고 리스트 조회를 처리하는 공통 메서드
     public <T> ResponseEntity<ApiResponseDto<List<T>>> handleListQuery(
             Map<String, String> request,
@@ -0,0 +1,40 @@
+-- 첨부파일 목록 메타정보 전용 프로시저 (FILE_LIST_METADATA_RPTCD, 목록 includeFileData=false)
+-- 목록 프로시저와 같은 행을 돌려주되 FILEDATA(LONGBLOB) 내용은 조회하지 않아 DB/드라이버가 파일 내용을 전송하지 않는다.
+-- 첨부파일 저장소 참조(cas:sha256:<hex>, 75바이트)인 행만 FILEDATA 로 참조를 돌려주고 나머지 행은 NULL 이다.
+-- (DynamicQueryFileService 가 참조이면 FILEHASH/FILESIZE 를 채우고, 아니면 FILESIZE 컬럼을 그대로 쓴다)
+-- 적용 후 UP_MAPVIEWFILES_SELECT 가 조회하는 프로시저 등록 정보에 NOTICEFILEMETA / EXCELUPLOADTEMPFILEMETA 를
+-- 각 목록 rptCd(NOTICEFILE / EXCELUPLOADTEMPFILE)와 같은 JOBTYPE, PARAMCNT 로 등록한다.
+-- 목록 프로시저의 인자/조건/정렬을 바꾸면 이 프로시저도 같이 바꾼다.
+
+DELIMITER $$
+
+DROP PROCEDURE IF EXISTS UP_NOTICEFILEMETA_SELECT $$
+CREATE PROCEDURE UP_NOTICEFILEMETA_SELECT(
+    IN pNOTICEID VARCHAR(20)
+)
+BEGIN
+    SELECT NOTICEID
+         , FILEID
+         , FILENM
+         , FILETYPE
+         , FILESIZE
+         , CASE WHEN LENGTH(FILEDATA) = 75 THEN FILEDATA END AS FILEDATA
+      FROM TB_NOTICEFILE
+     WHERE NOTICEID = pNOTICEID
+     ORDER BY FILEID;
+END $$
+
+DROP PROCEDURE IF EXISTS UP_EXCELUPLOADTEMPFILEMETA_SELECT $$
+CREATE PROCEDURE UP_EXCELUPLOADTEMPFILEMETA_SELECT()
+BEGIN
+    SELECT FILEID
+         , TITLE
+         , FILENM
+         , FILETYPE
+         , FILESIZE
+         , CASE WHEN LENGTH(FILEDATA) = 75 THEN FILEDATA END AS FILEDATA
+      FROM TB_EXCELUPLOADTEMPFILE
+     ORDER BY FILEID;
+END $$
+
+DELIMITER ;
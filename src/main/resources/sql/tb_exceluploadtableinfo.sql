@@ -0,0 +1,12 @@
+-- 엑셀 업로드 기준 정보 (tb_exceluploadtableinfo) 추가 컬럼
+-- 기존 테이블에 한 번 적용한다. (ADD COLUMN IF NOT EXISTS 로 다시 실행해도 그대로)
+
+-- 적재 방식: BULK 이면 LOAD DATA LOCAL INFILE(ExcelBulkLoader), NULL/그 외는 PreparedStatement 배치(ExcelBatchLoader)
+-- BULK 는 JDBC_ALLOW_LOCAL_INFILE=true 와 서버 local_infile=ON 이 필요하다.
+ALTER TABLE tb_exceluploadtableinfo
+    ADD COLUMN IF NOT EXISTS LOADMODE VARCHAR(10) NULL COMMENT '적재 방식 (BULK: LOAD DATA LOCAL INFILE, NULL: 배치 INSERT)' AFTER DELYN;
+
+-- 스테이징 교체: Y 이면 <대상>_stg 에 적재한 뒤 RENAME TABLE 로 대상 테이블과 교체, NULL/N 이면 TRUNCATE 후 적재
+-- 교체 후 대상 테이블은 CREATE TABLE ... LIKE 로 만든 테이블이므로 GRANT/트리거/외래 키가 있는 테이블은 Y 로 두지 않는다.
+ALTER TABLE tb_exceluploadtableinfo
+    ADD COLUMN IF NOT EXISTS SWAPYN CHAR(1) NULL DEFAULT 'N' COMMENT '스테이징 테이블 교체 여부 (Y/N)' AFTER LOADMODE;
@@ -0,0 +1,17 @@
+-- MAP VIEW 감사 이력 (MAPVIEW_AUDIT_TABLE, 기본 tb_mapviewhist)
+-- 프로시저 메타정보 캐시 적중으로 UP_MAPVIEW_SELECT / UP_MAPVIEWFILES_SELECT 를 호출하지 않은 요청을
+-- MapViewAuditService 가 비동기 JDBC 배치로 기록한다.
+CREATE TABLE IF NOT EXISTS tb_mapviewhist (
+    HISTID      BIGINT        NOT NULL AUTO_INCREMENT COMMENT '이력 ID',
+    EMPNO       VARCHAR(50)   NULL     COMMENT '사번',
+    IP          VARCHAR(50)   NULL     COMMENT '접속 IP',
+    RPTCD       VARCHAR(100)  NOT NULL COMMENT '키코드',
+    JOBGB       VARCHAR(20)   NULL     COMMENT '작업구분 (GET, SET 등)',
+    PARAMS      TEXT          NULL     COMMENT '파라미터 (│ 구분)',
+    USERCONGB   VARCHAR(20)   NULL     COMMENT '접속구분',
+    USERAGENT   VARCHAR(500)  NULL     COMMENT 'UserAgent',
+    REGDT       DATETIME      NOT NULL COMMENT '요청 일시',
+    PRIMARY KEY (HISTID),
+    KEY IX_MAPVIEWHIST_REGDT (REGDT),
+    KEY IX_MAPVIEWHIST_EMPNO (EMPNO, REGDT)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4 COMMENT = 'MAP VIEW 감사 이력 (메타정보 캐시 적중)';
@@ -0,0 +1,186 @@
+package com.boot.cms.service.excelupload;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * DelimitedTextReader CSV 파싱/문자셋 판단 테스트
+ */
+class DelimitedTextReaderTest {
+
+    private static final Charset CP949 = Charset.forName("x-windows-949");
+
+    @TempDir
+    Path tempDir;
+
+    private final DelimitedTextReader reader = new DelimitedTextReader();
+
+    @Test
+    void readsQuotedFieldsWithDelimiterNewlineAndEscapedQuote() throws IOException {
+        Path file = write("a.csv", "id,name,memo\n1,\"홍,길동\",\"첫 줄\n둘째 줄\"\n2,\"say \"\"hi\"\"\",\n", StandardCharsets.UTF_8);
+
+        List<Row> rows = read(file, ',');
+
+        assertEquals(3, rows.size());
+        assertEquals(List.of("id", "name", "memo"), rows.get(0).values);
+        assertEquals(List.of("1", "홍,길동", "첫 줄\n둘째 줄"), rows.get(1).values);
+        assertEquals(List.of("2", "say \"hi\"", ""), rows.get(2).values);
+        // 따옴표 안의 줄바꿈은 행 번호를 늘리지 않는다
+        assertEquals(2, rows.get(2).rowIndex);
+    }
+
+    @Test
+    void keepsRowIndexAcrossBlankLinesAndCrLf() throws IOException {
+        Path file = write("a.csv", "a,b\r\n\r\n1,2\r\n\n3,4", StandardCharsets.UTF_8);
+
+        List<Row> rows = read(file, ',');
+
+        assertEquals(3, rows.size());
+        assertEquals(0, rows.get(0).rowIndex);
+        assertEquals(2, rows.get(1).rowIndex);
+        assertEquals(4, rows.get(2).rowIndex);
+        assertEquals(List.of("3", "4"), rows.get(2).values);
+    }
+
+    @Test
+    void keepsCellValuesUntrimmed() throws IOException {
+        Path file = write("a.tsv", " a \t'001\t2024/01/05\n", StandardCharsets.UTF_8);
+
+        List<Row> rows = read(file, '\t');
+
+        // trim/날짜 변환은 변환 단계(ExcelConversionPlan)에서 적용
+        assertEquals(List.of(" a ", "'001", "2024/01/05"), rows.get(0).values);
+    }
+
+    @Test
+    void stripsUtf8Bom() throws IOException {
+        byte[] body = "이름,값\n가,1\n".getBytes(StandardCharsets.UTF_8);
+        byte[] content = new byte[body.length + 3];
+        content[0] = (byte) 0xEF;
+        content[1] = (byte) 0xBB;
+        content[2] = (byte) 0xBF;
+        System.arraycopy(body, 0, content, 3, body.length);
+        Path file = tempDir.resolve("bom.csv");
+        Files.write(file, content);
+
+        List<Row> rows = read(file, ',');
+
+        assertEquals(List.of("이름", "값"), rows.get(0).values);
+    }
+
+    @Test
+    void detectsUtf8AndCp949() {
+        String text = "사번,성명\n1001,김철수\n";
+
+        assertEquals(StandardCharsets.UTF_8, DelimitedTextReader.detectCharset(text.getBytes(StandardCharsets.UTF_8)));
+        assertEquals(StandardCharsets.UTF_8, DelimitedTextReader.detectCharset("id,name\n".getBytes(StandardCharsets.US_ASCII)));
+        assertEquals(CP949, DelimitedTextReader.detectCharset(text.getBytes(CP949)));
+    }
+
+    @Test
+    void detectsCp949AfterAsciiHead() throws IOException {
+        // 앞부분(64KB)이 숫자/영문뿐이고 뒤에 CP949 한글이 나오는 파일
+        StringBuilder content = new StringBuilder("id,amount,name\n");
+        for (int i = 0; content.length() < 70 * 1024; i++) {
+            content.append(i).append(",1000,abc\n");
+        }
+        content.append("99999,2000,김철수\n");
+        Path file = write("ascii-head.csv", content.toString(), CP949);
+
+        assertEquals(CP949, DelimitedTextReader.detectCharset(Files.readAllBytes(file)));
+        List<Row> rows = read(file, ',');
+        assertEquals(List.of("99999", "2000", "김철수"), rows.get(rows.size() - 1).values);
+    }
+
+    @Test
+    void detectsUtf8AfterAsciiHead() {
+        StringBuilder content = new StringBuilder();
+        while (content.length() < 70 * 1024) {
+            content.append("1,abc\n");
+        }
+        content.append("2,김철수\n");
+
+        assertEquals(StandardCharsets.UTF_8, DelimitedTextReader.detectCharset(content.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void readsCp949File() throws IOException {
+        Path file = write("euckr.csv", "사번,성명\n1001,김철수\n", CP949);
+
+        List<Row> rows = read(file, ',');
+
+        assertEquals(List.of("1001", "김철수"), rows.get(1).values);
+    }
+
+    @Test
+    void failsOnBytesInvalidForDetectedCharset() throws IOException {
+        // 앞부분(64KB)은 ASCII 이고 뒤에 UTF-8/CP949 어느 쪽으로도 읽을 수 없는 바이트가 있는 파일
+        StringBuilder head = new StringBuilder();
+        while (head.length() < 70 * 1024) {
+            head.append("1,abc\n");
+        }
+        byte[] ascii = head.toString().getBytes(StandardCharsets.US_ASCII);
+        byte[] content = new byte[ascii.length + 4];
+        System.arraycopy(ascii, 0, content, 0, ascii.length);
+        content[ascii.length] = '2';
+        content[ascii.length + 1] = ',';
+        content[ascii.length + 2] = (byte) 0xFF;
+        content[ascii.length + 3] = '\n';
+        Path file = tempDir.resolve("broken.csv");
+        Files.write(file, content);
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> read(file, ','));
+        assertTrue(e.getMessage().contains("UTF-8"));
+    }
+
+    @Test
+    void resolvesDelimiterFromRequestAndExtension() {
+        assertNull(DelimitedTextReader.resolveDelimiter("data.xlsx", ","));
+        assertNull(DelimitedTextReader.resolveDelimiter("data.bin", null));
+        assertEquals(Character.valueOf(','), DelimitedTextReader.resolveDelimiter("data.CSV", null));
+        assertEquals(Character.valueOf('\t'), DelimitedTextReader.resolveDelimiter("data.tsv", null));
+        assertEquals(Character.valueOf('\t'), DelimitedTextReader.resolveDelimiter("data.csv", "TAB"));
+        assertEquals(Character.valueOf(';'), DelimitedTextReader.resolveDelimiter("data.txt", ";"));
+        assertThrows(IllegalArgumentException.class, () -> DelimitedTextReader.resolveDelimiter("data.csv", "\""));
+        assertThrows(IllegalArgumentException.class, () -> DelimitedTextReader.resolveDelimiter("data.csv", "||"));
+    }
+
+    @Test
+    void rejectsEmptyAndBinaryFiles() throws IOException {
+        Path empty = tempDir.resolve("empty.csv");
+        Files.write(empty, new byte[0]);
+        Path zip = tempDir.resolve("book.csv");
+        Files.write(zip, new byte[]{'P', 'K', 3, 4, 0, 0});
+
+        assertThrows(IllegalArgumentException.class, () -> reader.validate(empty));
+        assertThrows(IllegalArgumentException.class, () -> reader.validate(zip));
+    }
+
+    private Path write(String name, String content, Charset charset) throws IOException {
+        Path file = tempDir.resolve(name);
+        Files.write(file, content.getBytes(charset));
+        return file;
+    }
+
+    private List<Row> read(Path file, char delimiter) throws IOException {
+        List<Row> rows = new ArrayList<>();
+        reader.read(file, delimiter, (rowIndex, values) -> rows.add(new Row(rowIndex, new ArrayList<>(values))));
+        return rows;
+    }
+
+    private record Row(int rowIndex, List<String> values) {
+    }
+}
@@ -0,0 +1,127 @@
+package com.boot.cms.service.excelupload;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * ExcelConversionPlan 변환 결과가 기존 문자열 셀 변환(formatStringValue)과 같은지 확인
+ */
+class ExcelConversionPlanTest {
+
+    private static final String[] SAMPLES = {
+            "", " ", "abc", " abc ", "홍길동", "이철수2", "A-1", "-", " - ", "--", "-5", "'", "'001", "'2025/06/03",
+            "0", "123456", "1,234", "1,234.50", "1.2.3", "12ab", "1e5", "20250603", "2025060", "20251340",
+            "2025/06/03", "2025/13/40", "2025-06-03", "9:05", "09:05:07", "9:05 PM", "12:34:56am", "25:99",
+            "1:5", " 7:30 ", "\t42\t"
+    };
+
+    @Test
+    void matchesFormatStringValueForEveryColumnType() {
+        int[] types = {Types.VARCHAR, Types.DECIMAL, Types.DATE, Types.TIME, Types.INTEGER, Types.CHAR};
+        ExcelConversionPlan plan = new ExcelConversionPlan(columns(types));
+
+        for (String sample : SAMPLES) {
+            List<String> values = new ArrayList<>();
+            for (int i = 0; i < types.length; i++) {
+                values.add(sample);
+            }
+            plan.convertRow(values);
+            for (int i = 0; i < types.length; i++) {
+                assertEquals(formatStringValue(sample), values.get(i), "column " + i + ", value [" + sample + "]");
+            }
+        }
+    }
+
+    @Test
+    void staticConvertMatchesFormatStringValue() {
+        for (String sample : SAMPLES) {
+            assertEquals(formatStringValue(sample), ExcelConversionPlan.convert(sample), "value [" + sample + "]");
+        }
+    }
+
+    @Test
+    void countsNonEmptyCellsAndFindsOverflowColumn() {
+        ExcelConversionPlan plan = new ExcelConversionPlan(columns(new int[]{Types.VARCHAR, Types.DECIMAL}));
+        List<String> values = new ArrayList<>(Arrays.asList("a", null, " ", "x", "y"));
+
+        int nonEmpty = plan.convertRow(values);
+
+        assertEquals(3, nonEmpty);
+        assertEquals(1, plan.getLastDataColumns());
+        // 적재 대상(2열) 밖에서 값이 있는 첫 열은 4번째 열 (3번째 열은 공백뿐)
+        assertEquals(4, plan.getLastOverflowColumn());
+        assertEquals(Arrays.asList("a", "", "", "x", "y"), values);
+    }
+
+    @Test
+    void resetsOverflowColumnForNextRow() {
+        ExcelConversionPlan plan = new ExcelConversionPlan(columns(new int[]{Types.VARCHAR}));
+        plan.convertRow(new ArrayList<>(Arrays.asList("a", "b")));
+
+        plan.convertRow(new ArrayList<>(Arrays.asList("a", "")));
+
+        assertEquals(0, plan.getLastOverflowColumn());
+        assertEquals(1, plan.getLastDataColumns());
+    }
+
+    private static TargetTableColumns columns(int[] types) {
+        String[] names = new String[types.length];
+        boolean[] nullable = new boolean[types.length];
+        for (int i = 0; i < types.length; i++) {
+            names[i] = "COL" + (i + 1);
+            nullable[i] = true;
+        }
+        return new TargetTableColumns("tb_test", names, types, nullable);
+    }
+
+    /**
+     * 기존 ExcelUploadService 의 문자열 셀 변환 (비교 기준)
+     */
+    private static String formatStringValue(String value) {
+        String strVal = value.trim();
+        if (strVal.isEmpty()) {
+            return "";
+        }
+        // 맨 앞 single quote 처리
+        String processedVal = strVal.startsWith("'") && strVal.length() > 1 ? strVal.substring(1) : strVal;
+
+        // 숫자형 (yyyyMMdd)
+        if (processedVal.matches("\\d{8}")) {
+            return processedVal;
+        }
+        // 날짜 형식 (yyyy/MM/dd)
+        if (processedVal.matches("\\d{4}/\\d{2}/\\d{2}")) {
+            try {
+                LocalDate date = LocalDate.parse(processedVal, DateTimeFormatter.ofPattern("yyyy/MM/dd"));
+                return date.format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
+            } catch (DateTimeParseException e) {
+                return processedVal;
+            }
+        }
+        // 시간 형식 (H:mm, H:mm:ss, H:mm:ss AM/PM)
+        if (processedVal.matches("\\d{1,2}:\\d{2}(:\\d{2})?(\\s*(AM|PM|am|pm))?")) {
+            String cleanedTime = processedVal.replaceAll("\\s*(AM|PM|am|pm)", "").trim();
+            try {
+                DateTimeFormatter timeParseFormatter = cleanedTime.matches("\\d{1,2}:\\d{2}:\\d{2}")
+                        ? DateTimeFormatter.ofPattern("H:mm:ss")
+                        : DateTimeFormatter.ofPattern("H:mm");
+                LocalTime time = LocalTime.parse(cleanedTime, timeParseFormatter);
+                return time.format(DateTimeFormatter.ofPattern("HH:mm:ss"));
+            } catch (DateTimeParseException e) {
+                return cleanedTime;
+            }
+        }
+        // 비숫자형 (e.g., 이철수2)
+        return processedVal.equals("-") ? "0" : processedVal;
+    }
+}
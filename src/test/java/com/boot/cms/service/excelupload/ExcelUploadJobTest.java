@@ -0,0 +1,64 @@
+package com.boot.cms.service.excelupload;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * ExcelUploadJob 업로드 키 발급과 UPLOAD_MON/UPLOADDT 테스트
+ * 키 발급 상태는 JVM 전체에서 공유하므로 순번 검증은 한 메서드에서 먼 미래 시각으로 진행한다.
+ */
+class ExcelUploadJobTest {
+
+    @Test
+    void issuesFixedWidthKeysMovingToNextSecondOnCollision() {
+        LocalDateTime base = LocalDateTime.of(2099, 12, 31, 23, 59, 58, 100_000_000);
+
+        String first = ExcelUploadJob.nextUploadKey(base);
+        // 같은 초는 다음 초 (해가 바뀌는 경우 포함)
+        String second = ExcelUploadJob.nextUploadKey(base.plusNanos(800_000_000));
+        String third = ExcelUploadJob.nextUploadKey(base.plusNanos(850_000_000));
+        // 실제 시각이 발급한 키보다 늦으면 실제 시각
+        String later = ExcelUploadJob.nextUploadKey(base.plusSeconds(10));
+        // 시계가 뒤로 가면 마지막 발급 초의 다음 초
+        String clockBack = ExcelUploadJob.nextUploadKey(base.minusSeconds(5));
+
+        assertEquals("20991231235958", first);
+        assertEquals("20991231235959", second);
+        assertEquals("21000101000000", third);
+        assertEquals("21000101000008", later);
+        assertEquals("21000101000009", clockBack);
+        for (String key : new String[]{first, second, third, later, clockBack}) {
+            assertEquals(14, key.length());
+        }
+    }
+
+    @Test
+    void keepsUploadMonthAndDateOnRealTimeForBurst() {
+        Set<String> keys = new HashSet<>();
+        for (int i = 0; i < 50; i++) {
+            ExcelUploadJob job = new ExcelUploadJob("RPT", "E001", null);
+            keys.add(job.getUploadKey());
+
+            // 키가 실제 시각보다 앞서도 UPLOAD_MON/UPLOADDT 는 작업 생성 시각 기준
+            assertEquals(job.getCreatedAt().format(DateTimeFormatter.ofPattern("yyyyMM")), job.getUploadMon());
+            assertEquals(job.getCreatedAt().format(DateTimeFormatter.ofPattern("yyyyMMdd")), job.getUploadDt());
+            assertEquals("", job.getEmpNm());
+        }
+        assertEquals(50, keys.size());
+    }
+
+    @Test
+    void checksOwner() {
+        ExcelUploadJob job = new ExcelUploadJob("RPT", "E001", "tester");
+
+        assertTrue(job.isOwnedBy("E001"));
+        assertTrue(!job.isOwnedBy("E002") && !job.isOwnedBy(null));
+    }
+}
@@ -0,0 +1,230 @@
+package com.boot.cms.service.excelupload;
+
+import com.boot.cms.config.AppConfig;
+import com.boot.cms.entity.excelupload.ExcelUploadTableInfoEntity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * ExcelUploadScheduler 대상 테이블별 FIFO, 우선순위, 취소 테스트
+ * DB 를 쓰는 ExcelUploadService 메서드는 FakeUploadService 로 대신하며, rptCd 첫 글자가 대상 테이블을 정한다. (A1, A2 → tb_A)
+ */
+class ExcelUploadSchedulerTest {
+
+    private static final String EMP_NO = "E001";
+    private static final long TIMEOUT_MILLIS = 5000;
+
+    private FakeUploadService service;
+    private ExcelUploadScheduler scheduler;
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.releaseAll();
+        }
+        if (scheduler != null) {
+            scheduler.stop();
+        }
+    }
+
+    @Test
+    void runsJobsOfSameTableOneAtATimeInArrivalOrder() throws Exception {
+        start(2);
+
+        submit("A1", 0);
+        ExcelUploadJob a2 = submit("A2", 0);
+        submit("B1", 0);
+
+        // 슬롯이 2개여도 같은 테이블(tb_A)의 A2 는 A1 이 끝날 때까지 대기
+        waitFor(() -> service.started.size() == 2);
+        assertEquals(List.of("A1", "B1"), service.startedSnapshot());
+        assertEquals(1, scheduler.getStatus(a2.getUploadKey(), EMP_NO).get("queuePosition"));
+
+        service.release("A1");
+        waitFor(() -> service.started.size() == 3);
+        assertEquals("A2", service.startedSnapshot().get(2));
+    }
+
+    @Test
+    void startsHighestPriorityFirstAndKeepsArrivalOrderWithinPriority() throws Exception {
+        start(1);
+
+        submit("A1", 0);
+        waitFor(() -> service.started.size() == 1);
+        submit("B1", 0);
+        submit("C1", 5);
+        submit("D1", 0);
+        submit("E1", 5);
+
+        for (String rptCd : List.of("A1", "C1", "E1", "B1")) {
+            int count = service.started.size();
+            service.release(rptCd);
+            waitFor(() -> service.started.size() == count + 1);
+        }
+        assertEquals(List.of("A1", "C1", "E1", "B1", "D1"), service.startedSnapshot());
+    }
+
+    @Test
+    void cancelsQueuedJobWithoutRunningIt() throws Exception {
+        start(1);
+
+        submit("A1", 0);
+        waitFor(() -> service.started.size() == 1);
+        ExcelUploadJob b1 = submit("B1", 0);
+        Path b1File = service.files.get("B1");
+
+        assertFalse(scheduler.cancel(b1.getUploadKey(), "OTHER"));
+        assertTrue(scheduler.cancel(b1.getUploadKey(), EMP_NO));
+        assertEquals(List.of("B1"), service.cancelledSnapshot());
+        assertFalse(Files.exists(b1File));
+        assertEquals(0, scheduler.getStatus(b1.getUploadKey(), EMP_NO).get("queuePosition"));
+
+        service.release("A1");
+        submit("C1", 0);
+        waitFor(() -> service.started.size() == 2);
+        assertEquals(List.of("A1", "C1"), service.startedSnapshot());
+    }
+
+    @Test
+    void cancelsRunningJobAndRecordsCancellation() throws Exception {
+        start(1);
+
+        ExcelUploadJob a1 = submit("A1", 0);
+        waitFor(() -> service.started.size() == 1);
+
+        assertTrue(scheduler.cancel(a1.getUploadKey(), EMP_NO));
+        waitFor(() -> service.cancelled.contains("A1"));
+        assertTrue(a1.isCancelRequested());
+        assertTrue(service.failed.isEmpty());
+
+        // 취소된 작업의 슬롯이 풀려 다음 작업이 실행된다
+        waitFor(() -> !Files.exists(service.files.get("A1")));
+        submit("B1", 0);
+        waitFor(() -> service.started.size() == 2);
+    }
+
+    private void start(int maxConcurrentJobs) throws IOException {
+        AppConfig.ExcelUploadConfig config = new AppConfig.ExcelUploadConfig(1000, 10000, 1, 4, maxConcurrentJobs, 100, false,
+                10, Set.of());
+        service = new FakeUploadService(config);
+        scheduler = new ExcelUploadScheduler(service, config);
+        scheduler.start();
+    }
+
+    private ExcelUploadJob submit(String rptCd, int priority) throws IOException {
+        Path file = scheduler.createUploadFile(".xlsx");
+        service.files.put(rptCd, file);
+        return scheduler.submit(rptCd, file, EMP_NO, "tester", priority);
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("condition not met within " + TIMEOUT_MILLIS + "ms");
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * DB 없이 실행 순서와 취소/실패 기록만 남기는 업로드 서비스 (작업 등록/조회는 실제 구현 사용)
+     * 실행된 작업은 release 또는 취소 요청이 올 때까지 끝나지 않는다.
+     */
+    private static class FakeUploadService extends ExcelUploadService {
+        private final List<String> started = Collections.synchronizedList(new ArrayList<>());
+        private final List<String> cancelled = Collections.synchronizedList(new ArrayList<>());
+        private final List<String> failed = Collections.synchronizedList(new ArrayList<>());
+        private final Map<String, Path> files = new ConcurrentHashMap<>();
+        private final Map<String, CountDownLatch> releases = new ConcurrentHashMap<>();
+
+        FakeUploadService(AppConfig.ExcelUploadConfig config) {
+            super(null, null, null, null, config);
+        }
+
+        void release(String rptCd) {
+            latch(rptCd).countDown();
+        }
+
+        void releaseAll() {
+            releases.values().forEach(CountDownLatch::countDown);
+        }
+
+        List<String> startedSnapshot() {
+            synchronized (started) {
+                return new ArrayList<>(started);
+            }
+        }
+
+        List<String> cancelledSnapshot() {
+            synchronized (cancelled) {
+                return new ArrayList<>(cancelled);
+            }
+        }
+
+        private CountDownLatch latch(String rptCd) {
+            return releases.computeIfAbsent(rptCd, key -> new CountDownLatch(1));
+        }
+
+        @Override
+        ExcelUploadTableInfoEntity getExcelUploadTableInfo(ExcelUploadJob job) {
+            ExcelUploadTableInfoEntity tableInfo = new ExcelUploadTableInfoEntity();
+            tableInfo.setTargetTable("tb_" + job.getRptCd().charAt(0));
+            tableInfo.setUseYn("Y");
+            return tableInfo;
+        }
+
+        @Override
+        public void excelUpload(ExcelUploadJob job, Path xlsxFile) {
+            started.add(job.getRptCd());
+            CountDownLatch latch = latch(job.getRptCd());
+            try {
+                while (!latch.await(10, TimeUnit.MILLISECONDS)) {
+                    if (job.isCancelRequested()) {
+                        throw new IllegalArgumentException("업로드가 취소되었습니다: " + job.getUploadKey());
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        void saveExcelUploadResult(ExcelUploadJob job, String uploadRow, String resultYn, String totCnt, String message) {
+        }
+
+        @Override
+        void recordCancelled(ExcelUploadJob job) {
+            job.finish(false);
+            cancelled.add(job.getRptCd());
+        }
+
+        @Override
+        void recordFailure(ExcelUploadJob job, Exception e) {
+            job.finish(false);
+            failed.add(job.getRptCd());
+        }
+
+        @Override
+        int abandonUnfinishedResults() {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.boot.cms.service.mapview;
+
+import com.boot.cms.config.AppConfig;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * AttachmentCodec 압축 정책과 deflate 스트림 왕복 테스트
+ */
+class AttachmentCodecTest {
+
+    private static AttachmentCodec codec(boolean enabled) {
+        return new AttachmentCodec(new AppConfig.AttachmentCompressionConfig(enabled, 6, 1024, Set.of("zip", "xlsx", "png")));
+    }
+
+    @Test
+    void compressAndDecompressRoundTrip() throws IOException {
+        AttachmentCodec codec = codec(true);
+        byte[] text = "첨부파일 압축 왕복 테스트 ".repeat(2000).getBytes(StandardCharsets.UTF_8);
+        byte[] random = new byte[100_000];
+        new Random(42).nextBytes(random);
+
+        for (byte[] original : new byte[][]{text, random, new byte[0]}) {
+            byte[] compressed = compress(codec, original);
+            assertArrayEquals(original, decompress(compressed));
+        }
+        assertTrue(compress(codec, text).length < text.length);
+    }
+
+    @Test
+    void countsBytesWhenStreamCloses() throws IOException {
+        AttachmentCodec codec = codec(true);
+        byte[] original = "abc".repeat(1000).getBytes(StandardCharsets.US_ASCII);
+
+        byte[] compressed = compress(codec, original);
+
+        assertEquals(1L, codec.getStats().get("compressedCount"));
+        assertEquals((long) original.length, codec.getStats().get("bytesIn"));
+        assertEquals((long) compressed.length, codec.getStats().get("bytesOut"));
+    }
+
+    @Test
+    void selectsDeflateOnlyWhenEnabledAndAllowed() {
+        AttachmentCodec enabled = codec(true);
+
+        assertEquals(AttachmentCodec.CODEC_DEFLATE, enabled.selectCodec("report.csv", 4096));
+        assertEquals(AttachmentCodec.CODEC_DEFLATE, enabled.selectCodec("noextension", 4096));
+        assertEquals(AttachmentCodec.CODEC_DEFLATE, enabled.selectCodec(null, -1));
+        // 크기를 모르면 크기 조건은 보지 않는다
+        assertEquals(AttachmentCodec.CODEC_DEFLATE, enabled.selectCodec("report.csv", -1));
+        // 최소 크기 미만, 이미 압축된 형식(대소문자 무관)은 원본
+        assertEquals(AttachmentCodec.CODEC_NONE, enabled.selectCodec("report.csv", 1023));
+        assertEquals(AttachmentCodec.CODEC_NONE, enabled.selectCodec("book.XLSX", 4096));
+        assertEquals(AttachmentCodec.CODEC_NONE, enabled.selectCodec("image.png", 4096));
+        assertEquals(3L, enabled.getStats().get("skippedCount"));
+
+        AttachmentCodec disabled = codec(false);
+        assertEquals(AttachmentCodec.CODEC_NONE, disabled.selectCodec("report.csv", 4096));
+    }
+
+    @Test
+    void shouldCompressFollowsPolicyWithoutCounting() {
+        AttachmentCodec codec = codec(true);
+
+        assertTrue(codec.shouldCompress("a.txt", 2048));
+        assertFalse(codec.shouldCompress("a.zip", 2048));
+        assertFalse(codec.shouldCompress("a.txt", 10));
+        assertEquals(0L, codec.getStats().get("skippedCount"));
+    }
+
+    private static byte[] compress(AttachmentCodec codec, byte[] original) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (OutputStream out = codec.compress(buffer)) {
+            out.write(original);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static byte[] decompress(byte[] compressed) throws IOException {
+        try (InputStream in = AttachmentCodec.decompress(new ByteArrayInputStream(compressed))) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.boot.cms.service.mapview;
+
+import com.boot.cms.config.AppConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.sql.rowset.serial.SerialBlob;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 첨부파일 저장소 참조 판별(원본 내용과의 구분)과 LocalAttachmentStore 저장/읽기 왕복 테스트
+ */
+class AttachmentStoreTest {
+
+    private static final String SHA = "0123456789abcdef".repeat(4);
+
+    @TempDir
+    Path tempDir;
+
+    private LocalAttachmentStore store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        AppConfig.AttachmentStoreConfig storeConfig = new AppConfig.AttachmentStoreConfig(true, tempDir.toString(), false, Map.of(), 100);
+        AttachmentCodec codec = new AttachmentCodec(new AppConfig.AttachmentCompressionConfig(true, 6, 16, Set.of("png")));
+        store = new LocalAttachmentStore(storeConfig, codec);
+        store.start();
+    }
+
+    @Test
+    void parsesOnlyWellFormedReferences() {
+        assertEquals(SHA, AttachmentStore.parseReference(AttachmentStore.toReference(SHA)));
+        assertEquals(AttachmentStore.REFERENCE_LENGTH, AttachmentStore.toReference(SHA).length);
+
+        assertNull(AttachmentStore.parseReference(null));
+        assertNull(AttachmentStore.parseReference(ascii("cas:sha256:" + SHA.substring(1))));
+        assertNull(AttachmentStore.parseReference(ascii("cas:sha256:" + SHA.toUpperCase())));
+        assertNull(AttachmentStore.parseReference(ascii("cas:sha512:" + SHA)));
+        assertNull(AttachmentStore.parseReference(ascii("cas:sha256:" + SHA.substring(1) + "g")));
+    }
+
+    @Test
+    void treatsReferenceShapedContentAsOriginalUnlessStored() throws Exception {
+        byte[] content = "같은 모양이지만 저장소에 없는 참조".getBytes(StandardCharsets.UTF_8);
+        AttachmentStore.StoredAttachment stored = store.store(new ByteArrayInputStream(content), content.length, "a.txt");
+
+        // 저장소에 있는 해시의 참조만 참조로 본다
+        assertEquals(stored.getSha256(), store.findReference(blob(AttachmentStore.toReference(stored.getSha256()))));
+        // 참조 모양이어도 저장소에 없는 해시이면 원본 내용
+        assertNull(store.findReference(blob(AttachmentStore.toReference(SHA))));
+        assertNull(store.findReference(blob("short".getBytes(StandardCharsets.US_ASCII))));
+        assertNull(store.findReference(null));
+    }
+
+    @Test
+    void storesCompressedAndReadsOriginalBack() throws IOException {
+        byte[] content = "압축 대상 텍스트 ".repeat(500).getBytes(StandardCharsets.UTF_8);
+
+        AttachmentStore.StoredAttachment stored = store.store(new ByteArrayInputStream(content), content.length, "notes.txt");
+        AttachmentStore.StoredFile file = store.resolve(stored.getSha256());
+
+        assertFalse(stored.isDeduplicated());
+        assertTrue(file.isCompressed());
+        assertEquals(content.length, file.getLength());
+        assertTrue(Files.size(file.getPath()) < content.length);
+        assertArrayEquals(content, read(file, 0));
+        // 이어받기: 원본 기준 위치부터
+        byte[] tail = new byte[content.length - 100];
+        System.arraycopy(content, 100, tail, 0, tail.length);
+        assertArrayEquals(tail, read(file, 100));
+    }
+
+    @Test
+    void storesSkippedTypesRawAndDeduplicatesAcrossCodecs() throws IOException {
+        byte[] content = "same content for both files".repeat(10).getBytes(StandardCharsets.US_ASCII);
+
+        AttachmentStore.StoredAttachment raw = store.store(new ByteArrayInputStream(content), content.length, "image.png");
+        AttachmentStore.StoredAttachment again = store.store(new ByteArrayInputStream(content), content.length, "notes.txt");
+
+        assertEquals(raw.getSha256(), again.getSha256());
+        assertTrue(again.isDeduplicated());
+        AttachmentStore.StoredFile file = store.resolve(raw.getSha256());
+        assertFalse(file.isCompressed());
+        assertArrayEquals(content, read(file, 0));
+    }
+
+    @Test
+    void rejectsSizeMismatchAndUnknownHash() {
+        byte[] content = "12345".getBytes(StandardCharsets.US_ASCII);
+
+        assertThrows(IllegalArgumentException.class, () -> store.store(new ByteArrayInputStream(content), 6, "a.txt"));
+        assertThrows(IllegalArgumentException.class, () -> store.resolve(SHA));
+        assertThrows(IllegalArgumentException.class, () -> store.resolve("../" + SHA));
+        assertFalse(store.contains(SHA));
+    }
+
+    private static byte[] read(AttachmentStore.StoredFile file, long start) throws IOException {
+        try (InputStream in = file.open(start)) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static SerialBlob blob(byte[] data) throws SQLException {
+        return new SerialBlob(data);
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}